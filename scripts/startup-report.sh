@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-request of the three launch modes:
+#   jar      java -jar build/libs/<app>.jar
+#   cds      extracted jar + AppCDS archive
+#   cds+aot  extracted jar + AppCDS archive + Spring AOT (only if built with -Paot)
+#
+# Prerequisites: infrastructure up (docker/docker-compose.yml), then
+#   ./gradlew bootJar cdsArchive -Paot
+#
+# "startup" is what Spring logs ("Started ... in N seconds", JVM start to context ready);
+# "first request" is wall time from launch until GET /actuator/health answers 200.
+# Each run is printed as it finishes; the script ends with a Markdown table of the medians per mode, ready
+# to paste into the README.
+# Usage: scripts/startup-report.sh [runs-per-mode, default 5]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+APP=build/cds/app/$(basename "$JAR")
+JSA=build/cds/app.jsa
+SUMMARY=()
+
+median() {
+  printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+  local mode=$1; shift
+  local log
+  log=$(mktemp)
+  local startups=() ttfrs=()
+  for ((i = 1; i <= RUNS; i++)); do
+    local start=$(date +%s%N)
+    java --enable-preview "$@" >"$log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "[$mode] application exited, see $log" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+    local ttfr=$(( ($(date +%s%N) - start) / 1000000 ))
+    local started
+    started=$(grep -oE 'Started .* in [0-9.]+ seconds' "$log" | grep -oE '[0-9.]+ seconds' | cut -d' ' -f1)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    printf '[%-8s] run %d: startup=%ss first-request=%dms\n' "$mode" "$i" "$started" "$ttfr"
+    startups+=("$started")
+    ttfrs+=("$ttfr")
+  done
+  rm -f "$log"
+  SUMMARY+=("| $mode | $(median "${startups[@]}") s | $(median "${ttfrs[@]}") ms |")
+}
+
+measure jar -jar "$JAR"
+measure cds "-XX:SharedArchiveFile=$JSA" -jar "$APP"
+if unzip -l "$JAR" | grep -q '__BeanFactoryRegistrations'; then
+  measure cds+aot "-XX:SharedArchiveFile=$JSA" -Dspring.aot.enabled=true -jar "$APP"
+else
+  echo "[cds+aot ] skipped: boot jar was built without -Paot"
+fi
+
+echo
+echo "Median of $RUNS runs, $(java -version 2>&1 | head -1):"
+echo
+echo "| Mode | Startup | First request |"
+echo "|------|---------|---------------|"
+printf '%s\n' "${SUMMARY[@]}"
@@ -1,47 +1,123 @@
 package com.github.dimitryivaniuta.multitenant.api;
 
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteResponse;
 import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
 import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserSearchResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserStatsResponse;
+import com.github.dimitryivaniuta.multitenant.changefeed.ChangeFeedHub;
+import com.github.dimitryivaniuta.multitenant.idempotency.Idempotent;
 import com.github.dimitryivaniuta.multitenant.service.UserService;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST API for tenant-scoped users.
+ *
+ * <p>User reads and the list carry strong ETags. A matching {@code If-None-Match} is answered with 304 and
+ * no body: a single user is checked against the cached {@link UserResponse} (no Postgres on a cache hit),
+ * the list against the tenant's collection generation before any user is loaded.
+ *
+ * <p>Users, the list, search pages and create bodies are also available as {@code application/x-protobuf}
+ * (see {@code api.protobuf.UserProtobufHttpMessageConverter}); JSON is the default. Responses that carry an
+ * ETag vary by {@code Accept}, so a cache keeps one entry per representation.
  */
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
+  /** Clients and private caches may keep responses but must revalidate them; shared caches must not. */
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
   private final UserService userService;
+  private final ChangeFeedHub changeFeed;
 
-  public UserController(UserService userService) {
+  public UserController(UserService userService, ChangeFeedHub changeFeed) {
     this.userService = userService;
+    this.changeFeed = changeFeed;
   }
 
+  /**
+   * Creates a user. Send an {@code Idempotency-Key} header to make retries safe: a repeated key replays
+   * the first response.
+   */
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
+  @Idempotent
   public UserResponse create(@Valid @org.springframework.web.bind.annotation.RequestBody CreateUserRequest req) {
     return userService.create(req);
   }
 
   @GetMapping("/{id}")
-  public UserResponse get(@PathVariable UUID id) {
-    return userService.get(id);
+  public ResponseEntity<UserResponse> get(@PathVariable UUID id) {
+    return withETag(userService.get(id));
+  }
+
+  @GetMapping(params = "email")
+  public ResponseEntity<UserResponse> getByEmail(@RequestParam String email) {
+    return withETag(userService.getByEmail(email));
+  }
+
+  /**
+   * Substring and fuzzy search over email and full name, best match first. Terms shorter than 3 characters
+   * cannot use the trigram index and are rejected.
+   */
+  @GetMapping("/search")
+  public UserSearchResponse search(
+      @RequestParam @Size(min = 3, max = 100) String q,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+  ) {
+    return userService.search(q, cursor, limit);
+  }
+
+  @GetMapping("/stats")
+  public UserStatsResponse stats() {
+    return userService.stats();
+  }
+
+  /**
+   * Streams the tenant's user changes as Server-Sent Events ({@code user.created}, {@code user.deleted}), a
+   * replacement for polling the list. On a {@code resync} event or after reconnecting, reload the list.
+   */
+  @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes() {
+    return changeFeed.subscribe(TenantContext.requireTenantId());
   }
 
   @GetMapping
-  public List<UserResponse> list() {
-    return userService.list();
+  public ResponseEntity<List<UserResponse>> list(WebRequest request) {
+    // The tenant is part of the tag: generations are small numbers and the URL is the same for every tenant.
+    String etag = "\"" + TenantContext.requireTenantId() + "." + userService.listGeneration() + "\"";
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .cacheControl(REVALIDATE)
+        .varyBy(HttpHeaders.ACCEPT)
+        .eTag(etag)
+        .body(userService.list());
   }
 
   @DeleteMapping("/{id}")
@@ -49,4 +125,21 @@ public class UserController {
   public void delete(@PathVariable UUID id) {
     userService.delete(id);
   }
+
+  /**
+   * Deletes up to 1000 users of the current tenant in one statement and returns the ids that were deleted.
+   */
+  @PostMapping("/bulk-delete")
+  public BulkDeleteResponse bulkDelete(@Valid @org.springframework.web.bind.annotation.RequestBody BulkDeleteRequest req) {
+    return userService.deleteAll(req.ids());
+  }
+
+  /** The 304 check itself is done by Spring MVC when it writes a {@link ResponseEntity} with an ETag. */
+  private static ResponseEntity<UserResponse> withETag(UserResponse user) {
+    return ResponseEntity.ok()
+        .cacheControl(REVALIDATE)
+        .varyBy(HttpHeaders.ACCEPT)
+        .eTag("\"" + user.id() + "." + user.version() + "\"")
+        .body(user);
+  }
 }
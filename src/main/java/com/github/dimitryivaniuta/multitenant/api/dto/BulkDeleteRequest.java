@@ -0,0 +1,15 @@
+package com.github.dimitryivaniuta.multitenant.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request payload to delete several users of the current tenant at once.
+ */
+public record BulkDeleteRequest(
+    @NotEmpty @Size(max = 1000) List<@NotNull UUID> ids
+) {
+}
@@ -0,0 +1,15 @@
+package com.github.dimitryivaniuta.multitenant.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a bulk delete.
+ *
+ * <p>{@code deleted} lists the ids that existed in the current tenant and were removed; requested ids not
+ * listed did not exist (or belong to another tenant).
+ */
+public record BulkDeleteResponse(
+    List<UUID> deleted
+) {
+}
@@ -5,12 +5,15 @@ import java.util.UUID;
 
 /**
  * API response representing a user.
+ *
+ * <p>{@code version} changes whenever the user changes; the API derives the user's ETag from it.
  */
 public record UserResponse(
     UUID id,
     UUID tenantId,
     String email,
     String fullName,
-    Instant createdAt
+    Instant createdAt,
+    long version
 ) {
 }
@@ -0,0 +1,15 @@
+package com.github.dimitryivaniuta.multitenant.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of user search results.
+ *
+ * <p>{@code nextCursor} is opaque; pass it back as {@code cursor} to fetch the next page. It is
+ * {@code null} on the last page.
+ */
+public record UserSearchResponse(
+    List<UserResponse> items,
+    String nextCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.github.dimitryivaniuta.multitenant.api.dto;
+
+import java.util.UUID;
+
+/**
+ * API response with the current tenant's user statistics.
+ */
+public record UserStatsResponse(
+    UUID tenantId,
+    long userCount
+) {
+}
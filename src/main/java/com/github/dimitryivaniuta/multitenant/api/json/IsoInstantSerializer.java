@@ -0,0 +1,115 @@
+package com.github.dimitryivaniuta.multitenant.api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes an {@link Instant} as an ISO-8601 string ({@code 2024-05-01T12:30:00.123456Z}) straight into the
+ * generator's buffer.
+ *
+ * <p>The output is identical to {@link java.time.format.DateTimeFormatter#ISO_INSTANT}, which jsr310's
+ * {@link InstantSerializer} uses, but without building a {@code String} per value. Years outside
+ * 0000-9999 and mappers that write dates as timestamps are delegated to {@link InstantSerializer}.
+ */
+public final class IsoInstantSerializer extends StdSerializer<Instant> {
+
+  private static final long SECONDS_PER_DAY = 86_400;
+  /** Days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar. */
+  private static final long DAYS_0000_TO_1970 = 719_468;
+  private static final long DAYS_PER_400_YEARS = 146_097;
+
+  public IsoInstantSerializer() {
+    super(Instant.class);
+  }
+
+  @Override
+  public void serialize(Instant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+      InstantSerializer.INSTANCE.serialize(value, gen, provider);
+      return;
+    }
+    char[] buf = new char[30];
+    int len = format(value, buf);
+    if (len < 0) {
+      gen.writeString(value.toString());
+    } else {
+      gen.writeString(buf, 0, len);
+    }
+  }
+
+  /**
+   * Formats {@code instant} into {@code buf} (at least 30 chars).
+   *
+   * @return number of chars written, or {@code -1} if the year is outside 0000-9999
+   */
+  static int format(Instant instant, char[] buf) {
+    long epochSecond = instant.getEpochSecond();
+    long days = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+    // civil-from-days over 400-year eras, with years starting on March 1st
+    long z = days + DAYS_0000_TO_1970;
+    long era = Math.floorDiv(z, DAYS_PER_400_YEARS);
+    long dayOfEra = z - era * DAYS_PER_400_YEARS;
+    long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    long mp = (5 * dayOfYear + 2) / 153;
+    int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+    int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+    long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+    if (year < 0 || year > 9999) {
+      return -1;
+    }
+
+    put4(buf, 0, (int) year);
+    buf[4] = '-';
+    put2(buf, 5, month);
+    buf[7] = '-';
+    put2(buf, 8, day);
+    buf[10] = 'T';
+    put2(buf, 11, secondOfDay / 3600);
+    buf[13] = ':';
+    put2(buf, 14, secondOfDay / 60 % 60);
+    buf[16] = ':';
+    put2(buf, 17, secondOfDay % 60);
+    int pos = 19;
+
+    // fraction in groups of three digits, as many as needed
+    int nano = instant.getNano();
+    if (nano != 0) {
+      buf[pos++] = '.';
+      if (nano % 1_000_000 == 0) {
+        pos = putDigits(buf, pos, nano / 1_000_000, 3);
+      } else if (nano % 1_000 == 0) {
+        pos = putDigits(buf, pos, nano / 1_000, 6);
+      } else {
+        pos = putDigits(buf, pos, nano, 9);
+      }
+    }
+    buf[pos++] = 'Z';
+    return pos;
+  }
+
+  private static void put2(char[] buf, int pos, int v) {
+    buf[pos] = (char) ('0' + v / 10);
+    buf[pos + 1] = (char) ('0' + v % 10);
+  }
+
+  private static void put4(char[] buf, int pos, int v) {
+    put2(buf, pos, v / 100);
+    put2(buf, pos + 2, v % 100);
+  }
+
+  private static int putDigits(char[] buf, int pos, int v, int width) {
+    for (int i = pos + width - 1; i >= pos; i--) {
+      buf[i] = (char) ('0' + v % 10);
+      v /= 10;
+    }
+    return pos + width;
+  }
+}
@@ -0,0 +1,157 @@
+package com.github.dimitryivaniuta.multitenant.api.protobuf;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserSearchResponse;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * {@code application/x-protobuf} representation of the users API DTOs (schema: {@code src/main/proto/users.proto}).
+ *
+ * <p>Reads {@link CreateUserRequest}; writes {@link UserResponse}, {@code List<UserResponse>} and
+ * {@link UserSearchResponse}. The controller keeps returning the same DTOs and content negotiation picks
+ * the format. Registered after the JSON converter, so JSON stays the default for {@code Accept: *}{@code /*}
+ * or a missing {@code Accept}. Everything else, including error {@code ProblemDetail}s, is JSON only.
+ *
+ * <p>Spring's {@code ProtobufHttpMessageConverter} is not used because it only handles generated
+ * {@link Message} types.
+ */
+public class UserProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  public static final String MEDIA_TYPE_VALUE = "application/x-protobuf";
+
+  public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+  public UserProtobufHttpMessageConverter() {
+    super(MEDIA_TYPE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return clazz == CreateUserRequest.class || clazz == UserResponse.class || clazz == UserSearchResponse.class;
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return type == CreateUserRequest.class && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    return (type != null ? isWritable(type) : supports(clazz)) && canWrite(mediaType);
+  }
+
+  /**
+   * Spring MVC lists producible media types by the body's runtime class before it checks the declared type,
+   * so any {@code List} has to advertise protobuf here; {@link #canWrite(Type, Class, MediaType)} then
+   * rejects lists of anything but users.
+   */
+  @Override
+  public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+    return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+  }
+
+  private static boolean isWritable(Type type) {
+    if (type == UserResponse.class || type == UserSearchResponse.class) {
+      return true;
+    }
+    return type instanceof ParameterizedType p
+        && p.getRawType() == List.class
+        && p.getActualTypeArguments()[0] == UserResponse.class;
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+    return readInternal(CreateUserRequest.class, inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+    try {
+      UserProtos.CreateUserRequest req = UserProtos.CreateUserRequest.parseFrom(inputMessage.getBody());
+      return new CreateUserRequest(req.getEmail(), req.getFullName());
+    } catch (InvalidProtocolBufferException e) {
+      throw new HttpMessageNotReadableException("Invalid protobuf body", e, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+    Message message = toMessage(body);
+    outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+    message.writeTo(outputMessage.getBody());
+  }
+
+  private static Message toMessage(Object body) {
+    return switch (body) {
+      case UserResponse user -> toUser(user);
+      case UserSearchResponse page -> {
+        UserProtos.UserSearchPage.Builder b = UserProtos.UserSearchPage.newBuilder();
+        page.items().forEach(u -> b.addItems(toUser(u)));
+        if (page.nextCursor() != null) {
+          b.setNextCursor(page.nextCursor());
+        }
+        yield b.build();
+      }
+      case List<?> users -> {
+        UserProtos.UserList.Builder b = UserProtos.UserList.newBuilder();
+        users.forEach(u -> b.addUsers(toUser((UserResponse) u)));
+        yield b.build();
+      }
+      default -> throw new IllegalArgumentException("Not a protobuf-mapped type: " + body.getClass());
+    };
+  }
+
+  private static UserProtos.User toUser(UserResponse u) {
+    UserProtos.User.Builder b = UserProtos.User.newBuilder()
+        .setId(toBytes(u.id()))
+        .setTenantId(toBytes(u.tenantId()))
+        .setEmail(u.email())
+        .setFullName(u.fullName())
+        .setVersion(u.version());
+    if (u.createdAt() != null) {
+      b.setCreatedAt(toTimestamp(u.createdAt()));
+    }
+    return b.build();
+  }
+
+  /** Inverse of {@link #toUser}; for clients and tests. */
+  public static UserResponse fromUser(UserProtos.User u) {
+    Instant createdAt = u.hasCreatedAt()
+        ? Instant.ofEpochSecond(u.getCreatedAt().getSeconds(), u.getCreatedAt().getNanos())
+        : null;
+    return new UserResponse(fromBytes(u.getId()), fromBytes(u.getTenantId()), u.getEmail(), u.getFullName(),
+        createdAt, u.getVersion());
+  }
+
+  private static ByteString toBytes(UUID uuid) {
+    return ByteString.copyFrom(ByteBuffer.allocate(16)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .flip());
+  }
+
+  private static UUID fromBytes(ByteString bytes) {
+    ByteBuffer buf = bytes.asReadOnlyByteBuffer();
+    return new UUID(buf.getLong(), buf.getLong());
+  }
+
+  private static Timestamp toTimestamp(Instant instant) {
+    return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+  }
+}
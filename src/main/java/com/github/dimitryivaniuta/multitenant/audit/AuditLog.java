@@ -0,0 +1,240 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import com.github.dimitryivaniuta.multitenant.audit.AuditProperties.Overflow;
+import com.github.dimitryivaniuta.multitenant.observability.CorrelationIds;
+import com.github.dimitryivaniuta.multitenant.observability.MdcKeys;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Asynchronous audit trail of mutating calls, stored in the RLS-protected {@code audit_log} table.
+ *
+ * <p>{@link #record} captures tenant, caller ({@code sub} of the JWT) and correlation id on the request
+ * thread and, once the surrounding transaction commits, puts the record into an {@link AuditRingBuffer}.
+ * Rolled-back operations are therefore not audited, and the request never touches the audit table. A
+ * single {@code audit-writer} thread drains up to {@code app.audit.batch-size} records at a time and
+ * inserts them with {@link AuditWriter}; when less than a full batch is pending it sleeps for
+ * {@code app.audit.flush-interval}.
+ *
+ * <p>When the buffer is full, {@code app.audit.overflow} decides: {@code drop} discards the record,
+ * {@code block} waits up to {@code app.audit.offer-timeout} for a free slot first. Records still buffered
+ * at shutdown are flushed after the web server has stopped; records of a node that crashes are lost.
+ *
+ * <p>Meters:
+ * <ul>
+ *   <li>{@code audit.flush} – latency of writing one drained batch</li>
+ *   <li>{@code audit.records.written} – records inserted</li>
+ *   <li>{@code audit.records.dropped} – records lost, tag {@code reason} ({@code buffer_full}/{@code write_failed})</li>
+ *   <li>{@code audit.buffer.pending} – records waiting in the buffer</li>
+ * </ul>
+ */
+@Component
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditLog implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+  /** Stop after the web server, so requests that finish during graceful shutdown are still flushed. */
+  private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+  private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  private final AuditProperties props;
+  private final AuditWriter writer;
+  private final AuditRingBuffer<AuditRecord> buffer;
+  private final long flushIntervalNanos;
+
+  private final Timer flushTimer;
+  private final Counter written;
+  private final Counter droppedFull;
+  private final Counter droppedWriteFailed;
+
+  private volatile Thread writerThread;
+  private volatile boolean running;
+
+  public AuditLog(
+      AuditProperties props,
+      JdbcTemplate jdbc,
+      PlatformTransactionManager txManager,
+      MeterRegistry meterRegistry
+  ) {
+    this.props = props;
+    this.writer = new AuditWriter(jdbc, new TransactionTemplate(txManager));
+    this.buffer = new AuditRingBuffer<>(props.capacity());
+    this.flushIntervalNanos = props.flushInterval().toNanos();
+
+    this.flushTimer = Timer.builder("audit.flush")
+        .description("Time to write one batch of audit records")
+        .register(meterRegistry);
+    this.written = Counter.builder("audit.records.written")
+        .description("Audit records inserted")
+        .register(meterRegistry);
+    this.droppedFull = Counter.builder("audit.records.dropped")
+        .tag("reason", "buffer_full")
+        .description("Audit records lost")
+        .register(meterRegistry);
+    this.droppedWriteFailed = Counter.builder("audit.records.dropped")
+        .tag("reason", "write_failed")
+        .description("Audit records lost")
+        .register(meterRegistry);
+    Gauge.builder("audit.buffer.pending", buffer, AuditRingBuffer::size)
+        .description("Audit records waiting to be written")
+        .register(meterRegistry);
+  }
+
+  /** Audits {@code operation} on one entity of the current tenant. */
+  public void record(String operation, String entityType, UUID entityId) {
+    recordAll(operation, entityType, List.of(entityId));
+  }
+
+  /** Audits {@code operation} on each of {@code entityIds} (one record per entity). */
+  public void recordAll(String operation, String entityType, Collection<UUID> entityIds) {
+    if (!props.enabled() || entityIds.isEmpty()) {
+      return;
+    }
+    UUID tenantId = TenantContext.requireTenantId();
+    Instant now = Instant.now();
+    String actor = currentActor();
+    String correlationId = MDC.get(MdcKeys.CORRELATION_ID);
+
+    List<AuditRecord> records = new ArrayList<>(entityIds.size());
+    for (UUID entityId : entityIds) {
+      records.add(new AuditRecord(CorrelationIds.next(), tenantId, now, actor, operation, entityType, entityId,
+          correlationId));
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          enqueue(records);
+        }
+      });
+    } else {
+      enqueue(records);
+    }
+  }
+
+  private void enqueue(List<AuditRecord> records) {
+    for (AuditRecord record : records) {
+      if (!buffer.offer(record) && !(props.overflow() == Overflow.BLOCK && offerWithin(record))) {
+        droppedFull.increment();
+      }
+    }
+  }
+
+  /** Keeps retrying until {@code app.audit.offer-timeout} has passed, nudging the writer meanwhile. */
+  private boolean offerWithin(AuditRecord record) {
+    long deadline = System.nanoTime() + props.offerTimeout().toNanos();
+    do {
+      LockSupport.unpark(writerThread);
+      LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+      if (buffer.offer(record)) {
+        return true;
+      }
+    } while (System.nanoTime() - deadline < 0);
+    return false;
+  }
+
+  private void runWriter() {
+    List<AuditRecord> batch = new ArrayList<>(props.batchSize());
+    while (true) {
+      boolean stopping = !running;
+      int drained = buffer.drainTo(batch, props.batchSize());
+      if (drained > 0) {
+        flush(batch);
+        batch.clear();
+      }
+      if (drained == props.batchSize()) {
+        continue;
+      }
+      if (stopping && buffer.size() == 0) {
+        return;
+      }
+      if (!stopping) {
+        LockSupport.parkNanos(this, flushIntervalNanos);
+      }
+    }
+  }
+
+  private void flush(List<AuditRecord> batch) {
+    long start = System.nanoTime();
+    int failed;
+    try {
+      failed = writer.write(batch);
+    } catch (RuntimeException e) {
+      log.warn("Dropped {} audit records", batch.size(), e);
+      failed = batch.size();
+    }
+    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    written.increment(batch.size() - failed);
+    droppedWriteFailed.increment(failed);
+  }
+
+  private static String currentActor() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    return auth == null ? null : auth.getName();
+  }
+
+  @Override
+  public void start() {
+    if (!props.enabled() || running) {
+      return;
+    }
+    running = true;
+    writerThread = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::runWriter);
+  }
+
+  @Override
+  public void stop() {
+    Thread thread = writerThread;
+    if (thread == null) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (buffer.size() > 0) {
+      log.warn("{} audit records were not written before shutdown", buffer.size());
+    }
+    writerThread = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+}
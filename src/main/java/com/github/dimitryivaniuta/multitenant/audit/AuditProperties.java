@@ -0,0 +1,42 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Audit trail settings.
+ *
+ * @param enabled whether mutating calls are audited
+ * @param capacity ring buffer slots (rounded up to a power of two)
+ * @param batchSize maximum records per flush
+ * @param flushInterval how long the writer sleeps when fewer than {@code batchSize} records are pending
+ * @param overflow what a request thread does when the buffer is full
+ * @param offerTimeout how long {@link Overflow#BLOCK} waits for a free slot before dropping the record
+ */
+@ConfigurationProperties(prefix = "app.audit")
+public record AuditProperties(
+    Boolean enabled,
+    Integer capacity,
+    Integer batchSize,
+    Duration flushInterval,
+    Overflow overflow,
+    Duration offerTimeout
+) {
+
+  /** Backpressure policy when the buffer is full. */
+  public enum Overflow {
+    /** Drop the record immediately; the request never waits. */
+    DROP,
+    /** Wait up to {@code offer-timeout} for the writer to free a slot, then drop. */
+    BLOCK
+  }
+
+  public AuditProperties {
+    enabled = enabled == null || enabled;
+    capacity = capacity == null ? 8192 : capacity;
+    batchSize = batchSize == null ? 500 : batchSize;
+    flushInterval = flushInterval == null ? Duration.ofMillis(200) : flushInterval;
+    overflow = overflow == null ? Overflow.DROP : overflow;
+    offerTimeout = offerTimeout == null ? Duration.ofMillis(50) : offerTimeout;
+  }
+}
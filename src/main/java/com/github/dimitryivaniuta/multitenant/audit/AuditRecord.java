@@ -0,0 +1,24 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of {@code audit_log}.
+ *
+ * @param id UUIDv7, time-ordered
+ * @param actor JWT subject of the caller, {@code null} outside an authenticated request
+ * @param operation e.g. {@code user.create}
+ * @param correlationId correlation id of the request, {@code null} if none
+ */
+public record AuditRecord(
+    UUID id,
+    UUID tenantId,
+    Instant occurredAt,
+    String actor,
+    String operation,
+    String entityType,
+    UUID entityId,
+    String correlationId
+) {
+}
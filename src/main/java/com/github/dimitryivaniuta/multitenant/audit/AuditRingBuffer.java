@@ -0,0 +1,97 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer.
+ *
+ * <p>Each slot carries a sequence number (Vyukov's bounded queue): a producer claims a position with one
+ * CAS on the tail, writes the element and publishes it by advancing the slot's sequence; the consumer
+ * takes elements in order and hands the slot back by moving its sequence one lap ahead. A full buffer is
+ * detected without blocking, so {@link #offer(Object)} never waits for the consumer.
+ *
+ * @param <E> element type
+ */
+final class AuditRingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Next position to consume; written only by the consumer, volatile for {@link #size()}. */
+  private volatile long head;
+
+  AuditRingBuffer(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("capacity must be at least 2");
+    }
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.setPlain(i, i);
+    }
+  }
+
+  /** Adds {@code element}; returns {@code false} if the buffer is full. Safe for concurrent producers. */
+  boolean offer(E element) {
+    long pos = tail.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.getAcquire(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          slots.setPlain(index, element);
+          sequences.setRelease(index, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        // the slot still holds the element from one lap ago
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Moves up to {@code max} elements, oldest first, into {@code sink}. Must only be called by the single
+   * consumer thread.
+   *
+   * @return number of elements moved
+   */
+  int drainTo(List<? super E> sink, int max) {
+    long pos = head;
+    int drained = 0;
+    while (drained < max) {
+      int index = (int) pos & mask;
+      if (sequences.getAcquire(index) != pos + 1) {
+        // empty, or the producer that claimed this slot has not published yet
+        break;
+      }
+      sink.add(slots.getPlain(index));
+      slots.setPlain(index, null);
+      sequences.setRelease(index, pos + mask + 1);
+      pos++;
+      drained++;
+    }
+    head = pos;
+    return drained;
+  }
+
+  /** Approximate number of pending elements. */
+  int size() {
+    long pending = tail.get() - head;
+    return (int) Math.max(0, Math.min(pending, capacity()));
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+}
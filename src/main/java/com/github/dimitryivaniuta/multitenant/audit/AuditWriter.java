@@ -0,0 +1,76 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts a batch of audit records, one JDBC batch per tenant.
+ *
+ * <p>Records are grouped by tenant and each group is written in its own transaction under
+ * {@link TenantContext#runWithTenant}, so the tenant-aware DataSource routes it like any request of that
+ * tenant (shard, dedicated schema or database) and sets {@code app.tenant_id} for the RLS check. A failing
+ * group does not affect the others.
+ */
+final class AuditWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+  private static final String INSERT = """
+      insert into audit_log (id, tenant_id, occurred_at, actor, operation, entity_type, entity_id, correlation_id)
+      values (?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+
+  AuditWriter(JdbcTemplate jdbc, TransactionTemplate tx) {
+    this.jdbc = jdbc;
+    this.tx = tx;
+  }
+
+  /**
+   * Writes {@code records}.
+   *
+   * @return number of records that could not be written
+   */
+  int write(List<AuditRecord> records) {
+    Map<UUID, List<AuditRecord>> byTenant = new LinkedHashMap<>();
+    for (AuditRecord record : records) {
+      byTenant.computeIfAbsent(record.tenantId(), t -> new ArrayList<>()).add(record);
+    }
+
+    int failed = 0;
+    for (Map.Entry<UUID, List<AuditRecord>> group : byTenant.entrySet()) {
+      List<AuditRecord> rows = group.getValue();
+      try {
+        TenantContext.runWithTenant(group.getKey(), () -> tx.executeWithoutResult(s -> insert(rows)));
+      } catch (RuntimeException e) {
+        log.warn("Dropped {} audit records of tenant {}", rows.size(), group.getKey(), e);
+        failed += rows.size();
+      }
+    }
+    return failed;
+  }
+
+  private void insert(List<AuditRecord> rows) {
+    jdbc.batchUpdate(INSERT, rows, rows.size(), (ps, r) -> {
+      ps.setObject(1, r.id());
+      ps.setObject(2, r.tenantId());
+      ps.setTimestamp(3, Timestamp.from(r.occurredAt()));
+      ps.setString(4, r.actor());
+      ps.setString(5, r.operation());
+      ps.setString(6, r.entityType());
+      ps.setObject(7, r.entityId());
+      ps.setString(8, r.correlationId());
+    });
+  }
+}
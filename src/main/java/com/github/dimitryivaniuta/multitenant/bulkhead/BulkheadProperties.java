@@ -0,0 +1,68 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-tenant concurrency bulkhead settings.
+ *
+ * <p>Each tenant gets its own in-flight limit around service execution, so a tenant running slow
+ * queries cannot hold the whole connection pool.
+ *
+ * @param enabled whether the bulkhead is applied at all
+ * @param mode {@link Mode#FIXED} keeps {@code initialLimit}; {@link Mode#ADAPTIVE} adjusts it via AIMD
+ * @param initialLimit starting in-flight limit for a tenant
+ * @param minLimit lower bound for the adaptive limit
+ * @param maxLimit upper bound for the adaptive limit; must stay below the maximum size of every pool a tenant
+ *                 can be routed to (primary, enabled read replicas and shards, dedicated tenant databases), so
+ *                 one tenant cannot take every connection
+ * @param maxWait how long a call may wait for a permit before it is rejected with 503
+ * @param latencyThreshold calls slower than this count as congestion and shrink the limit
+ * @param backoffRatio multiplicative decrease applied on congestion (0 &lt; ratio &lt; 1)
+ * @param idleTimeout a tenant's limiter is dropped after this long without calls; the next call starts again
+ *                    at {@code initialLimit}
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public record BulkheadProperties(
+    Boolean enabled,
+    Mode mode,
+    Integer initialLimit,
+    Integer minLimit,
+    Integer maxLimit,
+    Duration maxWait,
+    Duration latencyThreshold,
+    Double backoffRatio,
+    Duration idleTimeout
+) {
+
+  public BulkheadProperties {
+    enabled = enabled == null || enabled;
+    mode = mode == null ? Mode.ADAPTIVE : mode;
+    initialLimit = initialLimit == null ? 4 : initialLimit;
+    minLimit = minLimit == null ? 1 : minLimit;
+    maxLimit = maxLimit == null ? 6 : maxLimit;
+    maxWait = maxWait == null ? Duration.ofMillis(100) : maxWait;
+    latencyThreshold = latencyThreshold == null ? Duration.ofMillis(250) : latencyThreshold;
+    backoffRatio = backoffRatio == null ? 0.9d : backoffRatio;
+    idleTimeout = idleTimeout == null ? Duration.ofMinutes(10) : idleTimeout;
+
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          "app.bulkhead limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+    }
+    if (backoffRatio <= 0d || backoffRatio >= 1d) {
+      throw new IllegalArgumentException("app.bulkhead.backoffRatio must be in (0, 1)");
+    }
+    if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+      throw new IllegalArgumentException("app.bulkhead.idleTimeout must be positive");
+    }
+  }
+
+  /**
+   * Limit strategy.
+   */
+  public enum Mode {
+    FIXED,
+    ADAPTIVE
+  }
+}
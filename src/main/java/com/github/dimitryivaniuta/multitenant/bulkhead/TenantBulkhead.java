@@ -0,0 +1,261 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.dimitryivaniuta.multitenant.isolation.TenancyProperties;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMeters;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import com.github.dimitryivaniuta.multitenant.routing.ReadReplicaProperties;
+import com.github.dimitryivaniuta.multitenant.sharding.ShardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of per-tenant {@link TenantLimiter}s.
+ *
+ * <p>Publishes, tagged by {@code tenant} (top-K tenants via {@link TenantMetricTags}, others as
+ * {@code other}):
+ * <ul>
+ *   <li>{@code tenant.bulkhead.inflight} – calls currently executing</li>
+ *   <li>{@code tenant.bulkhead.limit} – current (possibly adaptive) limit; top-K tenants only</li>
+ *   <li>{@code tenant.bulkhead.rejected} – calls rejected with 503</li>
+ * </ul>
+ *
+ * <p>Limiters of tenants without calls for {@code idleTimeout} are dropped together with their gauges, so the
+ * registry (and the walk behind the {@code other} in-flight gauge) only holds recently active tenants. A call
+ * holding a permit for longer than {@code idleTimeout} would not be counted against a new limiter; the
+ * timeout is minutes, far beyond any transaction.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class TenantBulkhead {
+
+  private static final String INFLIGHT = "tenant.bulkhead.inflight";
+  private static final String LIMIT = "tenant.bulkhead.limit";
+  private static final String REJECTED = "tenant.bulkhead.rejected";
+
+  /** HikariCP's {@code maximumPoolSize} when none is configured. */
+  private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+  private final BulkheadProperties props;
+  private final MeterRegistry meterRegistry;
+  private final TenantMetricTags tenantTags;
+  private final long maxWaitNanos;
+  private final Cache<UUID, Entry> limiters;
+  private final TenantMeters<Counter> rejected;
+
+  @Autowired
+  public TenantBulkhead(
+      BulkheadProperties props,
+      MeterRegistry meterRegistry,
+      TenantMetricTags tenantTags,
+      Environment environment
+  ) {
+    this(props, meterRegistry, tenantTags, Ticker.systemTicker());
+    if (props.enabled()) {
+      checkPoolSize(props, tenantPools(Binder.get(environment)));
+    }
+  }
+
+  TenantBulkhead(BulkheadProperties props, MeterRegistry meterRegistry, TenantMetricTags tenantTags, Ticker ticker) {
+    this.props = props;
+    this.meterRegistry = meterRegistry;
+    this.tenantTags = tenantTags;
+    this.maxWaitNanos = props.maxWait().toNanos();
+    // evictionListener runs atomically with the removal, so a returning tenant cannot re-register its gauges
+    // before the old ones are gone.
+    this.limiters = Caffeine.newBuilder()
+        .expireAfterAccess(props.idleTimeout())
+        .ticker(ticker)
+        .<UUID, Entry>evictionListener((tenantId, entry, cause) -> {
+          if (entry != null) {
+            entry.removeGauges(meterRegistry);
+          }
+        })
+        .build();
+    this.rejected = tenantTags.meters(tag -> Counter.builder(REJECTED)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry));
+
+    Gauge.builder(INFLIGHT, this, TenantBulkhead::untaggedInFlight)
+        .tag(TenantMetricTags.TAG, TenantMetricTags.OTHER)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Fails startup if one tenant's limit could take a whole connection pool it can be routed to.
+   *
+   * @param pools maximum size of every such pool, by the property that configures it
+   * @throws IllegalStateException if {@code maxLimit >= } any of the sizes
+   */
+  static void checkPoolSize(BulkheadProperties props, Map<String, Integer> pools) {
+    pools.forEach((pool, size) -> {
+      if (props.maxLimit() >= size) {
+        throw new IllegalStateException("app.bulkhead.max-limit (" + props.maxLimit()
+            + ") must be below the maximum pool size of " + pool + " (" + size
+            + "), otherwise one tenant can hold every connection");
+      }
+    });
+  }
+
+  /**
+   * The pools a tenant's transactions can run on: the primary, and when configured the read replicas,
+   * the shards and dedicated tenant databases. Pools without their own size use the primary's.
+   */
+  static Map<String, Integer> tenantPools(Binder binder) {
+    int primary = binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class)
+        .orElse(HIKARI_DEFAULT_POOL_SIZE);
+    Map<String, Integer> pools = new LinkedHashMap<>();
+    pools.put("spring.datasource.hikari", primary);
+
+    ReadReplicaProperties replicas = binder.bind("app.datasource.read-replicas", ReadReplicaProperties.class)
+        .orElse(null);
+    if (replicas != null && replicas.enabled()) {
+      List<ReadReplicaProperties.Replica> list = replicas.replicas();
+      for (int i = 0; i < list.size(); i++) {
+        pools.put("app.datasource.read-replicas.replicas[" + i + "]", sizeOr(list.get(i).maximumPoolSize(), primary));
+      }
+    }
+    ShardingProperties sharding = binder.bind("app.sharding", ShardingProperties.class).orElse(null);
+    if (sharding != null && sharding.enabled()) {
+      List<ShardingProperties.Shard> list = sharding.shards();
+      for (int i = 0; i < list.size(); i++) {
+        pools.put("app.sharding.shards[" + i + "]", sizeOr(list.get(i).maximumPoolSize(), primary));
+      }
+    }
+    TenancyProperties tenancy = binder.bind("app.tenancy", TenancyProperties.class).orElse(null);
+    if (tenancy != null) {
+      List<TenancyProperties.DedicatedTenant> list = tenancy.dedicated();
+      for (int i = 0; i < list.size(); i++) {
+        if (list.get(i).mode() == TenancyProperties.Mode.DATABASE) {
+          pools.put("app.tenancy.dedicated[" + i + "]", sizeOr(list.get(i).maximumPoolSize(), primary));
+        }
+      }
+    }
+    return pools;
+  }
+
+  private static int sizeOr(Integer size, int primary) {
+    return size == null ? primary : size;
+  }
+
+  /** Whether the bulkhead is enabled. */
+  public boolean enabled() {
+    return props.enabled();
+  }
+
+  /**
+   * Acquires a permit for the tenant or throws {@link TenantOverloadedException}.
+   *
+   * @return a handle that must be released exactly once
+   */
+  public Permit acquire(UUID tenantId) {
+    Entry entry = limiters.get(tenantId, id -> new Entry(id, new TenantLimiter(props)));
+    if (tenantTags.isTagged(tenantId)) {
+      registerGauges(entry);
+    }
+
+    boolean acquired;
+    try {
+      acquired = entry.limiter.tryAcquire(maxWaitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      rejected.get(tenantId).increment();
+      throw new TenantOverloadedException("Too many concurrent requests for tenant");
+    }
+    return new Permit(entry.limiter, System.nanoTime());
+  }
+
+  private void registerGauges(Entry entry) {
+    long generation = tenantTags.generation();
+    if (entry.gaugeGeneration == generation) {
+      return;
+    }
+    String tag = entry.tenantId.toString();
+    // Idempotent: returns the existing gauge unless it was removed when the tenant left the top-K.
+    entry.inFlightGauge = Gauge.builder(INFLIGHT, entry.limiter, TenantLimiter::inFlight)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry);
+    entry.limitGauge = Gauge.builder(LIMIT, entry.limiter, TenantLimiter::limit)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry);
+    if (!tenantTags.isTagged(entry.tenantId)) {
+      // Demoted while registering; the refresh may already have swept, so it would not remove these.
+      entry.removeGauges(meterRegistry);
+      return;
+    }
+    entry.gaugeGeneration = generation;
+  }
+
+  /** Number of tenants that currently have a limiter, after dropping idle ones. */
+  long trackedTenants() {
+    limiters.cleanUp();
+    return limiters.estimatedSize();
+  }
+
+  private double untaggedInFlight() {
+    long sum = 0;
+    for (Entry entry : limiters.asMap().values()) {
+      if (!tenantTags.isTagged(entry.tenantId)) {
+        sum += entry.limiter.inFlight();
+      }
+    }
+    return sum;
+  }
+
+  private static final class Entry {
+
+    private final UUID tenantId;
+    private final TenantLimiter limiter;
+    private volatile long gaugeGeneration = -1L;
+    private volatile Gauge inFlightGauge;
+    private volatile Gauge limitGauge;
+
+    private Entry(UUID tenantId, TenantLimiter limiter) {
+      this.tenantId = tenantId;
+      this.limiter = limiter;
+    }
+
+    private void removeGauges(MeterRegistry meterRegistry) {
+      if (inFlightGauge != null) {
+        meterRegistry.remove(inFlightGauge);
+      }
+      if (limitGauge != null) {
+        meterRegistry.remove(limitGauge);
+      }
+    }
+  }
+
+  /**
+   * An acquired bulkhead permit.
+   */
+  public static final class Permit {
+
+    private final TenantLimiter limiter;
+    private final long startNanos;
+
+    private Permit(TenantLimiter limiter, long startNanos) {
+      this.limiter = limiter;
+      this.startNanos = startNanos;
+    }
+
+    /** Releases the permit and reports the call latency to the limiter. */
+    public void release() {
+      limiter.release(System.nanoTime() - startNanos);
+    }
+  }
+}
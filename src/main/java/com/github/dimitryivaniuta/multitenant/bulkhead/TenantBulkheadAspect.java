@@ -0,0 +1,49 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.util.UUID;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link TenantBulkhead} around every {@code @Service} bean in the service package.
+ *
+ * <p>Runs before {@code @Transactional} and {@code @Cacheable} advice (highest precedence) so a call
+ * waiting for a permit never holds a JDBC connection. Nested service calls on the same thread reuse
+ * the outer permit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantBulkheadAspect {
+
+  private static final ThreadLocal<Boolean> HOLDING_PERMIT = new ThreadLocal<>();
+
+  private final TenantBulkhead bulkhead;
+
+  public TenantBulkheadAspect(TenantBulkhead bulkhead) {
+    this.bulkhead = bulkhead;
+  }
+
+  @Around("within(com.github.dimitryivaniuta.multitenant.service..*)"
+      + " && @within(org.springframework.stereotype.Service)")
+  public Object guard(ProceedingJoinPoint pjp) throws Throwable {
+    UUID tenantId = TenantContext.getTenantId().orElse(null);
+    if (!bulkhead.enabled() || tenantId == null || HOLDING_PERMIT.get() != null) {
+      return pjp.proceed();
+    }
+
+    TenantBulkhead.Permit permit = bulkhead.acquire(tenantId);
+    HOLDING_PERMIT.set(Boolean.TRUE);
+    try {
+      return pjp.proceed();
+    } finally {
+      HOLDING_PERMIT.remove();
+      permit.release();
+    }
+  }
+}
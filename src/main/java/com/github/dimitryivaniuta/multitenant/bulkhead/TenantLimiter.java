@@ -0,0 +1,100 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-flight limiter for a single tenant.
+ *
+ * <p>In {@link BulkheadProperties.Mode#ADAPTIVE} mode the limit follows AIMD
+ * (additive increase / multiplicative decrease): every call slower than the latency threshold
+ * multiplies the limit by the backoff ratio, while fast calls that ran close to the limit grow it by one.
+ * Slow calls are almost always waiting on the database, so a tenant's share of the pool shrinks as
+ * DB wait times grow and recovers once they drop.
+ *
+ * <p>Uses a {@link ReentrantLock} rather than {@code synchronized} so waiting callers never pin a
+ * carrier thread.
+ */
+final class TenantLimiter {
+
+  private final BulkheadProperties props;
+  private final long latencyThresholdNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitReleased = lock.newCondition();
+
+  private int inFlight;
+  private double limit;
+
+  TenantLimiter(BulkheadProperties props) {
+    this.props = props;
+    this.latencyThresholdNanos = props.latencyThreshold().toNanos();
+    this.limit = props.initialLimit();
+  }
+
+  /**
+   * Acquires a permit, waiting at most {@code timeoutNanos}.
+   *
+   * @return {@code true} if a permit was acquired
+   */
+  boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+    lock.lock();
+    try {
+      long remaining = timeoutNanos;
+      while (inFlight >= (int) limit) {
+        if (remaining <= 0L) {
+          return false;
+        }
+        remaining = permitReleased.awaitNanos(remaining);
+      }
+      inFlight++;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a permit and feeds the observed call latency into the limit.
+   */
+  void release(long latencyNanos) {
+    lock.lock();
+    try {
+      int inFlightAtCompletion = inFlight;
+      inFlight--;
+      if (props.mode() == BulkheadProperties.Mode.ADAPTIVE) {
+        adjust(latencyNanos, inFlightAtCompletion);
+      }
+      permitReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void adjust(long latencyNanos, int inFlightAtCompletion) {
+    if (latencyNanos > latencyThresholdNanos) {
+      limit = Math.max(props.minLimit(), limit * props.backoffRatio());
+    } else if (inFlightAtCompletion * 2 >= (int) limit) {
+      // Only grow when the tenant actually uses its share; idle tenants keep their limit.
+      limit = Math.min(props.maxLimit(), limit + 1d);
+    }
+  }
+
+  int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int limit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+/**
+ * Thrown when a tenant has exhausted its in-flight limit and no permit became free within the
+ * configured wait time.
+ *
+ * <p>Stackless, since it is thrown most often exactly when the tenant is already overloaded.
+ */
+public class TenantOverloadedException extends RuntimeException {
+
+  public TenantOverloadedException(String message) {
+    super(message, null, false, false);
+  }
+}
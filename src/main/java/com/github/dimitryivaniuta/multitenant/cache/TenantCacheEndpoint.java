@@ -0,0 +1,109 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/tenantcache}: approximate Redis footprint per tenant.
+ *
+ * <p>Walks {@code tenant:*} keys with {@code SCAN} (never {@code KEYS}), counts keys per tenant and
+ * estimates memory by sampling {@code MEMORY USAGE} for up to {@value #MEMORY_SAMPLES} keys per tenant.
+ * The walk stops after {@value #MAX_SCANNED_KEYS} keys; {@code truncated} is then {@code true}.
+ */
+@Component
+@Endpoint(id = "tenantcache")
+public class TenantCacheEndpoint {
+
+  static final int MAX_SCANNED_KEYS = 200_000;
+  static final int MEMORY_SAMPLES = 20;
+
+  private static final String PREFIX = "tenant:";
+
+  private final RedisConnectionFactory connectionFactory;
+
+  public TenantCacheEndpoint(RedisConnectionFactory connectionFactory) {
+    this.connectionFactory = connectionFactory;
+  }
+
+  /** Per-tenant key counts and approximate memory for all tenants. */
+  @ReadOperation
+  public Map<String, Object> tenants() {
+    return scan(PREFIX + "*");
+  }
+
+  /** Key count and approximate memory for one tenant. */
+  @ReadOperation
+  public Map<String, Object> tenant(@Selector String tenantId) {
+    return scan(PREFIX + UUID.fromString(tenantId) + ":*");
+  }
+
+  private Map<String, Object> scan(String pattern) {
+    Map<String, TenantUsage> usage = new LinkedHashMap<>();
+    long scanned = 0;
+    boolean truncated = false;
+
+    try (RedisConnection conn = connectionFactory.getConnection();
+         Cursor<byte[]> cursor = conn.keyCommands().scan(ScanOptions.scanOptions().match(pattern).count(1_000).build())) {
+      while (cursor.hasNext()) {
+        if (scanned >= MAX_SCANNED_KEYS) {
+          truncated = true;
+          break;
+        }
+        byte[] key = cursor.next();
+        scanned++;
+        String tenant = tenantOf(key);
+        if (tenant == null) {
+          continue;
+        }
+        TenantUsage u = usage.computeIfAbsent(tenant, t -> new TenantUsage());
+        u.keys++;
+        if (u.sampled < MEMORY_SAMPLES) {
+          Object bytes = conn.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key);
+          if (bytes instanceof Number n) {
+            u.sampledBytes += n.longValue();
+            u.sampled++;
+          }
+        }
+      }
+    }
+
+    List<Map<String, Object>> tenants = new ArrayList<>(usage.size());
+    usage.forEach((tenant, u) -> tenants.add(Map.of(
+        "tenantId", tenant,
+        "keys", u.keys,
+        "approxMemoryBytes", u.sampled == 0 ? 0L : u.sampledBytes * u.keys / u.sampled
+    )));
+    tenants.sort((a, b) -> Long.compare((Long) b.get("keys"), (Long) a.get("keys")));
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("scannedKeys", scanned);
+    result.put("truncated", truncated);
+    result.put("tenants", tenants);
+    return result;
+  }
+
+  /** Extracts {@code {tenantId}} from {@code tenant:{tenantId}:...}. */
+  private static String tenantOf(byte[] key) {
+    String k = new String(key, StandardCharsets.UTF_8);
+    int end = k.indexOf(':', PREFIX.length());
+    return k.startsWith(PREFIX) && end > PREFIX.length() ? k.substring(PREFIX.length(), end) : null;
+  }
+
+  private static final class TenantUsage {
+    private long keys;
+    private long sampled;
+    private long sampledBytes;
+  }
+}
@@ -0,0 +1,57 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts many tenant cache keys in one Redis round trip.
+ *
+ * <p>Cache keys carry no cache-name prefix ({@code config.CacheConfig} disables it), so a key such as
+ * {@code tenant:{tenantId}:user:{userId}} is the Redis key itself. The {@code DEL}s are pipelined rather
+ * than sent as one multi-key {@code DEL}, which keeps working when keys hash to different cluster slots.
+ *
+ * <p>Inside a transaction the eviction runs after commit, so a concurrent read cannot re-cache a row
+ * that is about to disappear.
+ */
+@Component
+public class TenantCacheEvictor {
+
+  private final StringRedisTemplate redis;
+
+  public TenantCacheEvictor(StringRedisTemplate redis) {
+    this.redis = redis;
+  }
+
+  /** Evicts {@code keys} after the current transaction commits, or right away if there is none. */
+  public void evictAfterCommit(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    List<String> snapshot = List.copyOf(keys);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(snapshot);
+        }
+      });
+    } else {
+      evict(snapshot);
+    }
+  }
+
+  private void evict(List<String> keys) {
+    redis.executePipelined((RedisCallback<Object>) connection -> {
+      for (String key : keys) {
+        connection.keyCommands().del(key.getBytes(StandardCharsets.UTF_8));
+      }
+      return null;
+    });
+  }
+}
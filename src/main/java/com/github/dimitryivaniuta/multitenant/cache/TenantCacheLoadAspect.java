@@ -0,0 +1,30 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears {@link TenantMeteredCache}'s pending load after every {@code @Cacheable} call, including calls whose
+ * method threw after a miss.
+ *
+ * <p>Ordered just outside the caching advice ({@code @EnableCaching} uses the lowest precedence), so the
+ * cache's own {@code put} after a successful load has already run.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class TenantCacheLoadAspect {
+
+  @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+  public Object clearPendingLoad(ProceedingJoinPoint pjp) throws Throwable {
+    try {
+      return pjp.proceed();
+    } finally {
+      TenantMeteredCache.clearPendingLoad();
+    }
+  }
+}
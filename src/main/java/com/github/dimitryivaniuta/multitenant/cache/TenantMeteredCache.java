@@ -0,0 +1,172 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantMeters;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} decorator that adds per-tenant hit/miss counts and load latency.
+ *
+ * <p>Meters:
+ * <ul>
+ *   <li>{@code tenant.cache.gets} – tags {@code cache}, {@code result} ({@code hit}/{@code miss}) and
+ *   {@code tenant} (top-K via {@link TenantMetricTags})</li>
+ *   <li>{@code cache.load} – time to compute a missing value, tag {@code cache}</li>
+ * </ul>
+ *
+ * <p>{@code @Cacheable} (non-sync) calls {@code get(key)}, invokes the method on a miss and then
+ * {@code put(key, value)} on the same thread; the load time is measured between the miss and that put.
+ * If the method throws there is no put: {@link TenantCacheLoadAspect} then calls {@link #clearPendingLoad()}
+ * in a {@code finally}, so the miss neither stays on the thread nor times an unrelated later put.
+ */
+final class TenantMeteredCache implements Cache {
+
+  private static final ThreadLocal<PendingLoad> PENDING = new ThreadLocal<>();
+
+  private final Cache delegate;
+  private final Timer loadTimer;
+  private final TenantMeters<Counter> hits;
+  private final TenantMeters<Counter> misses;
+
+  TenantMeteredCache(Cache delegate, MeterRegistry meterRegistry, TenantMetricTags tenantTags) {
+    this.delegate = delegate;
+    this.hits = gets("hit", meterRegistry, tenantTags);
+    this.misses = gets("miss", meterRegistry, tenantTags);
+    this.loadTimer = Timer.builder("cache.load")
+        .description("Time to load a missing cache value")
+        .tag("cache", delegate.getName())
+        .register(meterRegistry);
+  }
+
+  private TenantMeters<Counter> gets(String result, MeterRegistry meterRegistry, TenantMetricTags tenantTags) {
+    return tenantTags.meters(tag -> Counter.builder("tenant.cache.gets")
+        .tag("cache", delegate.getName())
+        .tag("result", result)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry));
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper value = delegate.get(key);
+    recordGet(key, value != null);
+    return value;
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    T value = delegate.get(key, type);
+    recordGet(key, value != null);
+    return value;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    boolean[] loaded = new boolean[1];
+    try {
+      return delegate.get(key, () -> {
+        loaded[0] = true;
+        long start = System.nanoTime();
+        try {
+          return valueLoader.call();
+        } finally {
+          loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+      });
+    } finally {
+      // a failed load is still a miss
+      count(!loaded[0]);
+    }
+  }
+
+  @Override
+  public CompletableFuture<?> retrieve(Object key) {
+    return delegate.retrieve(key);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+    return delegate.retrieve(key, valueLoader);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    delegate.put(key, value);
+    recordLoadIfPending(key);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = delegate.putIfAbsent(key, value);
+    recordLoadIfPending(key);
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    return delegate.invalidate();
+  }
+
+  /** Forgets a miss on this thread that was not followed by a put. */
+  static void clearPendingLoad() {
+    PENDING.remove();
+  }
+
+  private void recordGet(Object key, boolean hit) {
+    count(hit);
+    if (hit) {
+      PENDING.remove();
+    } else {
+      PENDING.set(new PendingLoad(this, key, System.nanoTime()));
+    }
+  }
+
+  private void count(boolean hit) {
+    (hit ? hits : misses).get(TenantContext.getTenantId().orElse(null)).increment();
+  }
+
+  private void recordLoadIfPending(Object key) {
+    PendingLoad pending = PENDING.get();
+    if (pending != null && pending.cache == this && Objects.equals(pending.key, key)) {
+      PENDING.remove();
+      loadTimer.record(System.nanoTime() - pending.startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private record PendingLoad(TenantMeteredCache cache, Object key, long startNanos) {
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+/**
+ * {@link CacheManager} that decorates every cache of a {@link RedisCacheManager} with
+ * {@link TenantMeteredCache}.
+ *
+ * <p>Because Spring Boot's cache metrics registrar only recognises raw {@link RedisCache} instances,
+ * the standard Redis cache meters ({@code cache.gets} hit/miss, {@code cache.puts},
+ * {@code cache.removals}, {@code cache.lock.duration}) are bound here. They require
+ * {@link RedisCacheManager.RedisCacheManagerBuilder#enableStatistics()}.
+ */
+public class TenantMeteredCacheManager implements CacheManager {
+
+  private final RedisCacheManager delegate;
+  private final MeterRegistry meterRegistry;
+  private final TenantMetricTags tenantTags;
+  private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+  public TenantMeteredCacheManager(RedisCacheManager delegate, MeterRegistry meterRegistry, TenantMetricTags tenantTags) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+    this.tenantTags = tenantTags;
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    Cache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache target = delegate.getCache(name);
+    if (target == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, n -> decorate(target));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return delegate.getCacheNames();
+  }
+
+  private Cache decorate(Cache target) {
+    if (target instanceof RedisCache redisCache) {
+      new RedisCacheMetrics(redisCache, Tags.of("cache.manager", "cacheManager")).bindTo(meterRegistry);
+    }
+    return new TenantMeteredCache(target, meterRegistry, tenantTags);
+  }
+}
@@ -0,0 +1,13 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+/**
+ * Thrown when a new change feed stream would exceed the node-wide or per-tenant subscriber limit.
+ *
+ * <p>Stackless: a reconnect storm after a deploy can produce many of these at once.
+ */
+public class ChangeFeedFullException extends RuntimeException {
+
+  public ChangeFeedFullException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,286 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-memory fan-out of user changes to the Server-Sent Event streams of this node, grouped by tenant.
+ *
+ * <p>An open stream is an async servlet request and holds no thread while idle. An event is encoded once and
+ * offered to the bounded queue ({@code app.change-feed.max-queued-events}) of every subscriber of its tenant;
+ * events of tenants nobody listens to are dropped with one map lookup. A queue is drained by one of
+ * {@code dispatch-threads} writer threads at a time, so each subscriber sees its tenant's changes in commit
+ * order. {@code SseEmitter#send} blocks while a client does not read; that only holds the writer thread
+ * serving it, never the publisher or other subscribers. When a subscriber's queue is full, the stream is
+ * dropped: it is removed at once and completed by its writer after the blocked write returns. The client
+ * reconnects and reloads.
+ *
+ * <p>Every {@code heartbeat-interval} each stream gets a comment line. A failed write (client gone) closes
+ * and removes the stream. After the node missed notifications (lost listen connection) every stream gets a
+ * {@code resync} event: clients should reload the list, a conditional GET makes that cheap.
+ *
+ * <p>Meters: {@code changefeed.subscribers} (open streams), {@code changefeed.subscriptions.rejected} and
+ * {@code changefeed.subscribers.dropped} (streams closed because their client fell behind).
+ */
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedHub implements SmartLifecycle {
+
+  private final ChangeFeedProperties props;
+  private final ObjectMapper objectMapper;
+  private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final AtomicInteger open = new AtomicInteger();
+  private final ExecutorService writers;
+  private final ScheduledExecutorService heartbeats;
+  private final Counter rejected;
+  private final Counter dropped;
+  private volatile boolean running;
+
+  @Autowired
+  public ChangeFeedHub(ChangeFeedProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this(props, objectMapper, meterRegistry, Executors.newFixedThreadPool(props.dispatchThreads(),
+        Thread.ofPlatform().name("changefeed-dispatch-", 0).daemon(true).factory()));
+  }
+
+  ChangeFeedHub(ChangeFeedProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      ExecutorService writers) {
+    this.props = props;
+    this.objectMapper = objectMapper;
+    this.writers = writers;
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("changefeed-heartbeat").daemon(true).factory());
+    this.rejected = Counter.builder("changefeed.subscriptions.rejected")
+        .description("Change feed streams refused because a subscriber limit was reached")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("changefeed.subscribers.dropped")
+        .description("Change feed streams closed because the client did not keep up")
+        .register(meterRegistry);
+    Gauge.builder("changefeed.subscribers", open, AtomicInteger::get)
+        .description("Open change feed streams")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Opens a stream of {@code tenantId}'s user changes.
+   *
+   * @throws ChangeFeedFullException if the node-wide or per-tenant limit is reached
+   */
+  public SseEmitter subscribe(UUID tenantId) {
+    if (!running) {
+      throw new ChangeFeedFullException("Change feed is not available");
+    }
+    if (open.incrementAndGet() > props.maxSubscribers()) {
+      open.decrementAndGet();
+      rejected.increment();
+      throw new ChangeFeedFullException("Too many change feed subscribers");
+    }
+
+    Subscriber subscriber = new Subscriber(tenantId, new SseEmitter(props.streamTimeout().toMillis()));
+    boolean[] added = new boolean[1];
+    subscribers.compute(tenantId, (t, set) -> {
+      Set<Subscriber> streams = set != null ? set : ConcurrentHashMap.newKeySet();
+      if (streams.size() < props.maxSubscribersPerTenant()) {
+        added[0] = streams.add(subscriber);
+      }
+      return streams.isEmpty() ? null : streams;
+    });
+    if (!added[0]) {
+      open.decrementAndGet();
+      rejected.increment();
+      throw new ChangeFeedFullException("Too many change feed subscribers for this tenant");
+    }
+
+    SseEmitter emitter = subscriber.emitter;
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onError(e -> remove(subscriber));
+    try {
+      // buffered until the handler returns; tells the client how long to wait before reconnecting
+      emitter.send(SseEmitter.event().comment("subscribed").reconnectTime(props.reconnectDelay().toMillis()));
+    } catch (IOException e) {
+      remove(subscriber);
+      emitter.completeWithError(e);
+    }
+    return emitter;
+  }
+
+  /** Delivers {@code event} to its tenant's streams on this node, if there are any. */
+  public void publish(UserChangeEvent event) {
+    if (!running) {
+      return;
+    }
+    Set<Subscriber> streams = subscribers.get(event.tenantId());
+    if (streams == null) {
+      return;
+    }
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+    Set<DataWithMediaType> data = SseEmitter.event().name(event.eventName()).data(json).build();
+    for (Subscriber subscriber : streams) {
+      subscriber.enqueue(data);
+    }
+  }
+
+  /** Tells every stream that changes may have been missed. */
+  public void resyncAll() {
+    broadcast(SseEmitter.event().name("resync").data("{}").build());
+  }
+
+  /** Open streams on this node. */
+  public int subscriberCount() {
+    return open.get();
+  }
+
+  private void heartbeat() {
+    broadcast(SseEmitter.event().comment("heartbeat").build());
+  }
+
+  private void broadcast(Set<DataWithMediaType> data) {
+    if (!running) {
+      return;
+    }
+    for (Set<Subscriber> streams : subscribers.values()) {
+      for (Subscriber subscriber : streams) {
+        subscriber.enqueue(data);
+      }
+    }
+  }
+
+  /** Removes {@code subscriber} from its tenant; {@code true} if this call removed it. */
+  private boolean remove(Subscriber subscriber) {
+    boolean[] removed = new boolean[1];
+    subscribers.computeIfPresent(subscriber.tenantId, (t, streams) -> {
+      removed[0] = streams.remove(subscriber);
+      return streams.isEmpty() ? null : streams;
+    });
+    if (removed[0]) {
+      open.decrementAndGet();
+    }
+    return removed[0];
+  }
+
+  @Override
+  public void start() {
+    if (!props.enabled() || running) {
+      return;
+    }
+    running = true;
+    long interval = props.heartbeatInterval().toMillis();
+    heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /** Completes every stream so that graceful shutdown does not wait for them. */
+  @Override
+  public void stop() {
+    running = false;
+    heartbeats.shutdownNow();
+    for (Set<Subscriber> streams : subscribers.values()) {
+      for (Subscriber subscriber : streams) {
+        remove(subscriber);
+        subscriber.emitter.complete();
+      }
+    }
+    writers.shutdown();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * One open stream with its pending events. {@code scheduled} guarantees at most one writer drains the
+   * queue at a time, which keeps the events in order.
+   */
+  private final class Subscriber {
+
+    private final UUID tenantId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closing;
+
+    private Subscriber(UUID tenantId, SseEmitter emitter) {
+      this.tenantId = tenantId;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(props.maxQueuedEvents());
+    }
+
+    /** Never blocks: a subscriber whose queue is full is dropped instead. */
+    void enqueue(Set<DataWithMediaType> data) {
+      if (closing) {
+        return;
+      }
+      if (!queue.offer(data)) {
+        closing = true;
+        if (remove(this)) {
+          dropped.increment();
+        }
+        // The writer currently draining the queue completes the emitter once its write returns.
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          writers.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          scheduled.set(false); // shutting down; stop() completes the stream
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        Set<DataWithMediaType> data;
+        while (!closing && (data = queue.poll()) != null) {
+          emitter.send(data);
+        }
+        if (closing) {
+          queue.clear();
+          emitter.complete();
+          return;
+        }
+      } catch (IOException | IllegalStateException e) {
+        // client went away or the stream already completed
+        closing = true;
+        queue.clear();
+        remove(this);
+        emitter.completeWithError(e);
+        return;
+      }
+      scheduled.set(false);
+      // an event offered after the last poll but before the flag was cleared found the drain still scheduled
+      if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+  }
+}
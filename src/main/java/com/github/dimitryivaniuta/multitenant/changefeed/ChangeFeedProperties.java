@@ -0,0 +1,42 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * User change feed ({@code GET /api/users/changes}) settings.
+ *
+ * @param enabled whether the feed is served and the node listens for changes
+ * @param maxSubscribers open streams allowed on this node
+ * @param maxSubscribersPerTenant open streams allowed per tenant on this node
+ * @param dispatchThreads threads writing events to streams; one stream is written by one thread at a time
+ * @param maxQueuedEvents events buffered per stream; a stream whose client falls further behind is closed
+ * @param heartbeatInterval how often idle streams get a comment line (keeps proxies from closing them and
+ *     detects dead clients)
+ * @param streamTimeout lifetime of one stream; clients reconnect afterwards
+ * @param reconnectDelay {@code retry} hint sent to clients, also the delay before re-listening after a lost
+ *     database connection
+ */
+@ConfigurationProperties(prefix = "app.change-feed")
+public record ChangeFeedProperties(
+    Boolean enabled,
+    Integer maxSubscribers,
+    Integer maxSubscribersPerTenant,
+    Integer dispatchThreads,
+    Integer maxQueuedEvents,
+    Duration heartbeatInterval,
+    Duration streamTimeout,
+    Duration reconnectDelay
+) {
+
+  public ChangeFeedProperties {
+    enabled = enabled == null || enabled;
+    maxSubscribers = maxSubscribers == null ? 10_000 : maxSubscribers;
+    maxSubscribersPerTenant = maxSubscribersPerTenant == null ? 100 : maxSubscribersPerTenant;
+    dispatchThreads = dispatchThreads == null ? 4 : dispatchThreads;
+    maxQueuedEvents = maxQueuedEvents == null ? 256 : maxQueuedEvents;
+    heartbeatInterval = heartbeatInterval == null ? Duration.ofSeconds(15) : heartbeatInterval;
+    streamTimeout = streamTimeout == null ? Duration.ofMinutes(30) : streamTimeout;
+    reconnectDelay = reconnectDelay == null ? Duration.ofSeconds(3) : reconnectDelay;
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+import java.util.UUID;
+
+/**
+ * A committed user change, as announced by the {@code users_change_notify} trigger.
+ *
+ * @param type {@code created} or {@code deleted}
+ */
+public record UserChangeEvent(UUID tenantId, String type, UUID userId) {
+
+  /** Parses a {@code user_changes} payload ({@code <tenant_id> <type> <user_id>}). */
+  static UserChangeEvent parse(String payload) {
+    String[] parts = payload.split(" ");
+    if (parts.length != 3) {
+      throw new IllegalArgumentException("Malformed user change: " + payload);
+    }
+    return new UserChangeEvent(UUID.fromString(parts[0]), parts[1], UUID.fromString(parts[2]));
+  }
+
+  /** SSE event name, e.g. {@code user.created}. */
+  String eventName() {
+    return "user." + type;
+  }
+}
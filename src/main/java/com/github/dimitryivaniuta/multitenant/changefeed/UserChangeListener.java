@@ -0,0 +1,158 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+import com.github.dimitryivaniuta.multitenant.isolation.TenantLocations;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens on the {@value #CHANNEL} channel and hands every notification to {@link ChangeFeedHub}.
+ *
+ * <p>Uses one dedicated connection per database: the default one, plus each shard and dedicated tenant
+ * database (dedicated schemas share the default database's channel). The connections are opened with the
+ * driver directly, so they take nothing from the Hikari pools, and each is read by its own platform thread
+ * blocked in {@link PGConnection#getNotifications(int)}. A lost connection is re-established after
+ * {@code app.change-feed.reconnect-delay}; since notifications sent meanwhile are gone, subscribers are then
+ * told to resync.
+ */
+@Component
+public class UserChangeListener implements SmartLifecycle {
+
+  /** NOTIFY channel of the {@code users_change_notify} trigger. */
+  public static final String CHANNEL = "user_changes";
+
+  private static final Logger log = LoggerFactory.getLogger(UserChangeListener.class);
+
+  private static final int POLL_MILLIS = 1000;
+
+  private final ChangeFeedProperties props;
+  private final ChangeFeedHub hub;
+  private final DataSourceProperties dataSourceProperties;
+  private final ObjectProvider<TenantLocations> locations;
+  private final List<Thread> threads = new ArrayList<>();
+  private volatile boolean running;
+
+  public UserChangeListener(
+      ChangeFeedProperties props,
+      ChangeFeedHub hub,
+      DataSourceProperties dataSourceProperties,
+      ObjectProvider<TenantLocations> locations
+  ) {
+    this.props = props;
+    this.hub = hub;
+    this.dataSourceProperties = dataSourceProperties;
+    this.locations = locations;
+  }
+
+  private record Database(String name, String url, String username, String password) {
+  }
+
+  /** The default database and every other database a tenant can live in, once each. */
+  private List<Database> databases() {
+    Map<String, Database> byUrl = new LinkedHashMap<>();
+    String defaultUrl = dataSourceProperties.determineUrl();
+    byUrl.put(defaultUrl, new Database("default", defaultUrl,
+        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+    locations.orderedStream()
+        .flatMap(l -> l.migrationTargets().stream())
+        .forEach(target -> {
+          if (target.dataSource() instanceof HikariDataSource pool) {
+            byUrl.putIfAbsent(pool.getJdbcUrl(),
+                new Database(target.name(), pool.getJdbcUrl(), pool.getUsername(), pool.getPassword()));
+          }
+        });
+    return List.copyOf(byUrl.values());
+  }
+
+  private void listen(Database db) {
+    boolean missedNotifications = false;
+    while (running) {
+      try (Connection c = DriverManager.getConnection(db.url(), db.username(), db.password())) {
+        try (Statement st = c.createStatement()) {
+          st.execute("LISTEN " + CHANNEL);
+        }
+        if (missedNotifications) {
+          log.info("Change feed listener on {} reconnected", db.name());
+          hub.resyncAll();
+        }
+        PGConnection pg = c.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+          if (notifications != null) {
+            for (PGNotification n : notifications) {
+              dispatch(n.getParameter());
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        missedNotifications = true;
+        log.warn("Change feed listener on {} lost its connection, retrying in {}", db.name(),
+            props.reconnectDelay(), e);
+        try {
+          Thread.sleep(props.reconnectDelay());
+        } catch (InterruptedException ie) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void dispatch(String payload) {
+    try {
+      hub.publish(UserChangeEvent.parse(payload));
+    } catch (RuntimeException e) {
+      log.warn("Ignoring user change notification '{}'", payload, e);
+    }
+  }
+
+  @Override
+  public void start() {
+    if (!props.enabled() || running) {
+      return;
+    }
+    running = true;
+    for (Database db : databases()) {
+      threads.add(Thread.ofPlatform().name("changefeed-listen-" + db.name()).daemon(true)
+          .start(() -> listen(db)));
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    for (Thread thread : threads) {
+      thread.interrupt();
+    }
+    for (Thread thread : threads) {
+      try {
+        thread.join(POLL_MILLIS * 2L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    threads.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
@@ -0,0 +1,53 @@
+package com.github.dimitryivaniuta.multitenant.config;
+
+import com.github.dimitryivaniuta.multitenant.tenant.ContextPropagatingExecutor;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContextTaskDecorator;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Async execution with tenant and MDC propagation.
+ *
+ * <p>Registers the default async executor ({@code applicationTaskExecutor}, aliased {@code taskExecutor}
+ * so {@code @Async} and Spring MVC async both resolve it) built by Spring Boot's executor builders,
+ * which apply the {@link TenantContextTaskDecorator} bean: a thread pool in platform-thread mode,
+ * virtual threads in virtual-thread mode. It is declared here rather than left to auto-configuration
+ * because Boot backs off as soon as any other {@code Executor} bean exists (e.g. the Kafka send pool).
+ *
+ * <p>Each task runs under the submitting request's tenant (so RLS applies) and correlation id, which
+ * lets request handlers fan out DB, cache and Kafka calls in parallel. For executors that are not
+ * Spring-managed (e.g. {@code CompletableFuture} with a custom pool) use {@link ContextPropagatingExecutor}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+  @Bean
+  public TaskDecorator tenantContextTaskDecorator() {
+    return new TenantContextTaskDecorator();
+  }
+
+  @Bean(name = {
+      TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+      AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+  })
+  public AsyncTaskExecutor applicationTaskExecutor(
+      Environment environment,
+      ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+      SimpleAsyncTaskExecutorBuilder simpleBuilder
+  ) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return simpleBuilder.build();
+    }
+    return threadPoolBuilder.build();
+  }
+}
@@ -1,5 +1,9 @@
 package com.github.dimitryivaniuta.multitenant.config;
 
+import com.github.dimitryivaniuta.multitenant.cache.TenantMeteredCacheManager;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,18 +13,32 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import java.time.Duration;
+import java.util.Set;
 
 /**
  * Redis cache configuration.
  *
  * <p>Cache keys must include tenant id to prevent cross-tenant cache reads.
+ *
+ * <p>Statistics are enabled and every cache is wrapped in a {@link TenantMeteredCacheManager}, which
+ * publishes the standard Redis cache meters plus per-tenant hit/miss and load latency.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+  /** Cache of single users, keyed {@code tenant:{tenantId}:user:{userId}}. */
+  public static final String USERS = "users";
+
+  /** Cache of users looked up by email, keyed {@code tenant:{tenantId}:email:{email}}. */
+  public static final String USERS_BY_EMAIL = "usersByEmail";
+
   @Bean
-  public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+  public CacheManager cacheManager(
+      RedisConnectionFactory connectionFactory,
+      MeterRegistry meterRegistry,
+      TenantMetricTags tenantTags
+  ) {
     RedisCacheConfiguration base = RedisCacheConfiguration.defaultCacheConfig()
         .disableKeyPrefix()
         .entryTtl(Duration.ofMinutes(10))
@@ -28,8 +46,13 @@ public class CacheConfig {
             new GenericJackson2JsonRedisSerializer()
         ));
 
-    return RedisCacheManager.builder(connectionFactory)
+    RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
         .cacheDefaults(base)
+        .initialCacheNames(Set.of(USERS, USERS_BY_EMAIL))
+        .enableStatistics()
         .build();
+    redis.initializeCaches();
+
+    return new TenantMeteredCacheManager(redis, meterRegistry, tenantTags);
   }
 }
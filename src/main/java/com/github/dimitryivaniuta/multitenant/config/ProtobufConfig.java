@@ -0,0 +1,24 @@
+package com.github.dimitryivaniuta.multitenant.config;
+
+import com.github.dimitryivaniuta.multitenant.api.protobuf.UserProtobufHttpMessageConverter;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds the {@code application/x-protobuf} representation of the users API.
+ *
+ * <p>The converter is appended to the end of the converter list rather than declared as an
+ * {@code HttpMessageConverter} bean, which Spring Boot would put in front of Jackson. Content
+ * negotiation picks the first converter that can write the type for {@code Accept: *}{@code /*}, so
+ * appending keeps JSON the default. Only callers that ask for protobuf get it.
+ */
+@Configuration
+public class ProtobufConfig implements WebMvcConfigurer {
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new UserProtobufHttpMessageConverter());
+  }
+}
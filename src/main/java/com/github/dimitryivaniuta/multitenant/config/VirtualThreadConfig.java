@@ -0,0 +1,48 @@
+package com.github.dimitryivaniuta.multitenant.config;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContextTaskDecorator;
+import java.util.concurrent.Executor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}, Java 21).
+ *
+ * <p>Spring Boot already runs Tomcat request handling on virtual threads in this mode. On top of that:
+ * <ul>
+ *   <li>{@link TenantContext} is switched to a {@code ScopedValue} binding, so tenant ids are never left
+ *   behind on a thread (requires {@code --enable-preview} on JDK 21).</li>
+ *   <li>Kafka sends are handed to a small platform-thread pool. {@code KafkaProducer#send} may block in
+ *   {@code synchronized} code while waiting for metadata, which would pin the carrier thread of a
+ *   virtual request thread. When its queue is full the producer drops the event instead of failing the
+ *   request.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  /** Name of the executor used by {@code UserEventsProducer} for {@code KafkaTemplate#send}. */
+  public static final String KAFKA_SEND_EXECUTOR = "kafkaSendExecutor";
+
+  public VirtualThreadConfig() {
+    TenantContext.useScopedValues();
+  }
+
+  @Bean(name = KAFKA_SEND_EXECUTOR)
+  public Executor kafkaSendExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("kafka-send-");
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(10_000);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setTaskDecorator(new TenantContextTaskDecorator());
+    executor.initialize();
+    return executor;
+  }
+}
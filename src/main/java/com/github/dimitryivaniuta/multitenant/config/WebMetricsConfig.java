@@ -0,0 +1,31 @@
+package com.github.dimitryivaniuta.multitenant.config;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantLatencyMetricsInterceptor;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers per-tenant API latency metrics for the users API.
+ *
+ * <p>Scraped via {@code /actuator/prometheus}.
+ */
+@Configuration
+public class WebMetricsConfig implements WebMvcConfigurer {
+
+  private final MeterRegistry meterRegistry;
+  private final TenantMetricTags tenantTags;
+
+  public WebMetricsConfig(MeterRegistry meterRegistry, TenantMetricTags tenantTags) {
+    this.meterRegistry = meterRegistry;
+    this.tenantTags = tenantTags;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new TenantLatencyMetricsInterceptor(meterRegistry, tenantTags))
+        .addPathPatterns("/api/users", "/api/users/**");
+  }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -11,12 +12,20 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 /**
  * A tenant-scoped user.
  *
  * <p>The {@code tenantId} column is mandatory and PostgreSQL Row Level Security (RLS) prevents
  * any cross-tenant reads/updates.
+ *
+ * <p>{@code tenantId} is Hibernate's {@link TenantId} discriminator: queries on this entity get an explicit
+ * {@code tenant_id = ?} predicate from {@code TenantContext}, so the planner can use the tenant indexes
+ * directly. RLS stays in place as the backstop.
+ *
+ * <p>{@code version} is bumped on every update and, with the id, forms the user's ETag. It is {@code null}
+ * until the entity is persisted, which also lets Spring Data insert new users without a lookup first.
  */
 @Entity
 @Table(name = "users")
@@ -31,6 +40,7 @@ public class UserEntity {
   @Column(name = "id", nullable = false, updatable = false)
   private UUID id;
 
+  @TenantId
   @Column(name = "tenant_id", nullable = false, updatable = false)
   private UUID tenantId;
 
@@ -42,4 +52,8 @@ public class UserEntity {
 
   @Column(name = "created_at", nullable = false, updatable = false)
   private Instant createdAt;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
 }
@@ -1,67 +1,145 @@
 package com.github.dimitryivaniuta.multitenant.error;
 
+import com.github.dimitryivaniuta.multitenant.bulkhead.TenantOverloadedException;
+import com.github.dimitryivaniuta.multitenant.changefeed.ChangeFeedFullException;
+import com.github.dimitryivaniuta.multitenant.idempotency.IdempotencyKeyInProgressException;
+import com.github.dimitryivaniuta.multitenant.idempotency.IdempotencyKeyReusedException;
+import com.github.dimitryivaniuta.multitenant.idempotency.InvalidIdempotencyKeyException;
+import com.github.dimitryivaniuta.multitenant.service.InvalidCursorException;
 import com.github.dimitryivaniuta.multitenant.service.UserNotFoundException;
+import com.github.dimitryivaniuta.multitenant.sharding.TenantMovingException;
 import com.github.dimitryivaniuta.multitenant.tenant.MissingTenantException;
-import com.github.dimitryivaniuta.multitenant.observability.MdcKeys;
 import jakarta.servlet.http.HttpServletRequest;
-import java.net.URI;
-import java.util.Map;
+import java.util.List;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.slf4j.MDC;
 
 /**
  * Centralized exception -> RFC7807 ProblemDetail mapping.
+ *
+ * <p>Each error type has a precomputed {@link ProblemTemplate}; handlers only add the per-request fields.
+ * The domain exceptions on hot error paths (404 probes, missing tenant, overload, tenant moves) are
+ * stackless, so a flood of them costs little more than a successful request.
  */
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
-  private static void enrich(ProblemDetail pd, HttpServletRequest req) {
-    pd.setProperty("path", req.getRequestURI());
-    String corr = MDC.get(MdcKeys.CORRELATION_ID);
-    if (corr != null && !corr.isBlank()) {
-      pd.setProperty("correlationId", corr);
-    }
-    String tenant = MDC.get(MdcKeys.TENANT_ID);
-    if (tenant != null && !tenant.isBlank()) {
-      pd.setProperty("tenantId", tenant);
-    }
+  private static final ProblemTemplate NOT_FOUND =
+      ProblemTemplate.of(HttpStatus.NOT_FOUND, "Not Found", "not-found", "Not found");
+  private static final ProblemTemplate TENANT_REQUIRED =
+      ProblemTemplate.of(HttpStatus.BAD_REQUEST, "Tenant Required", "tenant-required", "Tenant required");
+  private static final ProblemTemplate TENANT_OVERLOADED =
+      ProblemTemplate.of(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "tenant-overloaded", "Overloaded");
+  private static final ProblemTemplate TENANT_MOVING =
+      ProblemTemplate.of(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "tenant-moving", "Tenant is moving");
+  private static final ProblemTemplate CHANGE_FEED_FULL = ProblemTemplate.of(
+      HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "change-feed-full", "Change feed unavailable");
+  private static final ProblemTemplate IDEMPOTENCY_IN_PROGRESS =
+      ProblemTemplate.of(HttpStatus.CONFLICT, "Conflict", "idempotency-in-progress", "Request in progress");
+  private static final ProblemTemplate IDEMPOTENCY_KEY_REUSED = ProblemTemplate.of(
+      HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", "idempotency-key-reused", "Idempotency key reused");
+  private static final ProblemTemplate INVALID_IDEMPOTENCY_KEY = ProblemTemplate.of(
+      HttpStatus.BAD_REQUEST, "Bad Request", "invalid-idempotency-key", "Invalid idempotency key");
+  private static final ProblemTemplate CONFLICT =
+      ProblemTemplate.of(HttpStatus.CONFLICT, "Conflict", "conflict", "Conflicts with an existing resource");
+  private static final ProblemTemplate INVALID_CURSOR =
+      ProblemTemplate.of(HttpStatus.BAD_REQUEST, "Bad Request", "invalid-cursor", "Invalid cursor");
+  private static final ProblemTemplate VALIDATION =
+      ProblemTemplate.of(HttpStatus.BAD_REQUEST, "Bad Request", "validation", "Validation failed");
+  private static final ProblemTemplate INTERNAL =
+      ProblemTemplate.of(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "internal", "Unexpected error");
+
+  /** One entry of the {@code errors} property of a validation problem. */
+  record FieldViolation(String field, String message) {
   }
 
   @ExceptionHandler(UserNotFoundException.class)
   public ProblemDetail handleNotFound(UserNotFoundException ex, HttpServletRequest req) {
-    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
-    pd.setTitle("Not Found");
-    pd.setType(URI.create("https://errors.example.com/not-found"));
-    enrich(pd, req);
-    return pd;
+    return NOT_FOUND.create(ex.getMessage(), req);
   }
 
   @ExceptionHandler(MissingTenantException.class)
   public ProblemDetail handleMissingTenant(MissingTenantException ex, HttpServletRequest req) {
-    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
-    pd.setTitle("Tenant Required");
-    pd.setType(URI.create("https://errors.example.com/tenant-required"));
-    enrich(pd, req);
-    return pd;
+    return TENANT_REQUIRED.create(ex.getMessage(), req);
+  }
+
+  @ExceptionHandler(TenantOverloadedException.class)
+  public ResponseEntity<ProblemDetail> handleOverloaded(TenantOverloadedException ex, HttpServletRequest req) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(TENANT_OVERLOADED.create(ex.getMessage(), req));
+  }
+
+  @ExceptionHandler(TenantMovingException.class)
+  public ResponseEntity<ProblemDetail> handleMoving(TenantMovingException ex, HttpServletRequest req) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(TENANT_MOVING.create(ex.getMessage(), req));
+  }
+
+  @ExceptionHandler(ChangeFeedFullException.class)
+  public ResponseEntity<ProblemDetail> handleChangeFeedFull(ChangeFeedFullException ex, HttpServletRequest req) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(CHANGE_FEED_FULL.create(ex.getMessage(), req));
+  }
+
+  /** A paused (moving) tenant fails while the transaction opens its connection; unwrap it to a 503. */
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<ProblemDetail> handleCannotCreateTransaction(
+      CannotCreateTransactionException ex, HttpServletRequest req) {
+    if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof TenantMovingException moving) {
+      return handleMoving(moving, req);
+    }
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleGeneric(ex, req));
+  }
+
+  @ExceptionHandler(IdempotencyKeyInProgressException.class)
+  public ProblemDetail handleIdempotencyInProgress(IdempotencyKeyInProgressException ex, HttpServletRequest req) {
+    return IDEMPOTENCY_IN_PROGRESS.create(ex.getMessage(), req);
+  }
+
+  @ExceptionHandler(IdempotencyKeyReusedException.class)
+  public ProblemDetail handleIdempotencyReused(IdempotencyKeyReusedException ex, HttpServletRequest req) {
+    return IDEMPOTENCY_KEY_REUSED.create(ex.getMessage(), req);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ProblemDetail handleInvalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+    return INVALID_CURSOR.create(ex.getMessage(), req);
+  }
+
+  @ExceptionHandler(InvalidIdempotencyKeyException.class)
+  public ProblemDetail handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex, HttpServletRequest req) {
+    return INVALID_IDEMPOTENCY_KEY.create(ex.getMessage(), req);
+  }
+
+  /** Unique constraint violations (e.g. duplicate email within the tenant). */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ProblemDetail handleConflict(DataIntegrityViolationException ex, HttpServletRequest req) {
+    return CONFLICT.create(req);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ProblemDetail handleValidation(MethodArgumentNotValidException ex, HttpServletRequest req) {
-    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
-    pd.setTitle("Bad Request");
-    pd.setType(URI.create("https://errors.example.com/validation"));
-    enrich(pd, req);
-    pd.setProperty("errors", ex.getBindingResult().getFieldErrors().stream()
-        .map(fe -> Map.of(
-            "field", fe.getField(),
-            "message", fe.getDefaultMessage()
-        ))
-        .toList());
+    ProblemDetail pd = VALIDATION.create(req);
+    List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+    FieldViolation[] errors = new FieldViolation[fieldErrors.size()];
+    for (int i = 0; i < errors.length; i++) {
+      FieldError fe = fieldErrors.get(i);
+      errors[i] = new FieldViolation(fe.getField(), fe.getDefaultMessage());
+    }
+    pd.setProperty("errors", List.of(errors));
     return pd;
   }
 
@@ -71,11 +149,6 @@ public class ApiExceptionHandler {
     if (ex instanceof ErrorResponseException err) {
       return err.getBody();
     }
-
-    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
-    pd.setTitle("Internal Server Error");
-    pd.setType(URI.create("https://errors.example.com/internal"));
-    enrich(pd, req);
-    return pd;
+    return INTERNAL.create(req);
   }
 }
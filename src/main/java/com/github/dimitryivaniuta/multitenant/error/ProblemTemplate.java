@@ -0,0 +1,45 @@
+package com.github.dimitryivaniuta.multitenant.error;
+
+import com.github.dimitryivaniuta.multitenant.observability.MdcKeys;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Immutable, precomputed part of one kind of RFC 7807 problem: status, title, type URI and default detail.
+ *
+ * <p>{@link ApiExceptionHandler} keeps one constant per error type, so a request on the error path only
+ * allocates the {@link ProblemDetail} and fills in the per-request fields ({@code path}, {@code correlationId},
+ * {@code tenantId}); the type URI is parsed once at class load instead of per response.
+ */
+record ProblemTemplate(HttpStatus status, String title, URI type, String detail) {
+
+  static ProblemTemplate of(HttpStatus status, String title, String slug, String detail) {
+    return new ProblemTemplate(status, title, URI.create("https://errors.example.com/" + slug), detail);
+  }
+
+  /** A problem with the default detail. */
+  ProblemDetail create(HttpServletRequest req) {
+    return create(detail, req);
+  }
+
+  /** A problem with a request-specific detail (e.g. the exception message). */
+  ProblemDetail create(String detail, HttpServletRequest req) {
+    ProblemDetail pd = ProblemDetail.forStatus(status);
+    pd.setTitle(title);
+    pd.setType(type);
+    pd.setDetail(detail);
+    pd.setProperty("path", req.getRequestURI());
+    String corr = MDC.get(MdcKeys.CORRELATION_ID);
+    if (corr != null && !corr.isBlank()) {
+      pd.setProperty("correlationId", corr);
+    }
+    String tenant = MDC.get(MdcKeys.TENANT_ID);
+    if (tenant != null && !tenant.isBlank()) {
+      pd.setProperty("tenantId", tenant);
+    }
+    return pd;
+  }
+}
@@ -0,0 +1,199 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Executes {@link Idempotent} controller methods at most once per tenant and {@code Idempotency-Key}.
+ *
+ * <p>State lives in Redis under {@code tenant:{tenantId}:idem:{key}}:
+ * <ul>
+ *   <li>The first request claims the key with {@code SET NX}: an in-progress marker carrying a random owner
+ *       token, expiring after {@code lock-timeout}. It runs the method and stores the serialized result for
+ *       {@code ttl}.</li>
+ *   <li>Storing the result and releasing the key are compare-and-set Lua scripts: they only act while the key
+ *       still holds this request's marker, so an owner whose marker expired cannot overwrite or delete a newer
+ *       owner's entry. Both publish the key on {@link IdempotencyWaiters#CHANNEL}.</li>
+ *   <li>A repeat finds the stored result and replays it without calling the method (no Postgres, no Kafka),
+ *       marked with {@code Idempotent-Replayed: true}.</li>
+ *   <li>A concurrent duplicate blocks until that publish wakes it, up to {@code wait-timeout} (then 409).</li>
+ *   <li>A failed first request releases the key so the client can retry.</li>
+ *   <li>Reusing a key with a different payload is rejected with 422.</li>
+ * </ul>
+ * Requests without the header run normally.
+ */
+@Aspect
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyAspect {
+
+  /** Request header carrying the client's idempotency key. */
+  public static final String HEADER = "Idempotency-Key";
+
+  /** Response header set on replayed responses. */
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyAspect.class);
+
+  /** Replaces this request's in-progress marker (ARGV[1]) with the result (ARGV[2], TTL ARGV[3] ms). */
+  private static final RedisScript<Long> COMPLETE = RedisScript.of("""
+      if redis.call('get', KEYS[1]) == ARGV[1] then
+        redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3])
+        redis.call('publish', ARGV[4], KEYS[1])
+        return 1
+      end
+      return 0
+      """, Long.class);
+
+  /** Deletes the key if it still holds this request's in-progress marker (ARGV[1]). */
+  private static final RedisScript<Long> RELEASE = RedisScript.of("""
+      if redis.call('get', KEYS[1]) == ARGV[1] then
+        redis.call('del', KEYS[1])
+        redis.call('publish', ARGV[2], KEYS[1])
+        return 1
+      end
+      return 0
+      """, Long.class);
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final IdempotencyProperties props;
+  private final IdempotencyWaiters waiters;
+
+  public IdempotencyAspect(
+      StringRedisTemplate redis,
+      ObjectMapper objectMapper,
+      IdempotencyProperties props,
+      IdempotencyWaiters waiters
+  ) {
+    this.redis = redis;
+    this.objectMapper = objectMapper;
+    this.props = props;
+    this.waiters = waiters;
+  }
+
+  /**
+   * Stored state of a key: {@code response} is {@code null} and {@code owner} identifies the running request
+   * while the first request is running.
+   */
+  record Entry(String fingerprint, String response, String owner) {
+  }
+
+  @Around("@annotation(com.github.dimitryivaniuta.multitenant.idempotency.Idempotent)")
+  public Object once(ProceedingJoinPoint pjp) throws Throwable {
+    ServletRequestAttributes attrs = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes a
+        ? a : null;
+    String key = attrs == null ? null : attrs.getRequest().getHeader(HEADER);
+    if (!props.enabled() || key == null) {
+      return pjp.proceed();
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new InvalidIdempotencyKeyException(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+    }
+
+    UUID tenantId = TenantContext.requireTenantId();
+    String redisKey = "tenant:" + tenantId + ":idem:" + key;
+    String fingerprint = fingerprint(pjp.getArgs());
+    JavaType resultType = objectMapper.constructType(((MethodSignature) pjp.getSignature()).getMethod()
+        .getGenericReturnType());
+
+    String inProgress = objectMapper.writeValueAsString(new Entry(fingerprint, null, UUID.randomUUID().toString()));
+    long deadline = System.nanoTime() + props.waitTimeout().toNanos();
+    while (true) {
+      if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(redisKey, inProgress, props.lockTimeout()))) {
+        return runAndStore(pjp, redisKey, fingerprint, inProgress);
+      }
+
+      CompletableFuture<Void> done = waiters.register(redisKey);
+      try {
+        String raw = redis.opsForValue().get(redisKey);
+        if (raw == null) {
+          continue; // released between SET and GET: try to claim it
+        }
+        Entry entry = objectMapper.readValue(raw, Entry.class);
+        if (!fingerprint.equals(entry.fingerprint())) {
+          throw new IdempotencyKeyReusedException(HEADER + " was already used with a different request");
+        }
+        if (entry.response() != null) {
+          markReplayed(attrs.getResponse());
+          return objectMapper.readValue(entry.response(), resultType);
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          throw new IdempotencyKeyInProgressException("A request with this " + HEADER + " is still in progress");
+        }
+        try {
+          done.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          // one more look at the key, then 409
+        }
+      } finally {
+        waiters.forget(redisKey, done);
+      }
+    }
+  }
+
+  private Object runAndStore(ProceedingJoinPoint pjp, String redisKey, String fingerprint, String inProgress)
+      throws Throwable {
+    Object result;
+    try {
+      result = pjp.proceed();
+    } catch (Throwable t) {
+      redis.execute(RELEASE, List.of(redisKey), inProgress, IdempotencyWaiters.CHANNEL);
+      throw t;
+    }
+    String done = objectMapper.writeValueAsString(
+        new Entry(fingerprint, objectMapper.writeValueAsString(result), null));
+    Long stored = redis.execute(COMPLETE, List.of(redisKey), inProgress, done,
+        Long.toString(props.ttl().toMillis()), IdempotencyWaiters.CHANNEL);
+    if (!Long.valueOf(1L).equals(stored)) {
+      // The marker expired (lock-timeout) while the method ran; a retry may already own the key.
+      log.warn("{} {} outlived its lock-timeout of {}; the result was not stored for replay",
+          HEADER, redisKey, props.lockTimeout());
+    }
+    return result;
+  }
+
+  private String fingerprint(Object[] args) throws JsonProcessingException {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(objectMapper.writeValueAsString(args).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void markReplayed(HttpServletResponse response) {
+    if (response != null) {
+      response.setHeader(REPLAYED_HEADER, "true");
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+/**
+ * Thrown when a request with the same {@code Idempotency-Key} is still running and did not finish within
+ * the configured wait time.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+  public IdempotencyKeyInProgressException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,11 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is reused with a different request payload.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+  public IdempotencyKeyReusedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,29 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code Idempotency-Key} handling settings.
+ *
+ * @param enabled whether the header is honoured
+ * @param ttl how long a completed response is kept for replay
+ * @param lockTimeout how long an in-progress marker lives; a request running longer loses the key and its
+ *                    result is not stored for replay
+ * @param waitTimeout how long a concurrent duplicate waits for the first request before 409
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+    Boolean enabled,
+    Duration ttl,
+    Duration lockTimeout,
+    Duration waitTimeout
+) {
+
+  public IdempotencyProperties {
+    enabled = enabled == null || enabled;
+    ttl = ttl == null ? Duration.ofHours(24) : ttl;
+    lockTimeout = lockTimeout == null ? Duration.ofSeconds(30) : lockTimeout;
+    waitTimeout = waitTimeout == null ? Duration.ofSeconds(5) : waitTimeout;
+  }
+}
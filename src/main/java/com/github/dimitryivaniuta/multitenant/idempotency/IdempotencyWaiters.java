@@ -0,0 +1,110 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wakes requests waiting on an in-progress {@code Idempotency-Key} when its owner stores a result or releases
+ * the key.
+ *
+ * <p>The owner's compare-and-set script publishes the Redis key on {@link #CHANNEL}; every node subscribes
+ * once and completes the futures registered for that key, so waiting duplicates block instead of polling.
+ */
+@Component
+class IdempotencyWaiters implements MessageListener, SmartLifecycle {
+
+  /** Pub/sub channel carrying the Redis keys of completed or released idempotency entries. */
+  static final String CHANNEL = "idem:done";
+
+  /** Start before the web server and stop after it, so requests draining on shutdown are still woken. */
+  private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+  private final RedisConnectionFactory connectionFactory;
+  private final IdempotencyProperties props;
+  private final Map<String, List<CompletableFuture<Void>>> waiting = new ConcurrentHashMap<>();
+
+  private volatile RedisMessageListenerContainer container;
+
+  IdempotencyWaiters(RedisConnectionFactory connectionFactory, IdempotencyProperties props) {
+    this.connectionFactory = connectionFactory;
+    this.props = props;
+  }
+
+  /**
+   * Registers interest in {@code redisKey}. Call before reading the key, so a completion between the read
+   * and the wait is not missed, and pass the future to {@link #forget} when done.
+   */
+  CompletableFuture<Void> register(String redisKey) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    waiting.compute(redisKey, (key, futures) -> {
+      List<CompletableFuture<Void>> list = futures == null ? new ArrayList<>(2) : futures;
+      list.add(done);
+      return list;
+    });
+    return done;
+  }
+
+  void forget(String redisKey, CompletableFuture<Void> done) {
+    waiting.computeIfPresent(redisKey, (key, futures) -> {
+      futures.remove(done);
+      return futures.isEmpty() ? null : futures;
+    });
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    List<CompletableFuture<Void>> futures = waiting.remove(new String(message.getBody(), StandardCharsets.UTF_8));
+    if (futures != null) {
+      futures.forEach(f -> f.complete(null));
+    }
+  }
+
+  @Override
+  public void start() {
+    if (!props.enabled() || container != null) {
+      return;
+    }
+    RedisMessageListenerContainer c = new RedisMessageListenerContainer();
+    c.setConnectionFactory(connectionFactory);
+    c.addMessageListener(this, new ChannelTopic(CHANNEL));
+    c.afterPropertiesSet();
+    c.start();
+    container = c;
+  }
+
+  @Override
+  public void stop() {
+    RedisMessageListenerContainer c = container;
+    if (c == null) {
+      return;
+    }
+    container = null;
+    try {
+      c.destroy();
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not stop the idempotency listener", e);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return container != null;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+}
@@ -0,0 +1,17 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose effect must happen at most once per {@code Idempotency-Key} header
+ * (per tenant). See {@link IdempotencyAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
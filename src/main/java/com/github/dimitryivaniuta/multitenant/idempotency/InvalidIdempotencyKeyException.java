@@ -0,0 +1,14 @@
+package com.github.dimitryivaniuta.multitenant.idempotency;
+
+/**
+ * Thrown when an {@code Idempotency-Key} header is blank or too long.
+ *
+ * <p>No stack trace: the header is checked by {@link IdempotencyAspect} before Redis or the handler is
+ * touched; the message names the limit that was broken.
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+  public InvalidIdempotencyKeyException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,46 @@
+package com.github.dimitryivaniuta.multitenant.isolation;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link TenantDataSourceRouter} over the configured dedicated tenants.
+ *
+ * <p>Owns the pools of {@link TenancyProperties.Mode#DATABASE} tenants. Like {@code ReadReplicaPools} it is
+ * deliberately not a {@code DataSource}, so the pools are not wrapped a second time by
+ * {@code TenantAwareDataSource}.
+ */
+public final class DedicatedTenantRouter implements TenantDataSourceRouter, TenantLocations, AutoCloseable {
+
+  private final Map<UUID, Target> targets;
+  private final List<HikariDataSource> pools;
+
+  DedicatedTenantRouter(Map<UUID, Target> targets, List<HikariDataSource> pools) {
+    this.targets = Map.copyOf(targets);
+    this.pools = List.copyOf(pools);
+  }
+
+  @Override
+  public Target route(UUID tenantId) {
+    return targets.get(tenantId);
+  }
+
+  @Override
+  public List<MigrationTarget> migrationTargets() {
+    return targets.values().stream()
+        .distinct()
+        .map(t -> new MigrationTarget(
+            t.dataSource() instanceof HikariDataSource pool ? pool.getPoolName() : "shared",
+            t.dataSource(),
+            t.schema()))
+        .toList();
+  }
+
+  @Override
+  public void close() {
+    pools.forEach(HikariDataSource::close);
+  }
+}
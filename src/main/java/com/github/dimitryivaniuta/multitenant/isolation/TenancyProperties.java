@@ -0,0 +1,72 @@
+package com.github.dimitryivaniuta.multitenant.isolation;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hybrid tenant isolation settings.
+ *
+ * <p>Tenants not listed in {@code dedicated} use the shared RLS tables.
+ *
+ * @param dedicated tenants with their own schema and/or database
+ */
+@ConfigurationProperties(prefix = "app.tenancy")
+public record TenancyProperties(
+    List<DedicatedTenant> dedicated
+) {
+
+  private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+  public TenancyProperties {
+    dedicated = dedicated == null ? List.of() : List.copyOf(dedicated);
+  }
+
+  /** Where a dedicated tenant's data lives. */
+  public enum Mode {
+    /** A schema in the shared database (selected via {@code search_path}). */
+    SCHEMA,
+    /** A separate database with its own connection pool. */
+    DATABASE
+  }
+
+  /**
+   * A tenant with dedicated resources.
+   *
+   * @param tenantId the tenant
+   * @param mode schema or database isolation
+   * @param schema schema name (lower case, unquoted); required for {@link Mode#SCHEMA}, optional for
+   *     {@link Mode#DATABASE} (defaults to the database's {@code public} schema)
+   * @param url JDBC url; required for {@link Mode#DATABASE}
+   * @param username defaults to {@code spring.datasource.username}
+   * @param password defaults to {@code spring.datasource.password}
+   * @param maximumPoolSize defaults to {@code spring.datasource.hikari.maximum-pool-size}
+   */
+  public record DedicatedTenant(
+      UUID tenantId,
+      Mode mode,
+      String schema,
+      String url,
+      String username,
+      String password,
+      Integer maximumPoolSize
+  ) {
+
+    public DedicatedTenant {
+      if (tenantId == null) {
+        throw new IllegalArgumentException("app.tenancy.dedicated[].tenant-id is required");
+      }
+      mode = mode == null ? Mode.SCHEMA : mode;
+      if (schema != null && !SCHEMA_NAME.matcher(schema).matches()) {
+        throw new IllegalArgumentException("Invalid schema name for tenant " + tenantId + ": " + schema);
+      }
+      if (mode == Mode.SCHEMA && schema == null) {
+        throw new IllegalArgumentException("Tenant " + tenantId + " uses SCHEMA isolation but has no schema");
+      }
+      if (mode == Mode.DATABASE && (url == null || url.isBlank())) {
+        throw new IllegalArgumentException("Tenant " + tenantId + " uses DATABASE isolation but has no url");
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.github.dimitryivaniuta.multitenant.isolation;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+
+/**
+ * Hybrid isolation: dedicated schema or database for designated tenants ({@code app.tenancy.dedicated}).
+ *
+ * <p>Routing happens inside {@code TenantAwareDataSource} through {@link DedicatedTenantRouter}, so
+ * repositories and services are unchanged: a dedicated tenant's transactions borrow from its own pool and/or
+ * run with its schema on {@code search_path}. RLS and {@code set_config('app.tenant_id', ...)} apply in every
+ * location.
+ *
+ * <p>Flyway migrates the shared schema first and then every {@link TenantLocations} target (dedicated
+ * locations, shards) with the same scripts and placeholders.
+ */
+@Configuration
+@EnableConfigurationProperties({TenancyProperties.class, DataSourceProperties.class})
+public class TenantIsolationConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(TenantIsolationConfig.class);
+
+  @Bean(destroyMethod = "close")
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public DedicatedTenantRouter dedicatedTenantRouter(
+      TenancyProperties props,
+      DataSourceProperties dataSourceProperties,
+      Environment environment
+  ) {
+    Binder binder = Binder.get(environment);
+    Map<String, HikariDataSource> poolsByUrl = new LinkedHashMap<>();
+    Map<UUID, TenantDataSourceRouter.Target> targets = new HashMap<>();
+
+    for (TenancyProperties.DedicatedTenant tenant : props.dedicated()) {
+      HikariDataSource pool = null;
+      if (tenant.mode() == TenancyProperties.Mode.DATABASE) {
+        String username = tenant.username() != null ? tenant.username() : dataSourceProperties.determineUsername();
+        pool = poolsByUrl.computeIfAbsent(tenant.url() + "|" + username, key -> {
+          HikariDataSource ds = new HikariDataSource();
+          binder.bind("spring.datasource.hikari", Bindable.ofInstance(ds));
+          ds.setPoolName("tenant-" + tenant.tenantId());
+          ds.setJdbcUrl(tenant.url());
+          ds.setUsername(username);
+          ds.setPassword(tenant.password() != null ? tenant.password() : dataSourceProperties.determinePassword());
+          if (tenant.maximumPoolSize() != null) {
+            ds.setMaximumPoolSize(tenant.maximumPoolSize());
+          }
+          return ds;
+        });
+      }
+      if (targets.put(tenant.tenantId(), new TenantDataSourceRouter.Target(pool, tenant.schema())) != null) {
+        throw new IllegalStateException("Tenant " + tenant.tenantId() + " is listed twice in app.tenancy.dedicated");
+      }
+    }
+    return new DedicatedTenantRouter(targets, new ArrayList<>(poolsByUrl.values()));
+  }
+
+  /** Migrates the default location, then every {@link TenantLocations} target (dedicated tenants, shards). */
+  @Bean
+  public FlywayMigrationStrategy tenantLocationsMigrationStrategy(ObjectProvider<TenantLocations> locations) {
+    return flyway -> {
+      flyway.migrate();
+      locations.orderedStream()
+          .flatMap(l -> l.migrationTargets().stream())
+          .distinct()
+          .forEach(target -> {
+            var config = Flyway.configure().configuration(flyway.getConfiguration());
+            if (target.dataSource() != null) {
+              config.dataSource(target.dataSource());
+            }
+            if (target.schema() != null) {
+              config.schemas(target.schema()).defaultSchema(target.schema());
+            }
+            log.info("Migrating tenant location {} (schema={})",
+                target.name(), target.schema() != null ? target.schema() : "default");
+            config.load().migrate();
+          });
+    };
+  }
+}
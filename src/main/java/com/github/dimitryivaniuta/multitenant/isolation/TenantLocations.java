@@ -0,0 +1,24 @@
+package com.github.dimitryivaniuta.multitenant.isolation;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Source of non-default tenant data locations (dedicated schemas/databases, shards) that need the
+ * application's Flyway migrations.
+ */
+public interface TenantLocations {
+
+  /** Distinct locations to migrate after the default one. */
+  List<MigrationTarget> migrationTargets();
+
+  /**
+   * A location to migrate.
+   *
+   * @param name label for logs
+   * @param dataSource pool of the location, or {@code null} for the default database
+   * @param schema schema of the location, or {@code null} for the default schema
+   */
+  record MigrationTarget(String name, DataSource dataSource, String schema) {
+  }
+}
@@ -1,28 +1,82 @@
 package com.github.dimitryivaniuta.multitenant.kafka;
 
+import com.github.dimitryivaniuta.multitenant.config.VirtualThreadConfig;
 import com.github.dimitryivaniuta.multitenant.domain.UserEntity;
+import com.github.dimitryivaniuta.multitenant.observability.MdcKeys;
+import com.github.dimitryivaniuta.multitenant.observability.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Kafka producer for tenant-scoped user events.
+ *
+ * <p>Inside a transaction the send is registered to run after commit, so a rolled-back create (duplicate
+ * email, RLS rejection) publishes nothing; without a transaction it is sent right away. In virtual-thread mode
+ * sends run on {@link VirtualThreadConfig#KAFKA_SEND_EXECUTOR}; otherwise they run on the committing thread.
+ *
+ * <p>The transaction has already committed when the send runs, so a failed send never fails the request: it is logged and counted in {@value #FAILED_METRIC}, tagged {@code reason=error} when Kafka rejects the record and
+ * {@code reason=rejected} when the send executor's queue is full and the event is dropped.
+ *
+ * <p>Records carry the headers {@value #TENANT_HEADER}, {@value #CORRELATION_HEADER} and W3C
+ * {@code traceparent} (the latter two from the current request's MDC, when present).
  */
 @Component
 public class UserEventsProducer {
 
   public static final String TOPIC = "user-events";
 
+  public static final String TENANT_HEADER = "tenantId";
+  public static final String CORRELATION_HEADER = "correlationId";
+
+  public static final String FAILED_METRIC = "kafka.user_events.send.failed";
+
+  private static final Logger log = LoggerFactory.getLogger(UserEventsProducer.class);
+
   private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final Executor sendExecutor;
+  private final Counter sendErrors;
+  private final Counter sendRejected;
+
+  @Autowired
+  public UserEventsProducer(
+      KafkaTemplate<String, Object> kafkaTemplate,
+      @Qualifier(VirtualThreadConfig.KAFKA_SEND_EXECUTOR) ObjectProvider<Executor> sendExecutor,
+      MeterRegistry meterRegistry
+  ) {
+    this(kafkaTemplate, sendExecutor.getIfAvailable(() -> Runnable::run), meterRegistry);
+  }
 
-  public UserEventsProducer(KafkaTemplate<String, Object> kafkaTemplate) {
+  UserEventsProducer(KafkaTemplate<String, Object> kafkaTemplate, Executor sendExecutor, MeterRegistry meterRegistry) {
     this.kafkaTemplate = kafkaTemplate;
+    this.sendExecutor = sendExecutor;
+    this.sendErrors = failedCounter("error", meterRegistry);
+    this.sendRejected = failedCounter("rejected", meterRegistry);
+  }
+
+  private static Counter failedCounter(String reason, MeterRegistry meterRegistry) {
+    return Counter.builder(FAILED_METRIC)
+        .description("User events that were not published")
+        .tag("reason", reason)
+        .register(meterRegistry);
   }
 
   /**
-   * Publishes a "user created" event.
+   * Publishes a "user created" event once the current transaction commits.
    */
   public void userCreated(UserEntity user) {
     UserCreatedEvent event = new UserCreatedEvent(
@@ -34,8 +88,54 @@ public class UserEventsProducer {
     );
 
     ProducerRecord<String, Object> record = new ProducerRecord<>(TOPIC, user.getId().toString(), event);
-    record.headers().add(new RecordHeader("tenantId", user.getTenantId().toString().getBytes(StandardCharsets.UTF_8)));
+    record.headers().add(new RecordHeader(TENANT_HEADER, user.getTenantId().toString().getBytes(StandardCharsets.UTF_8)));
+    addHeaderFromMdc(record, CORRELATION_HEADER, MdcKeys.CORRELATION_ID);
+    addHeaderFromMdc(record, TraceContext.HEADER, MdcKeys.TRACEPARENT);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          dispatch(record);
+        }
+      });
+    } else {
+      dispatch(record);
+    }
+  }
+
+  private void dispatch(ProducerRecord<String, Object> record) {
+    try {
+      sendExecutor.execute(() -> send(record));
+    } catch (RejectedExecutionException e) {
+      sendRejected.increment();
+      log.warn("Kafka send queue is full; dropped {} for user {}", TOPIC, record.key());
+    }
+  }
+
+  private void send(ProducerRecord<String, Object> record) {
+    try {
+      kafkaTemplate.send(record).whenComplete((result, ex) -> {
+        if (ex != null) {
+          failed(record, ex);
+        }
+      });
+    } catch (RuntimeException e) {
+      // KafkaProducer#send throws directly for, e.g., metadata timeouts and serialization errors.
+      failed(record, e);
+    }
+  }
+
+  private void failed(ProducerRecord<String, Object> record, Throwable cause) {
+    sendErrors.increment();
+    log.error("Could not publish {} for user {}", TOPIC, record.key(), cause);
+  }
 
-    kafkaTemplate.send(record);
+  /** Reads the MDC here, on the request thread, before the send is deferred to commit and {@link #sendExecutor}. */
+  private static void addHeaderFromMdc(ProducerRecord<String, Object> record, String header, String mdcKey) {
+    String value = MDC.get(mdcKey);
+    if (value != null) {
+      record.headers().add(new RecordHeader(header, value.getBytes(StandardCharsets.UTF_8)));
+    }
   }
 }
@@ -5,18 +5,24 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
 import org.slf4j.MDC;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Correlation id filter.
+ * Correlation id and trace context filter.
  *
- * <p>Reads {@code X-Correlation-Id} from the request (if present) or generates a new UUID.
- * The value is:
+ * <p>Reads {@code X-Correlation-Id} and the W3C {@code traceparent} from the request:
  * <ul>
- *   <li>put into MDC as {@link MdcKeys#CORRELATION_ID}</li>
+ *   <li>a valid {@code traceparent} is continued (same trace id, new span id); otherwise a new trace is
+ *   started</li>
+ *   <li>without {@code X-Correlation-Id} the correlation id is the trace id in UUID form; a new trace's id
+ *   is a {@link CorrelationIds UUIDv7}, so ids of fresh requests sort by time</li>
+ * </ul>
+ * The values are:
+ * <ul>
+ *   <li>put into MDC as {@link MdcKeys#CORRELATION_ID}, {@link MdcKeys#TRACE_ID} and
+ *   {@link MdcKeys#TRACEPARENT} (for outgoing calls, e.g. Kafka headers)</li>
  *   <li>returned in the response header {@code X-Correlation-Id}</li>
  * </ul>
  */
@@ -32,17 +38,25 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
       FilterChain filterChain
   ) throws ServletException, IOException {
 
+    TraceContext trace = TraceContext.childOf(request.getHeader(TraceContext.HEADER));
+    if (trace == null) {
+      trace = TraceContext.root(CorrelationIds.next());
+    }
     String correlationId = request.getHeader(HEADER);
     if (!StringUtils.hasText(correlationId)) {
-      correlationId = UUID.randomUUID().toString();
+      correlationId = trace.traceIdAsUuid().toString();
     }
 
     try {
       MDC.put(MdcKeys.CORRELATION_ID, correlationId);
+      MDC.put(MdcKeys.TRACE_ID, trace.traceId());
+      MDC.put(MdcKeys.TRACEPARENT, trace.toHeader());
       response.setHeader(HEADER, correlationId);
       filterChain.doFilter(request, response);
     } finally {
       MDC.remove(MdcKeys.CORRELATION_ID);
+      MDC.remove(MdcKeys.TRACE_ID);
+      MDC.remove(MdcKeys.TRACEPARENT);
     }
   }
 }
@@ -0,0 +1,20 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for tenant-aware DataSource instrumentation.
+ *
+ * @param slowTransactionThreshold transactions running longer than this are logged with their
+ *     correlation id
+ */
+@ConfigurationProperties(prefix = "app.metrics.datasource")
+public record DataSourceMetricsProperties(
+    Duration slowTransactionThreshold
+) {
+
+  public DataSourceMetricsProperties {
+    slowTransactionThreshold = slowTransactionThreshold == null ? Duration.ofMillis(500) : slowTransactionThreshold;
+  }
+}
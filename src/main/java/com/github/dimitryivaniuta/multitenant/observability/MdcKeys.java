@@ -8,6 +8,12 @@ public final class MdcKeys {
   /** Correlation id key. */
   public static final String CORRELATION_ID = "correlationId";
 
+  /** W3C trace id (32 hex chars) key. */
+  public static final String TRACE_ID = "traceId";
+
+  /** Outgoing W3C {@code traceparent} key: the trace id plus this service's span id. */
+  public static final String TRACEPARENT = "traceparent";
+
   /** Tenant id key. */
   public static final String TENANT_ID = "tenantId";
 
@@ -0,0 +1,108 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantAwareDataSource;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer instrumentation for {@link TenantAwareDataSource}.
+ *
+ * <p>Meters (tenant tag bounded by {@link TenantMetricTags}):
+ * <ul>
+ *   <li>{@code tenant.datasource.set_config} – latency of applying {@code app.tenant_id}</li>
+ *   <li>{@code tenant.datasource.connection.hold} – time a connection is borrowed from the pool</li>
+ *   <li>{@code tenant.datasource.transactions} – transaction duration, tag {@code outcome}
+ *   ({@code committed}/{@code rolled_back})</li>
+ *   <li>{@code tenant.datasource.transactions.untenanted} – transactions started without a tenant
+ *   (Flyway, background jobs, or a missing context)</li>
+ * </ul>
+ *
+ * <p>These callbacks run on every borrow, release and transaction, so each meter is registered once per tag
+ * value through {@link TenantMetricTags#meters} and reused.
+ *
+ * <p>Transactions slower than {@code app.metrics.datasource.slow-transaction-threshold} are logged at
+ * WARN with tenant and correlation id.
+ */
+@Component
+@EnableConfigurationProperties(DataSourceMetricsProperties.class)
+public class TenantDataSourceMetrics implements TenantDataSourceObserver {
+
+  private static final Logger log = LoggerFactory.getLogger(TenantDataSourceMetrics.class);
+
+  private static final String SET_CONFIG = "tenant.datasource.set_config";
+  private static final String CONNECTION_HOLD = "tenant.datasource.connection.hold";
+  private static final String TRANSACTIONS = "tenant.datasource.transactions";
+  private static final String COMMITTED = "committed";
+  private static final String ROLLED_BACK = "rolled_back";
+
+  private final long slowTransactionNanos;
+  private final Counter untenanted;
+  private final TenantMeters<Timer> setConfig;
+  private final TenantMeters<Timer> connectionHold;
+  private final TenantMeters<Timer> committedTransactions;
+  private final TenantMeters<Timer> rolledBackTransactions;
+
+  public TenantDataSourceMetrics(
+      MeterRegistry meterRegistry,
+      TenantMetricTags tenantTags,
+      DataSourceMetricsProperties props
+  ) {
+    this.slowTransactionNanos = props.slowTransactionThreshold().toNanos();
+    this.untenanted = Counter.builder("tenant.datasource.transactions.untenanted")
+        .description("JDBC transactions started without a tenant context")
+        .register(meterRegistry);
+    this.setConfig = tenantTags.meters(tag -> Timer.builder(SET_CONFIG)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry));
+    this.connectionHold = tenantTags.meters(tag -> Timer.builder(CONNECTION_HOLD)
+        .tag(TenantMetricTags.TAG, tag)
+        .register(meterRegistry));
+    this.committedTransactions = transactions(COMMITTED, meterRegistry, tenantTags);
+    this.rolledBackTransactions = transactions(ROLLED_BACK, meterRegistry, tenantTags);
+  }
+
+  private static TenantMeters<Timer> transactions(String outcome, MeterRegistry meterRegistry,
+      TenantMetricTags tenantTags) {
+    return tenantTags.meters(tag -> Timer.builder(TRANSACTIONS)
+        .tag(TenantMetricTags.TAG, tag)
+        .tag("outcome", outcome)
+        .register(meterRegistry));
+  }
+
+  @Override
+  public void tenantApplied(UUID tenantId, long nanos) {
+    setConfig.get(tenantId).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void transactionStarted(UUID tenantId) {
+    if (tenantId == null) {
+      untenanted.increment();
+    }
+  }
+
+  @Override
+  public void transactionCompleted(UUID tenantId, boolean committed, boolean readOnly, long nanos) {
+    (committed ? committedTransactions : rolledBackTransactions).get(tenantId).record(nanos, TimeUnit.NANOSECONDS);
+
+    if (nanos > slowTransactionNanos) {
+      log.warn("Slow transaction: {} ms, outcome={}, tenant={}, correlationId={}",
+          TimeUnit.NANOSECONDS.toMillis(nanos), committed ? COMMITTED : ROLLED_BACK, tenantId,
+          MDC.get(MdcKeys.CORRELATION_ID));
+    }
+  }
+
+  @Override
+  public void connectionReleased(UUID tenantId, long nanos) {
+    connectionHold.get(tenantId).record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
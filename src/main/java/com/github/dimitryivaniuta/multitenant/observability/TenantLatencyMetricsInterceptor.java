@@ -0,0 +1,106 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records {@value #METRIC} – a per-endpoint, per-tenant latency timer with a percentile histogram.
+ *
+ * <p>Tags: {@code endpoint} ({@code Controller.method}), {@code outcome} and {@code tenant}
+ * (resolved through {@link TenantMetricTags}, so only the top-K tenants get their own series).
+ *
+ * <p>The tenant's traffic is counted when the request starts; its tag is resolved when the latency is
+ * recorded. Timers are registered once per endpoint, outcome and tag value and then reused.
+ */
+public class TenantLatencyMetricsInterceptor implements HandlerInterceptor {
+
+  /** Timer name. */
+  public static final String METRIC = "tenant.api.requests";
+
+  private static final String START_ATTR = TenantLatencyMetricsInterceptor.class.getName() + ".start";
+  private static final String TENANT_ATTR = TenantLatencyMetricsInterceptor.class.getName() + ".tenant";
+
+  private final MeterRegistry meterRegistry;
+  private final TenantMetricTags tenantTags;
+  private final Map<Method, EndpointTimers> timers = new ConcurrentHashMap<>();
+
+  public TenantLatencyMetricsInterceptor(MeterRegistry meterRegistry, TenantMetricTags tenantTags) {
+    this.meterRegistry = meterRegistry;
+    this.tenantTags = tenantTags;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod) {
+      UUID tenantId = TenantContext.getTenantId().orElse(null);
+      tenantTags.tag(tenantId);
+      request.setAttribute(START_ATTR, System.nanoTime());
+      if (tenantId != null) {
+        request.setAttribute(TENANT_ATTR, tenantId);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (!(handler instanceof HandlerMethod hm) || !(request.getAttribute(START_ATTR) instanceof Long start)) {
+      return;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    UUID tenantId = (UUID) request.getAttribute(TENANT_ATTR);
+    timers.computeIfAbsent(hm.getMethod(), m -> new EndpointTimers(endpoint(hm)))
+        .of(response.getStatus())
+        .get(tenantId)
+        .record(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  private static String endpoint(HandlerMethod hm) {
+    return hm.getBeanType().getSimpleName() + "." + hm.getMethod().getName();
+  }
+
+  private TenantMeters<Timer> endpointTimers(String endpoint, String outcome) {
+    return tenantTags.meters(tag -> Timer.builder(METRIC)
+        .description("Latency of API endpoints per tenant (top-K tenants, others as 'other')")
+        .tag("endpoint", endpoint)
+        .tag("outcome", outcome)
+        .tag(TenantMetricTags.TAG, tag)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(meterRegistry));
+  }
+
+  /** The timers of one endpoint, per outcome. */
+  private final class EndpointTimers {
+
+    private final TenantMeters<Timer> success;
+    private final TenantMeters<Timer> clientError;
+    private final TenantMeters<Timer> serverError;
+
+    private EndpointTimers(String endpoint) {
+      this.success = endpointTimers(endpoint, "SUCCESS");
+      this.clientError = endpointTimers(endpoint, "CLIENT_ERROR");
+      this.serverError = endpointTimers(endpoint, "SERVER_ERROR");
+    }
+
+    private TenantMeters<Timer> of(int status) {
+      if (status >= 500) {
+        return serverError;
+      }
+      return status >= 400 ? clientError : success;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One tenant-tagged meter per tag value, registered once and then served from memory.
+ *
+ * <p>The tag is resolved when the meter is needed, not earlier in the request, so a tenant demoted in between
+ * is recorded as {@value TenantMetricTags#OTHER}. The cache is dropped whenever
+ * {@link TenantMetricTags#generation()} changes. A tenant demoted while its meter is being registered may
+ * already have been swept; the new registration is then removed again, so a demoted tenant never keeps a series.
+ *
+ * @param <M> meter type
+ */
+public final class TenantMeters<M extends Meter> {
+
+  private final TenantMetricTags tags;
+  private final MeterRegistry meterRegistry;
+  private final Function<String, M> registrar;
+  private final Map<UUID, M> tagged = new ConcurrentHashMap<>();
+  private volatile long generation;
+  private volatile M other;
+
+  /**
+   * @param registrar registers (or looks up) the meter for a tag value; called once per tag value and
+   *     generation
+   */
+  TenantMeters(TenantMetricTags tags, MeterRegistry meterRegistry, Function<String, M> registrar) {
+    this.tags = tags;
+    this.meterRegistry = meterRegistry;
+    this.registrar = registrar;
+    this.generation = tags.generation();
+  }
+
+  /** The meter for {@code tenantId}'s current tag value; {@code null} means no tenant. */
+  public M get(UUID tenantId) {
+    if (!tags.isTagged(tenantId)) {
+      M m = other;
+      if (m == null) {
+        // registration is idempotent, so a racing thread gets the same meter
+        m = registrar.apply(TenantMetricTags.OTHER);
+        other = m;
+      }
+      return m;
+    }
+
+    long current = tags.generation();
+    if (current != generation) {
+      tagged.clear();
+      generation = current;
+    }
+    M meter = tagged.get(tenantId);
+    if (meter != null) {
+      return meter;
+    }
+    meter = registrar.apply(tenantId.toString());
+    if (!tags.isTagged(tenantId)) {
+      meterRegistry.remove(meter);
+      return meter;
+    }
+    tagged.put(tenantId, meter);
+    return meter;
+  }
+}
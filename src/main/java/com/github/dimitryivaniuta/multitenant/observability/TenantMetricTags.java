@@ -0,0 +1,182 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the {@code tenant} tag value for tenant-scoped metrics.
+ *
+ * <p>Only the top-K tenants by traffic get their own tag value; every other tenant is reported as
+ * {@value #OTHER}. Traffic is counted per window ({@code app.metrics.tenant-tags.refresh-interval}); at
+ * the end of a window the top-K set is recomputed and all meters of tenants that dropped out are removed
+ * from the registry, so the number of distinct tenant tag values never exceeds K.
+ *
+ * <p>While the set has free slots (e.g. right after startup) new tenants are promoted immediately.
+ *
+ * <p>Meters recorded per call should come from {@link #meters(Function)}: building and registering a meter on
+ * every call costs a registry lookup, and a meter registered under a tag resolved before a refresh would
+ * bring back a series the refresh just removed.
+ */
+@Component
+@EnableConfigurationProperties(TenantMetricsProperties.class)
+public class TenantMetricTags {
+
+  /** Tag key used by all tenant-scoped meters. */
+  public static final String TAG = "tenant";
+
+  /** Tag value for tenants outside the top-K. */
+  public static final String OTHER = "other";
+
+  private final TenantMetricsProperties props;
+  private final MeterRegistry meterRegistry;
+  private final long refreshIntervalNanos;
+
+  private final Map<UUID, LongAdder> window = new ConcurrentHashMap<>();
+  private final AtomicLong nextRefreshNanos;
+  private final AtomicLong generation = new AtomicLong();
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Set<UUID> top = Set.of();
+
+  public TenantMetricTags(TenantMetricsProperties props, MeterRegistry meterRegistry) {
+    this.props = props;
+    this.meterRegistry = meterRegistry;
+    this.refreshIntervalNanos = props.refreshInterval().toNanos();
+    this.nextRefreshNanos = new AtomicLong(System.nanoTime() + refreshIntervalNanos);
+  }
+
+  /**
+   * Counts one unit of traffic for the tenant and returns its tag value.
+   */
+  public String tag(UUID tenantId) {
+    if (tenantId == null) {
+      return OTHER;
+    }
+    count(tenantId);
+    maybeRefresh();
+
+    Set<UUID> current = top;
+    if (current.contains(tenantId)) {
+      return tenantId.toString();
+    }
+    if (current.size() < props.topK() && promote(tenantId)) {
+      return tenantId.toString();
+    }
+    return OTHER;
+  }
+
+  /**
+   * Returns the tag value without counting traffic (for meters updated more than once per request).
+   */
+  public String tagOf(UUID tenantId) {
+    return tenantId != null && top.contains(tenantId) ? tenantId.toString() : OTHER;
+  }
+
+  /** Returns {@code true} if the tenant currently has its own tag value. */
+  public boolean isTagged(UUID tenantId) {
+    return tenantId != null && top.contains(tenantId);
+  }
+
+  /**
+   * Returns a cache of the meters {@code registrar} registers per tag value, which keeps the top-K bound.
+   *
+   * @param registrar registers the meter for the given {@value #TAG} tag value
+   */
+  public <M extends Meter> TenantMeters<M> meters(Function<String, M> registrar) {
+    return new TenantMeters<>(this, meterRegistry, registrar);
+  }
+
+  /**
+   * Incremented whenever tenants are demoted and their meters removed; callers that cache
+   * registered meters re-register when it changes.
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  private void count(UUID tenantId) {
+    LongAdder adder = window.get(tenantId);
+    if (adder == null) {
+      if (window.size() >= props.maxTracked()) {
+        return;
+      }
+      adder = window.computeIfAbsent(tenantId, k -> new LongAdder());
+    }
+    adder.increment();
+  }
+
+  private boolean promote(UUID tenantId) {
+    lock.lock();
+    try {
+      Set<UUID> current = top;
+      if (current.contains(tenantId)) {
+        return true;
+      }
+      if (current.size() >= props.topK()) {
+        return false;
+      }
+      Set<UUID> next = new HashSet<>(current);
+      next.add(tenantId);
+      top = Set.copyOf(next);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void maybeRefresh() {
+    long now = System.nanoTime();
+    long next = nextRefreshNanos.get();
+    if (now - next < 0 || !nextRefreshNanos.compareAndSet(next, now + refreshIntervalNanos)) {
+      return;
+    }
+    refresh();
+  }
+
+  private void refresh() {
+    Map<UUID, Long> counts = new HashMap<>();
+    window.forEach((tenant, adder) -> counts.put(tenant, adder.sum()));
+    window.clear();
+
+    Set<UUID> newTop = counts.entrySet().stream()
+        .sorted(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()))
+        .limit(props.topK())
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toUnmodifiableSet());
+
+    Set<String> demoted;
+    lock.lock();
+    try {
+      demoted = top.stream()
+          .filter(t -> !newTop.contains(t))
+          .map(UUID::toString)
+          .collect(Collectors.toSet());
+      top = newTop;
+    } finally {
+      lock.unlock();
+    }
+
+    if (!demoted.isEmpty()) {
+      for (Meter meter : meterRegistry.getMeters()) {
+        String tenant = meter.getId().getTag(TAG);
+        if (tenant != null && demoted.contains(tenant)) {
+          meterRegistry.remove(meter);
+        }
+      }
+      generation.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cardinality guard for tenant-tagged metrics.
+ *
+ * @param topK number of tenants (by traffic) that get their own {@code tenant} tag value
+ * @param refreshInterval traffic window after which the top-K set is recomputed
+ * @param maxTracked upper bound on tenants counted per window (bounds memory, not just meters)
+ */
+@ConfigurationProperties(prefix = "app.metrics.tenant-tags")
+public record TenantMetricsProperties(
+    Integer topK,
+    Duration refreshInterval,
+    Integer maxTracked
+) {
+
+  public TenantMetricsProperties {
+    topK = topK == null ? 50 : topK;
+    refreshInterval = refreshInterval == null ? Duration.ofMinutes(1) : refreshInterval;
+    maxTracked = maxTracked == null ? 10_000 : maxTracked;
+
+    if (topK < 0 || maxTracked < topK) {
+      throw new IllegalArgumentException("app.metrics.tenant-tags must satisfy 0 <= topK <= maxTracked");
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C Trace Context ({@code traceparent}) of the current request.
+ *
+ * <p>The service does not record spans itself. It keeps the caller's trace id, takes a new span id for its
+ * own work and passes both on (e.g. as a Kafka record header), so a tracing backend can stitch the calls
+ * together. Without an incoming {@code traceparent} a new trace is started.
+ *
+ * @param traceId 32 lowercase hex chars, not all zero
+ * @param spanId  16 lowercase hex chars, not all zero; the id of this service's span
+ * @param flags   2 lowercase hex chars ({@code 01} = sampled)
+ */
+public record TraceContext(String traceId, String spanId, String flags) {
+
+  /** HTTP / Kafka header name. */
+  public static final String HEADER = "traceparent";
+
+  private static final HexFormat HEX = HexFormat.of();
+  private static final String INVALID_TRACE_ID = "0".repeat(32);
+  private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+  /**
+   * Parses a {@code traceparent} header and returns a child context: same trace id and flags, new span id.
+   *
+   * @return {@code null} if {@code header} is absent or malformed; callers then start a new trace
+   */
+  public static TraceContext childOf(String header) {
+    // version 00 is exactly 55 chars; later versions may append fields after another '-'
+    if (header == null || header.length() < 55 || (header.length() > 55 && header.charAt(55) != '-')) {
+      return null;
+    }
+    String version = header.substring(0, 2);
+    String traceId = header.substring(3, 35);
+    String parentId = header.substring(36, 52);
+    String flags = header.substring(53, 55);
+    if (header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-'
+        || !isHex(version) || version.equals("ff") || (version.equals("00") && header.length() != 55)
+        || !isHex(traceId) || traceId.equals(INVALID_TRACE_ID)
+        || !isHex(parentId) || parentId.equals(INVALID_SPAN_ID)
+        || !isHex(flags)) {
+      return null;
+    }
+    return new TraceContext(traceId, newSpanId(), flags);
+  }
+
+  /** Starts a new, sampled trace whose id is the 128 bits of {@code correlationId}. */
+  public static TraceContext root(UUID correlationId) {
+    String traceId = HEX.toHexDigits(correlationId.getMostSignificantBits())
+        + HEX.toHexDigits(correlationId.getLeastSignificantBits());
+    return new TraceContext(traceId, newSpanId(), "01");
+  }
+
+  /** The trace id as a UUID, used as correlation id when the caller sent none. */
+  public UUID traceIdAsUuid() {
+    return new UUID(HexFormat.fromHexDigitsToLong(traceId, 0, 16), HexFormat.fromHexDigitsToLong(traceId, 16, 32));
+  }
+
+  /** {@code traceparent} value announcing this service's span as the parent. */
+  public String toHeader() {
+    return "00-" + traceId + "-" + spanId + "-" + flags;
+  }
+
+  private static String newSpanId() {
+    long id;
+    do {
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0);
+    return HEX.toHexDigits(id);
+  }
+
+  private static boolean isHex(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -1,14 +1,108 @@
 package com.github.dimitryivaniuta.multitenant.repo;
 
 import com.github.dimitryivaniuta.multitenant.domain.UserEntity;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * User repository.
  *
- * <p>Note: methods here do not explicitly filter by tenant. PostgreSQL RLS enforces
- * tenant isolation for all queries.
+ * <p>Note: methods here do not filter by tenant themselves. Hibernate adds {@code tenant_id = ?} from
+ * {@code UserEntity}'s {@code @TenantId}, and PostgreSQL RLS enforces tenant isolation for all queries.
  */
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
+
+  /**
+   * Finds the user with {@code email} in the current tenant.
+   *
+   * <p>Together with the {@code tenant_id} predicate this is a single lookup on {@code ux_users_tenant_email}.
+   */
+  Optional<UserEntity> findByEmail(String email);
+
+  /**
+   * Keyset page of {@code tenantId}'s users matching {@code term}, best match first.
+   *
+   * <p>A user matches when its email or full name contains {@code term} (case-insensitive {@code LIKE} on
+   * {@code pattern}, {@code !} as escape character) or is fuzzily similar to it: {@code term <% column}, i.e.
+   * {@code word_similarity(term, column)} reaches {@code pg_trgm.word_similarity_threshold} (0.6 unless
+   * configured on the database or role). Matches are ranked by the higher of the two word similarities, then
+   * by email; the page starts after ({@code afterScore}, {@code afterEmail}) in that order (use a score above
+   * 1 for the first page).
+   *
+   * <p>Native because JPQL has no trigram operators; the explicit {@code tenant_id} predicate selects the
+   * tenant's partition and leads the {@code (tenant_id, column gin_trgm_ops)} indexes. Email is unique per
+   * tenant, so (score, email) is a stable keyset cursor.
+   */
+  @Query(value = """
+      select id, tenant_id as tenantId, email, full_name as fullName, created_at as createdAt, version, score
+      from (
+        select u.*, greatest(word_similarity(:term, u.email), word_similarity(:term, u.full_name)) as score
+        from users u
+        where u.tenant_id = :tenantId
+          and (u.email ilike :pattern escape '!' or u.full_name ilike :pattern escape '!'
+               or :term <% u.email or :term <% u.full_name)
+      ) m
+      where m.score < :afterScore or (m.score = :afterScore and m.email > :afterEmail)
+      order by m.score desc, m.email
+      limit :limit
+      """, nativeQuery = true)
+  List<SearchHit> search(UUID tenantId, String term, String pattern, float afterScore, String afterEmail, int limit);
+
+  /** Row returned by {@link #search}; {@code score} is the word similarity the page is ranked by. */
+  interface SearchHit {
+
+    UUID getId();
+
+    UUID getTenantId();
+
+    String getEmail();
+
+    String getFullName();
+
+    Instant getCreatedAt();
+
+    long getVersion();
+
+    float getScore();
+  }
+
+  /**
+   * Number of users in {@code tenantId}, read from the trigger-maintained {@code tenant_user_stats}
+   * stripes (at most 16 rows) instead of counting {@code users}.
+   */
+  @Query(value = "select coalesce(sum(user_count), 0) from tenant_user_stats where tenant_id = :tenantId",
+      nativeQuery = true)
+  long countFromStats(UUID tenantId);
+
+  /**
+   * Change generation of {@code tenantId}'s users: the sum of the {@code tenant_user_stats} stripe
+   * generations, which every committed insert, update or delete increases.
+   */
+  @Query(value = "select coalesce(sum(generation), 0) from tenant_user_stats where tenant_id = :tenantId",
+      nativeQuery = true)
+  long generationFromStats(UUID tenantId);
+
+  /**
+   * Deletes the users of {@code tenantId} among {@code ids} in one statement and returns what was removed.
+   *
+   * <p>Native because JPQL has no {@code RETURNING}; the explicit {@code tenant_id} predicate keeps the
+   * delete on a single partition. Bypasses the persistence context, so callers must not hold these users
+   * as managed entities.
+   */
+  @Query(value = "delete from users where tenant_id = :tenantId and id in (:ids) returning id, email",
+      nativeQuery = true)
+  List<DeletedUser> deleteReturning(UUID tenantId, Collection<UUID> ids);
+
+  /** Row returned by {@link #deleteReturning(UUID, Collection)}. */
+  interface DeletedUser {
+
+    UUID getId();
+
+    String getEmail();
+  }
 }
@@ -0,0 +1,104 @@
+package com.github.dimitryivaniuta.multitenant.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Routes read-only transactions to replicas ({@code app.datasource.read-replicas.enabled=true}).
+ *
+ * <p>Resulting chain for the application {@code DataSource}:
+ * <pre>
+ * TenantAwareDataSource (set_config per transaction, added by the bean post-processor)
+ *   -&gt; LazyConnectionDataSourceProxy (defers the physical connection until read-only is known)
+ *        -&gt; primary Hikari pool                   (read-write transactions)
+ *        -&gt; ReplicaRoutingDataSource (read-only)  -&gt; replica Hikari pools, or primary on fallback
+ * </pre>
+ *
+ * <p>{@code @Transactional(readOnly = true)} marks the connection read-only before the transaction
+ * begins, so the lazy proxy picks the replica before {@code set_config} runs on it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ReadReplicaProperties.class, DataSourceProperties.class})
+public class ReadReplicaConfig {
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties props) {
+    return new ReadYourWritesTracker(props.stickyWindow());
+  }
+
+  @Bean(destroyMethod = "close")
+  ReadReplicaPools readReplicaPools(
+      DataSourceProperties dataSourceProperties,
+      ReadReplicaProperties props,
+      ReadYourWritesTracker tracker,
+      Environment environment,
+      MeterRegistry meterRegistry
+  ) {
+    if (props.replicas().isEmpty()) {
+      throw new IllegalStateException("app.datasource.read-replicas.enabled=true but no replicas are configured");
+    }
+    Binder binder = Binder.get(environment);
+
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+    primary.setPoolName("primary");
+
+    List<HikariDataSource> pools = new ArrayList<>();
+    List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+    for (int i = 0; i < props.replicas().size(); i++) {
+      ReadReplicaProperties.Replica cfg = props.replicas().get(i);
+      String name = cfg.name() != null ? cfg.name() : "replica-" + i;
+
+      HikariDataSource pool = new HikariDataSource();
+      binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+      pool.setPoolName(name);
+      pool.setJdbcUrl(cfg.url());
+      pool.setUsername(cfg.username() != null ? cfg.username() : dataSourceProperties.determineUsername());
+      pool.setPassword(cfg.password() != null ? cfg.password() : dataSourceProperties.determinePassword());
+      if (cfg.maximumPoolSize() != null) {
+        pool.setMaximumPoolSize(cfg.maximumPoolSize());
+      }
+      pools.add(pool);
+      replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+    }
+
+    ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+        primary, replicas, tracker, props.maxLag().toMillis() / 1000d);
+
+    for (ReplicaRoutingDataSource.Replica replica : replicas) {
+      Gauge.builder("datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::lagSeconds)
+          .description("Replay lag of a read replica in seconds")
+          .baseUnit("seconds")
+          .tag("replica", replica.name())
+          .register(meterRegistry);
+      Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy() ? 1 : 0)
+          .tag("replica", replica.name())
+          .register(meterRegistry);
+    }
+
+    return new ReadReplicaPools(primary, pools, router, props.checkInterval());
+  }
+
+  @Bean
+  public DataSource dataSource(ReadReplicaPools pools) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(pools.primary());
+    proxy.setReadOnlyDataSource(pools.router());
+    return proxy;
+  }
+}
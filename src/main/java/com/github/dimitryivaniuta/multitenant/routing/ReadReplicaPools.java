@@ -0,0 +1,55 @@
+package com.github.dimitryivaniuta.multitenant.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the primary and replica Hikari pools and the lag monitor.
+ *
+ * <p>Deliberately not a {@code DataSource}: every {@code DataSource} bean is wrapped with
+ * {@code TenantAwareDataSource}, and only the routed top-level one should be.
+ */
+final class ReadReplicaPools implements AutoCloseable {
+
+  private final HikariDataSource primary;
+  private final List<HikariDataSource> replicaPools;
+  private final ReplicaRoutingDataSource router;
+  private final ScheduledExecutorService monitor;
+
+  ReadReplicaPools(
+      HikariDataSource primary,
+      List<HikariDataSource> replicaPools,
+      ReplicaRoutingDataSource router,
+      Duration checkInterval
+  ) {
+    this.primary = primary;
+    this.replicaPools = List.copyOf(replicaPools);
+    this.router = router;
+    this.monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "replica-lag-monitor");
+      t.setDaemon(true);
+      return t;
+    });
+    long periodMs = checkInterval.toMillis();
+    monitor.scheduleWithFixedDelay(router::checkLag, 0L, periodMs, TimeUnit.MILLISECONDS);
+  }
+
+  HikariDataSource primary() {
+    return primary;
+  }
+
+  ReplicaRoutingDataSource router() {
+    return router;
+  }
+
+  @Override
+  public void close() {
+    monitor.shutdownNow();
+    replicaPools.forEach(HikariDataSource::close);
+    primary.close();
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.dimitryivaniuta.multitenant.routing;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read-replica routing settings.
+ *
+ * @param enabled whether read-only transactions are routed to replicas
+ * @param replicas replica connection settings; each gets its own Hikari pool
+ * @param stickyWindow after a tenant commits a write, its reads stay on the primary this long
+ *     (read-your-writes)
+ * @param maxLag replicas whose replay lag exceeds this are skipped
+ * @param checkInterval how often replica lag is measured
+ */
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public record ReadReplicaProperties(
+    Boolean enabled,
+    List<Replica> replicas,
+    Duration stickyWindow,
+    Duration maxLag,
+    Duration checkInterval
+) {
+
+  public ReadReplicaProperties {
+    enabled = enabled != null && enabled;
+    replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    stickyWindow = stickyWindow == null ? Duration.ofSeconds(5) : stickyWindow;
+    maxLag = maxLag == null ? Duration.ofSeconds(2) : maxLag;
+    checkInterval = checkInterval == null ? Duration.ofSeconds(1) : checkInterval;
+  }
+
+  /**
+   * A single replica.
+   *
+   * @param name label used in logs and metrics
+   * @param url JDBC url
+   * @param username defaults to {@code spring.datasource.username}
+   * @param password defaults to {@code spring.datasource.password}
+   * @param maximumPoolSize defaults to {@code spring.datasource.hikari.maximum-pool-size}
+   */
+  public record Replica(
+      String name,
+      String url,
+      String username,
+      String password,
+      Integer maximumPoolSize
+  ) {
+  }
+}
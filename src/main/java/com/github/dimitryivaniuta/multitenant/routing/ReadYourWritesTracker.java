@@ -0,0 +1,49 @@
+package com.github.dimitryivaniuta.multitenant.routing;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceObserver;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each tenant last committed a write, so its reads can stay on the primary until
+ * replicas have caught up.
+ *
+ * <p>Fed by {@link com.github.dimitryivaniuta.multitenant.tenant.TenantAwareDataSource} through
+ * {@link TenantDataSourceObserver}: every committed, non-read-only transaction marks the tenant.
+ * Stickiness is per node; expired entries are pruned once the map grows large.
+ */
+public class ReadYourWritesTracker implements TenantDataSourceObserver {
+
+  private static final int PRUNE_THRESHOLD = 10_000;
+
+  private final long windowNanos;
+  private final Map<UUID, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Duration window) {
+    this.windowNanos = window.toNanos();
+  }
+
+  @Override
+  public void transactionCompleted(UUID tenantId, boolean committed, boolean readOnly, long nanos) {
+    if (committed && !readOnly && tenantId != null) {
+      markWrite(tenantId);
+    }
+  }
+
+  /** Records a committed write for the tenant. */
+  public void markWrite(UUID tenantId) {
+    lastWriteNanos.put(tenantId, System.nanoTime());
+    if (lastWriteNanos.size() > PRUNE_THRESHOLD) {
+      long now = System.nanoTime();
+      lastWriteNanos.values().removeIf(t -> now - t >= windowNanos);
+    }
+  }
+
+  /** Returns {@code true} if the tenant committed a write within the sticky window. */
+  public boolean recentlyWrote(UUID tenantId) {
+    Long last = lastWriteNanos.get(tenantId);
+    return last != null && System.nanoTime() - last < windowNanos;
+  }
+}
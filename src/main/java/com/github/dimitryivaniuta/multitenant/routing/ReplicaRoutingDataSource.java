@@ -0,0 +1,151 @@
+package com.github.dimitryivaniuta.multitenant.routing;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read-only target for {@code LazyConnectionDataSourceProxy}: picks a replica for read-only transactions.
+ *
+ * <p>Falls back to the primary when the current tenant wrote recently (read-your-writes), when no replica
+ * is within the lag budget, or when a replica refuses a connection. Replicas are chosen round-robin.
+ *
+ * <p>Sits below {@code TenantAwareDataSource}, so replica connections get the same
+ * {@code set_config('app.tenant_id', ...)} as primary connections.
+ */
+public final class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  /**
+   * Replay lag in seconds; 0 when everything received has been replayed (an idle primary would
+   * otherwise look like growing lag).
+   */
+  private static final String LAG_SQL = """
+      select case
+               when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+               else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+             end
+      """;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final ReadYourWritesTracker tracker;
+  private final double maxLagSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<Replica> replicas,
+      ReadYourWritesTracker tracker,
+      double maxLagSeconds
+  ) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.tracker = tracker;
+    this.maxLagSeconds = maxLagSeconds;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return route(DataSource::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return route(ds -> ds.getConnection(username, password));
+  }
+
+  private Connection route(Connector connector) throws SQLException {
+    UUID tenantId = TenantContext.getTenantId().orElse(null);
+    if (tenantId != null && tracker.recentlyWrote(tenantId)) {
+      return connector.connect(primary);
+    }
+
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (!replica.healthy) {
+        continue;
+      }
+      try {
+        return connector.connect(replica.dataSource);
+      } catch (SQLException e) {
+        replica.healthy = false;
+        log.warn("Replica {} unavailable, routing reads elsewhere: {}", replica.name, e.getMessage());
+      }
+    }
+    return connector.connect(primary);
+  }
+
+  @FunctionalInterface
+  private interface Connector {
+    Connection connect(DataSource dataSource) throws SQLException;
+  }
+
+  /** Replicas with their current health; exposed for metrics. */
+  public List<Replica> replicas() {
+    return replicas;
+  }
+
+  /**
+   * Measures replay lag on every replica and marks those over the budget (or unreachable) unhealthy.
+   */
+  public void checkLag() {
+    for (Replica replica : replicas) {
+      try (Connection con = replica.dataSource.getConnection();
+           Statement st = con.createStatement();
+           ResultSet rs = st.executeQuery(LAG_SQL)) {
+        rs.next();
+        replica.lagSeconds = rs.getDouble(1);
+        boolean healthy = replica.lagSeconds <= maxLagSeconds;
+        if (healthy != replica.healthy) {
+          log.info("Replica {} is now {} (lag {}s)", replica.name, healthy ? "in rotation" : "skipped",
+              replica.lagSeconds);
+        }
+        replica.healthy = healthy;
+      } catch (SQLException e) {
+        replica.lagSeconds = Double.NaN;
+        replica.healthy = false;
+      }
+    }
+  }
+
+  /**
+   * A replica pool and its last observed state.
+   */
+  public static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+    private volatile double lagSeconds;
+
+    public Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public boolean healthy() {
+      return healthy;
+    }
+
+    public double lagSeconds() {
+      return lagSeconds;
+    }
+  }
+}
@@ -42,6 +42,12 @@ public class SecurityConfig {
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(authz -> authz
             .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+            // Cross-tenant operational data: operator tokens only. Metrics carry tenant ids and per-tenant
+            // traffic, so the scraper authenticates too (bearer token with scope ops:read).
+            .requestMatchers("/actuator/prometheus").hasAuthority("SCOPE_ops:read")
+            .requestMatchers("/actuator/tenantcache/**").hasAuthority("SCOPE_ops:read")
+            .requestMatchers(HttpMethod.GET, "/actuator/tenantshards/**").hasAuthority("SCOPE_ops:read")
+            .requestMatchers("/actuator/tenantshards/**").hasAuthority("SCOPE_ops:write")
             .requestMatchers(HttpMethod.GET, "/").permitAll()
             .requestMatchers("/.well-known/jwks.json").permitAll()
             .requestMatchers("/api/**").authenticated()
@@ -39,8 +39,16 @@ public class TenantContextFilter extends OncePerRequestFilter {
           throw new MissingTenantException("JWT is missing required claim: " + TENANT_ID_CLAIM);
         }
         UUID tenantId = UUID.fromString(String.valueOf(raw));
-        TenantContext.setTenantId(tenantId);
         MDC.put(MdcKeys.TENANT_ID, tenantId.toString());
+        // Scoped binding: restored when the chain returns, in both thread-local and ScopedValue mode.
+        try {
+          TenantContext.runWithTenant(tenantId, () -> filterChain.doFilter(request, response));
+        } catch (IOException | ServletException | RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new ServletException(e);
+        }
+        return;
       }
 
       filterChain.doFilter(request, response);
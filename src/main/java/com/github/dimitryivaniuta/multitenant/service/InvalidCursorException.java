@@ -0,0 +1,14 @@
+package com.github.dimitryivaniuta.multitenant.service;
+
+/**
+ * Thrown when a pagination cursor was not issued by this API (corrupted, truncated or hand-made).
+ *
+ * <p>No stack trace: it is always raised while decoding the cursor, before any query runs, so the trace
+ * would only ever point at the decoder.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -2,10 +2,13 @@ package com.github.dimitryivaniuta.multitenant.service;
 
 /**
  * Thrown when a user is not found in the current tenant.
+ *
+ * <p>Created without a stack trace: a 404 is an expected answer, and probes for unknown ids would
+ * otherwise pay for a full stack walk on every request.
  */
 public class UserNotFoundException extends RuntimeException {
 
   public UserNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -1,15 +1,26 @@
 package com.github.dimitryivaniuta.multitenant.service;
 
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteResponse;
 import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
 import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserSearchResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserStatsResponse;
+import com.github.dimitryivaniuta.multitenant.audit.AuditLog;
+import com.github.dimitryivaniuta.multitenant.cache.TenantCacheEvictor;
+import com.github.dimitryivaniuta.multitenant.config.CacheConfig;
 import com.github.dimitryivaniuta.multitenant.domain.UserEntity;
 import com.github.dimitryivaniuta.multitenant.kafka.UserEventsProducer;
 import com.github.dimitryivaniuta.multitenant.repo.UserRepository;
+import com.github.dimitryivaniuta.multitenant.repo.UserRepository.DeletedUser;
+import com.github.dimitryivaniuta.multitenant.repo.UserRepository.SearchHit;
 import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,16 +31,26 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class UserService {
 
+  private static final String AUDIT_ENTITY = "user";
+
   private final UserRepository userRepository;
   private final UserEventsProducer eventsProducer;
+  private final TenantCacheEvictor cacheEvictor;
+  private final AuditLog auditLog;
 
-  public UserService(UserRepository userRepository, UserEventsProducer eventsProducer) {
+  public UserService(UserRepository userRepository, UserEventsProducer eventsProducer,
+      TenantCacheEvictor cacheEvictor, AuditLog auditLog) {
     this.userRepository = userRepository;
     this.eventsProducer = eventsProducer;
+    this.cacheEvictor = cacheEvictor;
+    this.auditLog = auditLog;
   }
 
   /**
    * Creates a user in the current tenant.
+   *
+   * <p>The {@code user.created} event and the audit record are only emitted once the transaction commits; a
+   * create that fails at flush (duplicate email) emits neither.
    */
   @Transactional
   public UserResponse create(CreateUserRequest req) {
@@ -47,6 +68,7 @@ public class UserService {
     userRepository.save(entity);
 
     eventsProducer.userCreated(entity);
+    auditLog.record("user.create", AUDIT_ENTITY, id);
     return toResponse(entity);
   }
 
@@ -63,6 +85,20 @@ public class UserService {
         .orElseThrow(() -> new UserNotFoundException("User not found"));
   }
 
+  /**
+   * Returns the user with {@code email} in the current tenant.
+   *
+   * <p>One index lookup on {@code ux_users_tenant_email}; the result is cached under a tenant-scoped email
+   * key and evicted by {@link #delete(UUID)} and {@link #deleteAll(Collection)}.
+   */
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "'tenant:' + T(com.github.dimitryivaniuta.multitenant.tenant.TenantContext).requireTenantId() + ':email:' + #email")
+  public UserResponse getByEmail(String email) {
+    return userRepository.findByEmail(email)
+        .map(this::toResponse)
+        .orElseThrow(() -> new UserNotFoundException("User not found"));
+  }
+
   /**
    * Lists all users for the current tenant.
    */
@@ -71,19 +107,129 @@ public class UserService {
     return userRepository.findAll().stream().map(this::toResponse).toList();
   }
 
+  /**
+   * Returns the current tenant's user collection generation; it changes whenever {@link #list()} would.
+   *
+   * <p>Reads at most 16 stripe rows. Read it <em>before</em> the list: a concurrent write then at worst pairs
+   * newer data with an older tag, which the next conditional request simply misses.
+   */
+  @Transactional(readOnly = true)
+  public long listGeneration() {
+    return userRepository.generationFromStats(TenantContext.requireTenantId());
+  }
+
+  /**
+   * Searches the current tenant's users by a substring of email or full name (case-insensitive), or by a
+   * fuzzy trigram match; best matches first (see {@link UserRepository#search}).
+   *
+   * <p>Keyset-paginated by (score, email): one index-backed query per page regardless of page depth.
+   *
+   * @param term   text to look for; {@code %} and {@code _} match literally
+   * @param cursor {@link UserSearchResponse#nextCursor()} of the previous page, or {@code null}
+   * @param limit  page size
+   */
+  @Transactional(readOnly = true)
+  public UserSearchResponse search(String term, String cursor, int limit) {
+    String pattern = "%" + term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    SearchCursor after = cursor == null ? SearchCursor.FIRST : SearchCursor.decode(cursor);
+
+    // one extra row tells whether another page exists
+    List<SearchHit> rows = userRepository.search(TenantContext.requireTenantId(), term, pattern,
+        after.score(), after.email(), limit + 1);
+    boolean more = rows.size() > limit;
+    List<SearchHit> page = more ? rows.subList(0, limit) : rows;
+
+    String next = null;
+    if (more) {
+      SearchHit last = page.get(page.size() - 1);
+      next = new SearchCursor(last.getScore(), last.getEmail()).encode();
+    }
+    return new UserSearchResponse(page.stream().map(this::toResponse).toList(), next);
+  }
+
+  /**
+   * Returns user statistics for the current tenant.
+   *
+   * <p>Reads the counters maintained by database triggers in the same transaction as every insert and
+   * delete, so the cost does not grow with the tenant's size.
+   */
+  @Transactional(readOnly = true)
+  public UserStatsResponse stats() {
+    UUID tenantId = TenantContext.requireTenantId();
+    return new UserStatsResponse(tenantId, userRepository.countFromStats(tenantId));
+  }
+
   /**
    * Deletes a user (tenant-scoped).
+   *
+   * <p>One {@code DELETE ... RETURNING} statement; an empty result means the user does not exist.
    */
   @Transactional
-  @CacheEvict(cacheNames = "users", key = "'tenant:' + T(com.github.dimitryivaniuta.multitenant.tenant.TenantContext).requireTenantId() + ':user:' + #id")
   public void delete(UUID id) {
-    if (!userRepository.existsById(id)) {
+    if (deleteAndEvict(List.of(id)).isEmpty()) {
       throw new UserNotFoundException("User not found");
     }
-    userRepository.deleteById(id);
+  }
+
+  /**
+   * Deletes the given users of the current tenant; ids that do not exist are ignored.
+   *
+   * <p>One statement for the whole batch, then one pipelined Redis call for all cache keys.
+   */
+  @Transactional
+  public BulkDeleteResponse deleteAll(Collection<UUID> ids) {
+    return new BulkDeleteResponse(deleteAndEvict(ids));
+  }
+
+  /**
+   * Deletes, then evicts the by-id and by-email cache keys of the deleted users and audits the deletes once the
+   * transaction commits.
+   */
+  private List<UUID> deleteAndEvict(Collection<UUID> ids) {
+    UUID tenantId = TenantContext.requireTenantId();
+    List<DeletedUser> deleted = userRepository.deleteReturning(tenantId, ids);
+
+    List<UUID> deletedIds = new ArrayList<>(deleted.size());
+    List<String> keys = new ArrayList<>(deleted.size() * 2);
+    for (DeletedUser user : deleted) {
+      deletedIds.add(user.getId());
+      keys.add("tenant:" + tenantId + ":user:" + user.getId());
+      keys.add("tenant:" + tenantId + ":email:" + user.getEmail());
+    }
+    cacheEvictor.evictAfterCommit(keys);
+    auditLog.recordAll("user.delete", AUDIT_ENTITY, deletedIds);
+    return deletedIds;
+  }
+
+  /** Position after the last row of a search page: its score and email, as opaque base64url text. */
+  private record SearchCursor(float score, String email) {
+
+    /** Before every match; scores are at most 1. */
+    static final SearchCursor FIRST = new SearchCursor(2f, "");
+
+    String encode() {
+      byte[] text = (score + ":" + email).getBytes(StandardCharsets.UTF_8);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(text);
+    }
+
+    static SearchCursor decode(String cursor) {
+      try {
+        String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int colon = text.indexOf(':');
+        return new SearchCursor(Float.parseFloat(text.substring(0, colon)), text.substring(colon + 1));
+      } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        throw new InvalidCursorException("Invalid cursor");
+      }
+    }
   }
 
   private UserResponse toResponse(UserEntity e) {
-    return new UserResponse(e.getId(), e.getTenantId(), e.getEmail(), e.getFullName(), e.getCreatedAt());
+    return new UserResponse(e.getId(), e.getTenantId(), e.getEmail(), e.getFullName(), e.getCreatedAt(),
+        e.getVersion());
+  }
+
+  private UserResponse toResponse(SearchHit h) {
+    return new UserResponse(h.getId(), h.getTenantId(), h.getEmail(), h.getFullName(), h.getCreatedAt(),
+        h.getVersion());
   }
 }
@@ -0,0 +1,69 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring of shard names.
+ *
+ * <p>Each shard is placed at {@code virtualNodes} points derived from SHA-256 of {@code name#i}; a tenant
+ * belongs to the first point at or after its own hash (wrapping around). Adding or removing a shard only
+ * moves the tenants between that shard's points and their predecessors, about {@code 1/n} of all tenants.
+ *
+ * <p>Immutable and thread-safe.
+ */
+final class ConsistentHashRing {
+
+  private final NavigableMap<Long, String> ring;
+
+  ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard is required");
+    }
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("virtualNodes must be >= 1");
+    }
+    TreeMap<Long, String> points = new TreeMap<>();
+    for (String shard : shards) {
+      for (int i = 0; i < virtualNodes; i++) {
+        // on the (practically impossible) collision the lexicographically smaller name keeps the point
+        points.merge(pointOf(shard + "#" + i), shard, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+      }
+    }
+    this.ring = points;
+  }
+
+  /** Returns the shard owning {@code tenantId}. */
+  String shardOf(UUID tenantId) {
+    Map.Entry<Long, String> e = ring.ceilingEntry(hash(tenantId));
+    return (e != null ? e : ring.firstEntry()).getValue();
+  }
+
+  /** Tenant ids are random, so a 64-bit mix of both halves spreads them evenly over the ring. */
+  static long hash(UUID tenantId) {
+    return mix(tenantId.getMostSignificantBits() ^ mix(tenantId.getLeastSignificantBits()));
+  }
+
+  private static long pointOf(String label) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(label.getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(digest).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** SplitMix64 finalizer. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
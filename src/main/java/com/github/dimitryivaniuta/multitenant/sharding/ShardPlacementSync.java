@@ -0,0 +1,87 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps {@link ShardRouter}'s stored placements current: loads them before the web server accepts requests,
+ * then refreshes every {@code refreshInterval} on a single daemon thread.
+ *
+ * <p>A failed refresh is logged and retried; if refreshes keep failing the router fences itself (see
+ * {@link ShardRouter}). On stop the node removes itself from the node list, so moves do not wait for it.
+ */
+public class ShardPlacementSync implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(ShardPlacementSync.class);
+
+  /** Start before the web server and stop after it: no request is routed by placements that are not loaded. */
+  private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+  private final ShardRouter router;
+  private final Duration refreshInterval;
+
+  private volatile ScheduledExecutorService scheduler;
+
+  public ShardPlacementSync(ShardRouter router, Duration refreshInterval) {
+    this.router = router;
+    this.refreshInterval = refreshInterval;
+  }
+
+  @Override
+  public void start() {
+    if (scheduler != null) {
+      return;
+    }
+    try {
+      router.refresh();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not load shard placements", e);
+    }
+    ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("shard-placements").daemon(true).factory());
+    long millis = refreshInterval.toMillis();
+    s.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+    scheduler = s;
+  }
+
+  private void refresh() {
+    try {
+      router.refresh();
+    } catch (SQLException | RuntimeException e) {
+      log.warn("Shard placement refresh failed; applied version stays {}", router.appliedVersion(), e);
+    }
+  }
+
+  @Override
+  public void stop() {
+    ScheduledExecutorService s = scheduler;
+    if (s == null) {
+      return;
+    }
+    scheduler = null;
+    s.shutdownNow();
+    router.unfence();
+    try {
+      router.leave();
+    } catch (SQLException e) {
+      log.warn("Could not remove node from shard placement nodes; moves ignore it after the node timeout", e);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+}
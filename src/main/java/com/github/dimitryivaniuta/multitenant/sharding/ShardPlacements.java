@@ -0,0 +1,176 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+/**
+ * Tenant-to-shard placements in the primary database ({@code V10__shard_placements.sql}), shared by every node.
+ *
+ * <p>Moves write here instead of into node memory. Each node polls {@link #version()}, reloads on change
+ * and reports the version it has applied through {@link #heartbeat(long)}; {@link #allApplied(long)} tells a
+ * move when every live node routes the tenant the new way.
+ */
+final class ShardPlacements {
+
+  /** Serializes placement writes, so versions are assigned in commit order. */
+  private static final long WRITE_LOCK = 0x5348415244L;
+
+  /**
+   * A stored placement.
+   *
+   * @param moving the tenant is being moved; every node refuses its transactions
+   */
+  record Placement(String shard, boolean moving) {
+  }
+
+  /** All stored placements as of {@code version}. */
+  record Snapshot(long version, Map<UUID, Placement> placements) {
+  }
+
+  private final DataSource dataSource;
+  private final String nodeId;
+  private final Duration nodeTimeout;
+
+  /**
+   * @param dataSource unwrapped access to the primary shard
+   * @param nodeTimeout nodes without a heartbeat for this long are considered gone
+   */
+  ShardPlacements(DataSource dataSource, String nodeId, Duration nodeTimeout) {
+    this.dataSource = dataSource;
+    this.nodeId = nodeId;
+    this.nodeTimeout = nodeTimeout;
+  }
+
+  /** Latest placement version; {@code 0} if nothing was ever stored. */
+  long version() throws SQLException {
+    try (Connection c = dataSource.getConnection();
+         PreparedStatement ps = c.prepareStatement("select coalesce(max(version), 0) from shard_placements");
+         ResultSet rs = ps.executeQuery()) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  Snapshot load() throws SQLException {
+    try (Connection c = dataSource.getConnection();
+         PreparedStatement ps = c.prepareStatement("select tenant, shard, moving, version from shard_placements");
+         ResultSet rs = ps.executeQuery()) {
+      Map<UUID, Placement> placements = new HashMap<>();
+      long version = 0;
+      while (rs.next()) {
+        placements.put(rs.getObject(1, UUID.class), new Placement(rs.getString(2), rs.getBoolean(3)));
+        version = Math.max(version, rs.getLong(4));
+      }
+      return new Snapshot(version, Map.copyOf(placements));
+    }
+  }
+
+  /**
+   * Marks {@code tenantId} as moving away from {@code shard}.
+   *
+   * @return the new version
+   * @throws IllegalStateException if the tenant is already being moved
+   */
+  long startMove(UUID tenantId, String shard) throws SQLException {
+    return write(tenantId, shard, true, true);
+  }
+
+  /**
+   * Places {@code tenantId} on {@code shard} and ends any move.
+   *
+   * @return the new version
+   */
+  long place(UUID tenantId, String shard) throws SQLException {
+    return write(tenantId, shard, false, false);
+  }
+
+  private long write(UUID tenantId, String shard, boolean moving, boolean requireIdle) throws SQLException {
+    try (Connection c = dataSource.getConnection()) {
+      c.setAutoCommit(false);
+      try {
+        try (PreparedStatement ps = c.prepareStatement("select pg_advisory_xact_lock(?)")) {
+          ps.setLong(1, WRITE_LOCK);
+          ps.execute();
+        }
+        if (requireIdle) {
+          try (PreparedStatement ps = c.prepareStatement("select moving from shard_placements where tenant = ?")) {
+            ps.setObject(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+              if (rs.next() && rs.getBoolean(1)) {
+                throw new IllegalStateException("Tenant " + tenantId + " is already being moved");
+              }
+            }
+          }
+        }
+        long version;
+        try (PreparedStatement ps = c.prepareStatement("""
+            insert into shard_placements (tenant, shard, moving, version)
+            values (?, ?, ?, nextval('shard_placement_version'))
+            on conflict (tenant) do update
+              set shard = excluded.shard, moving = excluded.moving, version = excluded.version
+            returning version
+            """)) {
+          ps.setObject(1, tenantId);
+          ps.setString(2, shard);
+          ps.setBoolean(3, moving);
+          try (ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            version = rs.getLong(1);
+          }
+        }
+        c.commit();
+        return version;
+      } catch (SQLException | RuntimeException e) {
+        c.rollback();
+        throw e;
+      }
+    }
+  }
+
+  /** Records that this node routes by {@code appliedVersion} (or later) and is alive. */
+  void heartbeat(long appliedVersion) throws SQLException {
+    try (Connection c = dataSource.getConnection();
+         PreparedStatement ps = c.prepareStatement("""
+             insert into shard_placement_nodes (node_id, applied_version, heartbeat_at) values (?, ?, now())
+             on conflict (node_id) do update
+               set applied_version = excluded.applied_version, heartbeat_at = excluded.heartbeat_at
+             """)) {
+      ps.setString(1, nodeId);
+      ps.setLong(2, appliedVersion);
+      ps.executeUpdate();
+    }
+  }
+
+  /** Whether every node with a recent heartbeat has applied {@code version}. */
+  boolean allApplied(long version) throws SQLException {
+    try (Connection c = dataSource.getConnection();
+         PreparedStatement ps = c.prepareStatement("""
+             select count(*) from shard_placement_nodes
+             where heartbeat_at > now() - make_interval(secs => ?) and applied_version < ?
+             """)) {
+      ps.setDouble(1, nodeTimeout.toMillis() / 1000.0);
+      ps.setLong(2, version);
+      try (ResultSet rs = ps.executeQuery()) {
+        rs.next();
+        return rs.getLong(1) == 0;
+      }
+    }
+  }
+
+  /** Removes this node, so moves stop waiting for it; also drops nodes gone for a day. */
+  void leave() throws SQLException {
+    try (Connection c = dataSource.getConnection();
+         PreparedStatement ps = c.prepareStatement(
+             "delete from shard_placement_nodes where node_id = ? or heartbeat_at < now() - interval '1 day'")) {
+      ps.setString(1, nodeId);
+      ps.executeUpdate();
+    }
+  }
+}
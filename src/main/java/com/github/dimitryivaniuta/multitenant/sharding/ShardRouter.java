@@ -0,0 +1,262 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import com.github.dimitryivaniuta.multitenant.isolation.TenantLocations;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceObserver;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantDataSourceRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+
+/**
+ * Places shared tenants on shards: stored placements first ({@link ShardPlacements}, written by moves and
+ * shared by every node), then configured overrides, then the consistent-hash ring.
+ *
+ * <p>Used by {@code TenantAwareDataSource} on every borrow and transaction begin, so each shard receives
+ * the same {@code set_config('app.tenant_id', ...)} and RLS as the primary. The primary shard maps to the
+ * application's default pool ({@code null} target); other shards have their own Hikari pools, owned here.
+ *
+ * <p>Placements are reloaded by {@link #refresh()} (see {@link ShardPlacementSync}). A tenant stored as moving
+ * is refused on every node. The node reports a placement version as applied only once none of its moving
+ * tenants still holds a connection, so a move that sees every node at its version knows their in-flight work
+ * has drained. A node whose placements are older than half the node timeout refuses every tenant: other
+ * nodes may already have given up waiting for it.
+ */
+public final class ShardRouter
+    implements TenantDataSourceRouter, TenantDataSourceObserver, TenantLocations, AutoCloseable {
+
+  private final ConsistentHashRing ring;
+  private final Map<String, Target> targets;
+  private final Map<String, DataSource> rawDataSources;
+  private final List<HikariDataSource> pools;
+  private final Map<UUID, String> overrides;
+  private final ShardPlacements placements;
+  private final long staleAfterNanos;
+  private final Map<UUID, Integer> borrowed = new ConcurrentHashMap<>();
+
+  private volatile Map<UUID, ShardPlacements.Placement> stored = Map.of();
+  private volatile long appliedVersion = -1;
+  private volatile long refreshedAtNanos;
+  private volatile boolean fenced;
+  private long reportedVersion = -1;
+
+  /**
+   * @param primaryRaw unwrapped access to the primary shard, used for moves and placements; closed with the router
+   * @param shardPools pools of the non-primary shards, by name
+   * @param placements shared placements, stored on the primary shard
+   * @param nodeTimeout how long other nodes wait for this node's heartbeat before ignoring it
+   */
+  ShardRouter(
+      DataSource primaryRaw,
+      Map<String, HikariDataSource> shardPools,
+      Map<UUID, String> overrides,
+      int virtualNodes,
+      ShardPlacements placements,
+      Duration nodeTimeout
+  ) {
+    Map<String, Target> t = new LinkedHashMap<>();
+    Map<String, DataSource> raw = new LinkedHashMap<>();
+    raw.put(ShardingProperties.PRIMARY, primaryRaw);
+    shardPools.forEach((name, pool) -> {
+      if (ShardingProperties.PRIMARY.equals(name) || raw.containsKey(name)) {
+        throw new IllegalArgumentException("Duplicate shard name: " + name);
+      }
+      t.put(name, new Target(pool, null));
+      raw.put(name, pool);
+    });
+    overrides.forEach((tenant, shard) -> {
+      if (!raw.containsKey(shard)) {
+        throw new IllegalArgumentException("Override for tenant " + tenant + " names unknown shard " + shard);
+      }
+    });
+    this.ring = new ConsistentHashRing(raw.keySet(), virtualNodes);
+    this.targets = Map.copyOf(t);
+    this.rawDataSources = Map.copyOf(raw);
+    this.pools = List.copyOf(shardPools.values());
+    this.overrides = Map.copyOf(overrides);
+    this.placements = placements;
+    this.staleAfterNanos = nodeTimeout.toNanos() / 2;
+  }
+
+  @Override
+  public Target route(UUID tenantId) {
+    if (fenced && System.nanoTime() - refreshedAtNanos > staleAfterNanos) {
+      throw new TenantMovingException("Shard placements on this node are stale");
+    }
+    ShardPlacements.Placement placement = stored.get(tenantId);
+    if (placement == null) {
+      return targets.get(configuredShardOf(tenantId));
+    }
+    if (placement.moving()) {
+      throw new TenantMovingException("Tenant " + tenantId + " is being moved to another shard");
+    }
+    return targets.get(placement.shard());
+  }
+
+  /** Returns the shard currently holding {@code tenantId}. */
+  public String shardOf(UUID tenantId) {
+    ShardPlacements.Placement placement = stored.get(tenantId);
+    return placement != null ? placement.shard() : configuredShardOf(tenantId);
+  }
+
+  private String configuredShardOf(UUID tenantId) {
+    String pinned = overrides.get(tenantId);
+    return pinned != null ? pinned : ring.shardOf(tenantId);
+  }
+
+  /** Returns {@code true} if {@code tenantId} is pinned by a move or an override rather than placed by hashing. */
+  public boolean isPinned(UUID tenantId) {
+    return stored.containsKey(tenantId) || overrides.containsKey(tenantId);
+  }
+
+  /** Shard names, primary first. */
+  public List<String> shards() {
+    return List.copyOf(rawDataSources.keySet());
+  }
+
+  /** Current overrides: configured ones, replaced by stored placements. */
+  public Map<UUID, String> overrides() {
+    Map<UUID, String> all = new LinkedHashMap<>(overrides);
+    stored.forEach((tenantId, placement) -> all.put(tenantId, placement.shard()));
+    return all;
+  }
+
+  /** Version of the stored placements this node routes by; {@code -1} before the first refresh. */
+  public long appliedVersion() {
+    return appliedVersion;
+  }
+
+  /**
+   * Reloads the stored placements if they changed and reports the applied version.
+   *
+   * @throws IllegalStateException if a stored placement names a shard this node does not have; the old
+   *     placements stay in use and nothing is reported
+   */
+  synchronized void refresh() throws SQLException {
+    long startedAt = System.nanoTime();
+    if (placements.version() != appliedVersion) {
+      ShardPlacements.Snapshot snapshot = placements.load();
+      snapshot.placements().forEach((tenantId, placement) -> {
+        if (!rawDataSources.containsKey(placement.shard())) {
+          throw new IllegalStateException("Tenant " + tenantId + " is placed on unknown shard " + placement.shard());
+        }
+      });
+      stored = snapshot.placements();
+      appliedVersion = snapshot.version();
+    }
+    if (drained()) {
+      reportedVersion = appliedVersion;
+    }
+    placements.heartbeat(reportedVersion);
+    refreshedAtNanos = startedAt;
+    fenced = true;
+  }
+
+  private boolean drained() {
+    for (UUID tenantId : borrowed.keySet()) {
+      ShardPlacements.Placement placement = stored.get(tenantId);
+      if (placement != null && placement.moving()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Stops refusing tenants for stale placements; called when refreshing stops. */
+  void unfence() {
+    fenced = false;
+  }
+
+  /** Removes this node from the shared node list. */
+  void leave() throws SQLException {
+    placements.leave();
+  }
+
+  @Override
+  public List<MigrationTarget> migrationTargets() {
+    return targets.entrySet().stream()
+        .map(e -> new MigrationTarget("shard " + e.getKey(), e.getValue().dataSource(), null))
+        .toList();
+  }
+
+  @Override
+  public void connectionBorrowed(UUID tenantId) {
+    if (tenantId != null) {
+      borrowed.merge(tenantId, 1, Integer::sum);
+    }
+  }
+
+  @Override
+  public void connectionReleased(UUID tenantId, long nanos) {
+    if (tenantId != null) {
+      borrowed.computeIfPresent(tenantId, (k, n) -> n == 1 ? null : n - 1);
+    }
+  }
+
+  /** Unwrapped (no tenant routing) access to {@code shard}. */
+  DataSource rawDataSource(String shard) {
+    DataSource ds = rawDataSources.get(shard);
+    if (ds == null) {
+      throw new IllegalArgumentException("Unknown shard: " + shard);
+    }
+    return ds;
+  }
+
+  /**
+   * Pauses {@code tenantId} on every node: new borrows and transaction begins fail with
+   * {@link TenantMovingException}. Then waits until every live node has applied the pause and drained the
+   * tenant's connections.
+   *
+   * @throws IllegalStateException if the tenant is already being moved or does not drain in time (the pause
+   *     is lifted again)
+   */
+  void pause(UUID tenantId, Duration drainTimeout) throws SQLException, InterruptedException {
+    String shard = shardOf(tenantId);
+    long version = placements.startMove(tenantId, shard);
+    if (!awaitApplied(version, drainTimeout)) {
+      placements.place(tenantId, shard);
+      refresh();
+      throw new IllegalStateException("Tenant " + tenantId + " did not drain on every node within " + drainTimeout);
+    }
+  }
+
+  /**
+   * Places {@code tenantId} on {@code shard} for every node and lets its transactions run again.
+   *
+   * @return the placement version; once every node has applied it, no node routes the tenant elsewhere
+   */
+  long place(UUID tenantId, String shard) throws SQLException {
+    rawDataSource(shard);
+    long version = placements.place(tenantId, shard);
+    refresh();
+    return version;
+  }
+
+  /** Waits until every live node, this one included, has applied {@code version}. */
+  boolean awaitApplied(long version, Duration timeout) throws SQLException, InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (true) {
+      refresh();
+      if (placements.allApplied(version)) {
+        return true;
+      }
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  @Override
+  public void close() {
+    pools.forEach(HikariDataSource::close);
+    if (rawDataSources.get(ShardingProperties.PRIMARY) instanceof HikariDataSource primary) {
+      primary.close();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Horizontal sharding of shared tenants ({@code app.sharding.enabled=true}).
+ *
+ * <p>{@link ShardRouter} plugs into {@code TenantAwareDataSource} after the dedicated-tenant router, so
+ * dedicated tenants keep their own location and every other tenant is served by its shard. Flyway migrates
+ * each shard at startup (the router is a {@code TenantLocations}); {@link ShardPlacementSync} then loads the
+ * placements moves have stored.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ShardingProperties.class, DataSourceProperties.class})
+public class ShardingConfig {
+
+  @Bean(destroyMethod = "close")
+  public ShardRouter shardRouter(
+      ShardingProperties props,
+      DataSourceProperties dataSourceProperties,
+      Environment environment
+  ) {
+    Binder binder = Binder.get(environment);
+    Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    for (ShardingProperties.Shard shard : props.shards()) {
+      HikariDataSource pool = new HikariDataSource();
+      binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+      pool.setPoolName("shard-" + shard.name());
+      pool.setJdbcUrl(shard.url());
+      pool.setUsername(shard.username() != null ? shard.username() : dataSourceProperties.determineUsername());
+      pool.setPassword(shard.password() != null ? shard.password() : dataSourceProperties.determinePassword());
+      if (shard.maximumPoolSize() != null) {
+        pool.setMaximumPoolSize(shard.maximumPoolSize());
+      }
+      if (pools.put(shard.name(), pool) != null) {
+        throw new IllegalStateException("Duplicate shard name: " + shard.name());
+      }
+    }
+
+    // Moves and placement refreshes need the primary without tenant routing. The pool is not a bean, so it
+    // stays unwrapped; a move holds two connections, the refresh thread one.
+    HikariDataSource primaryRaw = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    primaryRaw.setPoolName("shard-primary-raw");
+    primaryRaw.setMaximumPoolSize(3);
+    primaryRaw.setMinimumIdle(1);
+
+    ShardPlacements placements = new ShardPlacements(primaryRaw, UUID.randomUUID().toString(), props.nodeTimeout());
+    return new ShardRouter(primaryRaw, pools, props.overrides(), props.virtualNodes(), placements, props.nodeTimeout());
+  }
+
+  @Bean
+  public ShardPlacementSync shardPlacementSync(ShardRouter router, ShardingProperties props) {
+    return new ShardPlacementSync(router, props.refreshInterval());
+  }
+
+  @Bean
+  public TenantShardMover tenantShardMover(ShardRouter router, ShardingProperties props) {
+    return new TenantShardMover(router, props.moveBatchSize(), props.drainTimeout());
+  }
+
+  @Bean
+  public TenantShardEndpoint tenantShardEndpoint(ShardRouter router, TenantShardMover mover) {
+    return new TenantShardEndpoint(router, mover);
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Horizontal sharding of shared tenants across PostgreSQL instances.
+ *
+ * <p>The application's own database ({@code spring.datasource}) is the shard named {@value #PRIMARY}; the
+ * configured {@code shards} are added to it. Tenants are placed by consistent hashing unless a move or
+ * {@code overrides} pins them. Moves store their pins in the primary database, where every node reads them.
+ *
+ * @param enabled whether tenants are sharded
+ * @param shards additional shards; each gets its own Hikari pool
+ * @param overrides tenant id to shard name; wins over hashing (e.g. after moving a tenant)
+ * @param virtualNodes points per shard on the hash ring; more points spread tenants more evenly
+ * @param moveBatchSize rows per insert batch when moving a tenant
+ * @param drainTimeout how long a move waits for every node to stop the tenant and finish its in-flight
+ *     transactions, and again for every node to route it to the target before the source rows are deleted
+ * @param refreshInterval how often each node reloads the stored placements
+ * @param nodeTimeout a node without a placement heartbeat for this long is no longer waited for; a node
+ *     that cannot refresh for half of it refuses sharded tenants
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+    Boolean enabled,
+    List<Shard> shards,
+    Map<UUID, String> overrides,
+    Integer virtualNodes,
+    Integer moveBatchSize,
+    Duration drainTimeout,
+    Duration refreshInterval,
+    Duration nodeTimeout
+) {
+
+  /** Name of the shard backed by {@code spring.datasource}. */
+  public static final String PRIMARY = "primary";
+
+  public ShardingProperties {
+    enabled = enabled != null && enabled;
+    shards = shards == null ? List.of() : List.copyOf(shards);
+    overrides = overrides == null ? Map.of() : Map.copyOf(overrides);
+    virtualNodes = virtualNodes == null ? 128 : virtualNodes;
+    moveBatchSize = moveBatchSize == null ? 1_000 : moveBatchSize;
+    drainTimeout = drainTimeout == null ? Duration.ofSeconds(10) : drainTimeout;
+    refreshInterval = refreshInterval == null ? Duration.ofSeconds(1) : refreshInterval;
+    nodeTimeout = nodeTimeout == null ? Duration.ofSeconds(15) : nodeTimeout;
+    if (nodeTimeout.compareTo(refreshInterval.multipliedBy(4)) < 0) {
+      throw new IllegalArgumentException("app.sharding.node-timeout (" + nodeTimeout
+          + ") must be at least 4x refresh-interval (" + refreshInterval + ")");
+    }
+  }
+
+  /**
+   * A shard.
+   *
+   * @param name unique shard name; also the hash ring identity, so renaming a shard moves tenants
+   * @param url JDBC url
+   * @param username defaults to {@code spring.datasource.username}
+   * @param password defaults to {@code spring.datasource.password}
+   * @param maximumPoolSize defaults to {@code spring.datasource.hikari.maximum-pool-size}
+   */
+  public record Shard(
+      String name,
+      String url,
+      String username,
+      String password,
+      Integer maximumPoolSize
+  ) {
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+/**
+ * Thrown when a tenant's data is being moved to another shard and its transactions are paused.
+ *
+ * <p>Stackless: while a move is in progress every request of the tenant fails with it, and it only
+ * ever becomes a 503.
+ */
+public class TenantMovingException extends RuntimeException {
+
+  public TenantMovingException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,66 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint {@code /actuator/tenantshards}: shard placement and tenant moves.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/tenantshards}: shards and overrides.</li>
+ *   <li>{@code GET /actuator/tenantshards/{tenantId}}: the tenant's shard.</li>
+ *   <li>{@code POST /actuator/tenantshards/{tenantId}} with {@code {"target": "<shard>"}}: moves the tenant
+ *       (see {@link TenantShardMover}).</li>
+ *   <li>{@code DELETE /actuator/tenantshards/{tenantId}?source=<shard>}: deletes the rows a move left on
+ *       {@code source} ({@link TenantShardMover#cleanup}).</li>
+ * </ul>
+ */
+@Endpoint(id = "tenantshards")
+public class TenantShardEndpoint {
+
+  private final ShardRouter router;
+  private final TenantShardMover mover;
+
+  public TenantShardEndpoint(ShardRouter router, TenantShardMover mover) {
+    this.router = router;
+    this.mover = mover;
+  }
+
+  /** Shard names and current overrides. */
+  @ReadOperation
+  public Map<String, Object> shards() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("shards", router.shards());
+    result.put("overrides", router.overrides());
+    return result;
+  }
+
+  /** The shard of one tenant. */
+  @ReadOperation
+  public Map<String, Object> tenant(@Selector String tenantId) {
+    UUID id = UUID.fromString(tenantId);
+    return Map.of("tenantId", id, "shard", router.shardOf(id), "pinned", router.isPinned(id));
+  }
+
+  /** Moves one tenant to {@code target}. */
+  @WriteOperation
+  public TenantShardMover.MoveResult move(@Selector String tenantId, String target)
+      throws SQLException, InterruptedException {
+    return mover.move(UUID.fromString(tenantId), target);
+  }
+
+  /** Deletes the rows a move left on {@code source}. */
+  @DeleteOperation
+  public Map<String, Object> cleanup(@Selector String tenantId, String source)
+      throws SQLException, InterruptedException {
+    UUID id = UUID.fromString(tenantId);
+    return Map.of("tenantId", id, "source", source, "deleted", mover.cleanup(id, source));
+  }
+}
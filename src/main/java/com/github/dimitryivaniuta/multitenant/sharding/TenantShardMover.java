@@ -0,0 +1,266 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves one tenant's rows from its current shard to another.
+ *
+ * <ol>
+ *   <li>Pause the tenant on every node (its transactions fail with {@link TenantMovingException}, mapped to
+ *       503) and wait until every node has drained its in-flight connections.</li>
+ *   <li>Copy every tenant table in a single target transaction; row counts are verified before commit.</li>
+ *   <li>Store the target as the tenant's placement, which also resumes it.</li>
+ *   <li>Once every node routes the tenant to the target, delete its rows on the source.</li>
+ * </ol>
+ *
+ * <p>Any failure before the placement is stored leaves the tenant on the source untouched (the target
+ * transaction rolls back). If some node does not pick up the new placement in time, the source rows are
+ * kept and {@link #cleanup} deletes them later. The tenant's collection generation (the list ETag) is carried
+ * over on top of what the copy's triggers produce, so it keeps increasing across the move. Each side runs
+ * under {@code set_config('app.tenant_id', ...)}, so RLS scopes every statement.
+ *
+ * <p>Tables are copied with explicit column lists, and both shards must have exactly those columns: a
+ * migration that adds a column to a tenant table has to add it to {@link #TENANT_TABLES} too, or moves fail.
+ */
+public class TenantShardMover {
+
+  /** Tenant tables, in copy order (parents before children). {@code tenant_user_stats} follows via triggers. */
+  static final List<TenantTable> TENANT_TABLES = List.of(
+      new TenantTable("users", List.of("id", "tenant_id", "email", "full_name", "created_at", "version")),
+      new TenantTable("audit_log", List.of(
+          "id", "tenant_id", "occurred_at", "actor", "operation", "entity_type", "entity_id", "correlation_id")));
+
+  /** A table holding tenant rows and every column it has. */
+  record TenantTable(String name, List<String> columns) {
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(TenantShardMover.class);
+
+  private final ShardRouter router;
+  private final int batchSize;
+  private final Duration drainTimeout;
+
+  public TenantShardMover(ShardRouter router, int batchSize, Duration drainTimeout) {
+    this.router = router;
+    this.batchSize = batchSize;
+    this.drainTimeout = drainTimeout;
+  }
+
+  /**
+   * Result of a move.
+   *
+   * @param rows rows copied, over all tables
+   * @param sourceCleaned whether the source rows were deleted; if not, {@link #cleanup} deletes them
+   */
+  public record MoveResult(UUID tenantId, String from, String to, long rows, boolean sourceCleaned, long elapsedMs) {
+  }
+
+  /** Moves {@code tenantId} to {@code targetShard}; a no-op if it already lives there. */
+  public MoveResult move(UUID tenantId, String targetShard) throws SQLException, InterruptedException {
+    DataSource target = router.rawDataSource(targetShard);
+    String sourceShard = router.shardOf(tenantId);
+    if (sourceShard.equals(targetShard)) {
+      return new MoveResult(tenantId, sourceShard, targetShard, 0, true, 0);
+    }
+    DataSource source = router.rawDataSource(sourceShard);
+    long start = System.nanoTime();
+
+    router.pause(tenantId, drainTimeout);
+    long rows;
+    try {
+      rows = copy(tenantId, source, target);
+    } catch (SQLException | RuntimeException e) {
+      router.place(tenantId, sourceShard);
+      throw e;
+    }
+    long version = router.place(tenantId, targetShard);
+
+    boolean cleaned = false;
+    if (router.awaitApplied(version, drainTimeout)) {
+      try {
+        deleteAll(tenantId, source);
+        cleaned = true;
+      } catch (SQLException e) {
+        log.error("Tenant {} moved to {} but its rows on {} could not be deleted", tenantId, targetShard, sourceShard, e);
+      }
+    } else {
+      log.warn("Tenant {} moved to {} but not every node applied the placement within {}; its rows on {} are kept "
+          + "until cleanup", tenantId, targetShard, drainTimeout, sourceShard);
+    }
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+    log.info("Moved tenant {} from {} to {}: {} rows in {} ms", tenantId, sourceShard, targetShard, rows, elapsedMs);
+    return new MoveResult(tenantId, sourceShard, targetShard, rows, cleaned, elapsedMs);
+  }
+
+  /**
+   * Deletes the rows {@code tenantId} left on {@code sourceShard} after a move that could not clean up.
+   *
+   * @return rows deleted, over all tables
+   * @throws IllegalArgumentException if {@code sourceShard} is where the tenant lives
+   * @throws IllegalStateException if some node still routes by an older placement
+   */
+  public long cleanup(UUID tenantId, String sourceShard) throws SQLException, InterruptedException {
+    DataSource source = router.rawDataSource(sourceShard);
+    if (router.shardOf(tenantId).equals(sourceShard)) {
+      throw new IllegalArgumentException("Tenant " + tenantId + " lives on " + sourceShard);
+    }
+    if (!router.awaitApplied(router.appliedVersion(), drainTimeout)) {
+      throw new IllegalStateException("Not every node has applied the current shard placements");
+    }
+    return deleteAll(tenantId, source);
+  }
+
+  private long copy(UUID tenantId, DataSource source, DataSource target) throws SQLException {
+    try (Connection src = begin(source, tenantId); Connection dst = begin(target, tenantId)) {
+      try {
+        long total = 0;
+        for (TenantTable table : TENANT_TABLES) {
+          checkColumns(src, table, "source");
+          checkColumns(dst, table, "target");
+          if (count(dst, table.name()) != 0) {
+            throw new IllegalStateException("Target shard already has " + table.name() + " rows of tenant " + tenantId);
+          }
+          long copied = copyTable(src, dst, table);
+          long expected = count(src, table.name());
+          if (copied != expected || count(dst, table.name()) != expected) {
+            throw new IllegalStateException("Row count mismatch copying " + table.name() + " of tenant " + tenantId);
+          }
+          total += copied;
+        }
+        carryGeneration(tenantId, src, dst);
+        dst.commit();
+        return total;
+      } catch (SQLException | RuntimeException e) {
+        dst.rollback();
+        throw e;
+      } finally {
+        src.rollback();
+      }
+    }
+  }
+
+  private long copyTable(Connection src, Connection dst, TenantTable table) throws SQLException {
+    String columnList = String.join(", ", table.columns());
+    int columns = table.columns().size();
+    String insert = "insert into " + table.name() + " (" + columnList + ") values ("
+        + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+    try (PreparedStatement select = src.prepareStatement("select " + columnList + " from " + table.name())) {
+      select.setFetchSize(batchSize);
+      try (ResultSet rs = select.executeQuery(); PreparedStatement ps = dst.prepareStatement(insert)) {
+        long copied = 0;
+        int pending = 0;
+        while (rs.next()) {
+          for (int i = 1; i <= columns; i++) {
+            ps.setObject(i, rs.getObject(i));
+          }
+          ps.addBatch();
+          copied++;
+          if (++pending == batchSize) {
+            ps.executeBatch();
+            pending = 0;
+          }
+        }
+        if (pending > 0) {
+          ps.executeBatch();
+        }
+        return copied;
+      }
+    }
+  }
+
+  /** Fails unless {@code table} has exactly the declared columns on this shard. */
+  private static void checkColumns(Connection c, TenantTable table, String side) throws SQLException {
+    List<String> actual = new ArrayList<>();
+    try (PreparedStatement ps = c.prepareStatement("""
+        select column_name from information_schema.columns
+        where table_schema = current_schema() and table_name = ?
+        order by ordinal_position
+        """)) {
+      ps.setString(1, table.name());
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          actual.add(rs.getString(1));
+        }
+      }
+    }
+    if (!Set.copyOf(actual).equals(Set.copyOf(table.columns()))) {
+      throw new IllegalStateException("Columns of " + table.name() + " on the " + side + " shard are " + actual
+          + ", expected " + table.columns() + "; update TenantShardMover.TENANT_TABLES or migrate the shard");
+    }
+  }
+
+  private static void carryGeneration(UUID tenantId, Connection src, Connection dst) throws SQLException {
+    long generation;
+    try (PreparedStatement ps = src.prepareStatement("select coalesce(sum(generation), 0) from tenant_user_stats");
+         ResultSet rs = ps.executeQuery()) {
+      rs.next();
+      generation = rs.getLong(1);
+    }
+    try (PreparedStatement ps = dst.prepareStatement("""
+        insert into tenant_user_stats as s (tenant_id, stripe, generation) values (?, 0, ?)
+        on conflict (tenant_id, stripe) do update set generation = s.generation + excluded.generation
+        """)) {
+      ps.setObject(1, tenantId);
+      ps.setLong(2, generation);
+      ps.executeUpdate();
+    }
+  }
+
+  private long deleteAll(UUID tenantId, DataSource source) throws SQLException {
+    try (Connection c = begin(source, tenantId)) {
+      try {
+        long deleted = 0;
+        for (TenantTable table : TENANT_TABLES.reversed()) {
+          try (PreparedStatement ps = c.prepareStatement("delete from " + table.name())) {
+            deleted += ps.executeUpdate();
+          }
+        }
+        c.commit();
+        return deleted;
+      } catch (SQLException | RuntimeException e) {
+        c.rollback();
+        throw e;
+      }
+    }
+  }
+
+  private static long count(Connection c, String table) throws SQLException {
+    try (PreparedStatement ps = c.prepareStatement("select count(*) from " + table);
+         ResultSet rs = ps.executeQuery()) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  /**
+   * Opens a transaction scoped to {@code tenantId}: RLS limits every statement to its rows. The change feed is
+   * switched off, since copying and deleting moved rows is not a change subscribers should see.
+   */
+  private static Connection begin(DataSource ds, UUID tenantId) throws SQLException {
+    Connection c = ds.getConnection();
+    try {
+      c.setAutoCommit(false);
+      try (PreparedStatement ps = c.prepareStatement(
+          "select set_config('app.tenant_id', ?, true), set_config('app.change_feed', 'off', true)")) {
+        ps.setString(1, tenantId.toString());
+        ps.execute();
+      }
+      return c;
+    } catch (SQLException | RuntimeException e) {
+      c.close();
+      throw e;
+    }
+  }
+}
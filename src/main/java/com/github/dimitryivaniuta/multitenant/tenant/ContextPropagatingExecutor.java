@@ -0,0 +1,38 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@link Executor} wrapper that applies {@link TenantContextTaskDecorator} to every task.
+ *
+ * <p>Use it for executors that are not Spring-managed, e.g. with {@code CompletableFuture}:
+ *
+ * <pre>
+ * CompletableFuture.supplyAsync(() -&gt; userService.get(id), ContextPropagatingExecutor.wrap(pool));
+ * </pre>
+ */
+public final class ContextPropagatingExecutor implements Executor {
+
+  private static final TaskDecorator DECORATOR = new TenantContextTaskDecorator();
+
+  private final Executor delegate;
+
+  private ContextPropagatingExecutor(Executor delegate) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+  }
+
+  /** Wraps {@code delegate}; already-wrapped executors are returned as-is. */
+  public static Executor wrap(Executor delegate) {
+    if (delegate instanceof ContextPropagatingExecutor) {
+      return delegate;
+    }
+    return new ContextPropagatingExecutor(delegate);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    delegate.execute(DECORATOR.decorate(command));
+  }
+}
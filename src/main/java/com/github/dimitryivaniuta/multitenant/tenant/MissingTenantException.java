@@ -2,10 +2,12 @@ package com.github.dimitryivaniuta.multitenant.tenant;
 
 /**
  * Thrown when a tenant id is required but not present.
+ *
+ * <p>No stack trace is captured; the message says what is missing and the API maps it to a 400.
  */
 public class MissingTenantException extends RuntimeException {
 
   public MissingTenantException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,51 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.util.UUID;
+
+/**
+ * {@code ScopedValue}-backed tenant store used in virtual-thread mode.
+ *
+ * <p>Kept in its own class: {@code ScopedValue} is a preview API on JDK 21, so only this class is
+ * compiled as preview-dependent and it is loaded only when {@link TenantContext#useScopedValues()} is
+ * called. Platform-thread mode therefore runs without {@code --enable-preview}.
+ *
+ * <p>A scoped binding takes precedence over a value set through {@link TenantContext#setTenantId(UUID)},
+ * which is kept in a thread-local fallback for code that runs outside any request scope.
+ */
+final class ScopedValueTenantHolder implements TenantContext.TenantHolder {
+
+  private static final ScopedValue<UUID> CURRENT = ScopedValue.newInstance();
+
+  private final ThreadLocal<UUID> fallback = new ThreadLocal<>();
+
+  @Override
+  public UUID get() {
+    return CURRENT.isBound() ? CURRENT.get() : fallback.get();
+  }
+
+  @Override
+  public void set(UUID tenantId) {
+    fallback.set(tenantId);
+  }
+
+  @Override
+  public void clear() {
+    fallback.remove();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <X extends Exception> void runWith(UUID tenantId, TenantContext.ScopedAction<X> action) throws X {
+    try {
+      ScopedValue.where(CURRENT, tenantId).call(() -> {
+        action.run();
+        return null;
+      });
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      // Only the action can throw a checked exception here, and it is declared as X.
+      throw (X) e;
+    }
+  }
+}
@@ -8,6 +8,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 import javax.sql.DataSource;
 import org.springframework.jdbc.datasource.AbstractDataSource;
 
@@ -25,29 +26,74 @@ import org.springframework.jdbc.datasource.AbstractDataSource;
  *
  * <p>PostgreSQL Row Level Security (RLS) policies reference {@code current_setting('app.tenant_id', true)}
  * and therefore deny all reads/writes when the tenant id is missing.
+ *
+ * <p>The proxy also reports {@code set_config} latency, transaction outcomes/durations and connection
+ * hold times to a {@link TenantDataSourceObserver}.
+ *
+ * <p>Tenants with a dedicated {@link TenantDataSourceRouter.Target} borrow from the target's pool instead of
+ * the delegate, and/or get the target schema as {@code search_path} in the same {@code set_config}
+ * round trip. Everyone else uses the delegate and the shared tables.
  */
 public final class TenantAwareDataSource extends AbstractDataSource {
 
   private static final String SET_TENANT_SQL = "select set_config('app.tenant_id', ?, true)";
+  private static final String SET_TENANT_AND_SCHEMA_SQL =
+      "select set_config('app.tenant_id', ?, true), set_config('search_path', ?, true)";
 
   private final DataSource delegate;
+  private final Supplier<TenantDataSourceObserver> observer;
+  private final Supplier<TenantDataSourceRouter> router;
 
   public TenantAwareDataSource(DataSource delegate) {
+    this(delegate, () -> TenantDataSourceObserver.NOOP);
+  }
+
+  /**
+   * @param observer queried on every connection borrow, so it may be supplied lazily by the container
+   */
+  public TenantAwareDataSource(DataSource delegate, Supplier<TenantDataSourceObserver> observer) {
+    this(delegate, observer, () -> TenantDataSourceRouter.SHARED);
+  }
+
+  /**
+   * @param observer queried on every connection borrow, so it may be supplied lazily by the container
+   * @param router queried on every connection borrow, so it may be supplied lazily by the container
+   */
+  public TenantAwareDataSource(
+      DataSource delegate,
+      Supplier<TenantDataSourceObserver> observer,
+      Supplier<TenantDataSourceRouter> router
+  ) {
     this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.observer = Objects.requireNonNull(observer, "observer");
+    this.router = Objects.requireNonNull(router, "router");
   }
 
   @Override
   public Connection getConnection() throws SQLException {
-    return wrap(delegate.getConnection());
+    DataSource target = borrowFrom();
+    return wrap(target.getConnection(), target);
   }
 
   @Override
   public Connection getConnection(String username, String password) throws SQLException {
-    return wrap(delegate.getConnection(username, password));
+    DataSource target = borrowFrom();
+    return wrap(target.getConnection(username, password), target);
   }
 
-  private static Connection wrap(Connection connection) {
-    InvocationHandler handler = new TenantConnectionInvocationHandler(connection);
+  private DataSource borrowFrom() {
+    UUID tenantId = TenantContext.getTenantId().orElse(null);
+    DataSource dedicated = tenantId == null ? null : dataSourceOf(router.get().route(tenantId));
+    return dedicated != null ? dedicated : delegate;
+  }
+
+  private static DataSource dataSourceOf(TenantDataSourceRouter.Target target) {
+    return target == null ? null : target.dataSource();
+  }
+
+  private Connection wrap(Connection connection, DataSource source) {
+    InvocationHandler handler =
+        new TenantConnectionInvocationHandler(connection, source, delegate, observer.get(), router.get());
     return (Connection) Proxy.newProxyInstance(
         TenantAwareDataSource.class.getClassLoader(),
         new Class<?>[] {Connection.class},
@@ -61,10 +107,32 @@ public final class TenantAwareDataSource extends AbstractDataSource {
   private static final class TenantConnectionInvocationHandler implements InvocationHandler {
 
     private final Connection delegate;
+    private final DataSource source;
+    private final DataSource shared;
+    private final TenantDataSourceObserver observer;
+    private final TenantDataSourceRouter router;
+    private final UUID borrowTenantId = TenantContext.getTenantId().orElse(null);
+    private final long borrowedAtNanos = System.nanoTime();
     private boolean tenantAppliedForCurrentTx = false;
-
-    private TenantConnectionInvocationHandler(Connection delegate) {
+    private boolean closed = false;
+    private boolean readOnly = false;
+    private boolean txReadOnly;
+    private UUID txTenantId;
+    private long txStartNanos;
+
+    private TenantConnectionInvocationHandler(
+        Connection delegate,
+        DataSource source,
+        DataSource shared,
+        TenantDataSourceObserver observer,
+        TenantDataSourceRouter router
+    ) {
       this.delegate = delegate;
+      this.source = source;
+      this.shared = shared;
+      this.observer = observer;
+      this.router = router;
+      observer.connectionBorrowed(borrowTenantId);
     }
 
     @Override
@@ -76,6 +144,7 @@ public final class TenantAwareDataSource extends AbstractDataSource {
         boolean autoCommit = b;
         Object result = method.invoke(delegate, args);
         if (!autoCommit) {
+          beginTransaction();
           applyTenantIfNeeded();
         } else {
           // Transaction ended; next transaction must re-apply.
@@ -84,17 +153,59 @@ public final class TenantAwareDataSource extends AbstractDataSource {
         return result;
       }
 
+      // Spring marks read-only transactions before it begins them.
+      if ("setReadOnly".equals(name) && args != null && args.length == 1 && args[0] instanceof Boolean b) {
+        Object result = method.invoke(delegate, args);
+        readOnly = b;
+        return result;
+      }
+
       if ("commit".equals(name) || "rollback".equals(name)) {
+        boolean endsTransaction = args == null || args.length == 0;
+        boolean success = false;
         try {
-          return method.invoke(delegate, args);
+          Object result = method.invoke(delegate, args);
+          success = true;
+          return result;
         } finally {
           tenantAppliedForCurrentTx = false;
+          if (endsTransaction) {
+            endTransaction("commit".equals(name) && success);
+          }
+        }
+      }
+
+      if ("close".equals(name) && !closed) {
+        closed = true;
+        try {
+          return method.invoke(delegate, args);
+        } finally {
+          observer.connectionReleased(borrowTenantId, System.nanoTime() - borrowedAtNanos);
         }
       }
 
       return method.invoke(delegate, args);
     }
 
+    private void beginTransaction() {
+      if (txStartNanos != 0L) {
+        return;
+      }
+      txStartNanos = System.nanoTime();
+      txReadOnly = readOnly;
+      txTenantId = TenantContext.getTenantId().orElse(null);
+      observer.transactionStarted(txTenantId);
+    }
+
+    private void endTransaction(boolean committed) {
+      if (txStartNanos == 0L) {
+        return;
+      }
+      long elapsed = System.nanoTime() - txStartNanos;
+      txStartNanos = 0L;
+      observer.transactionCompleted(txTenantId, committed, txReadOnly, elapsed);
+    }
+
     private void applyTenantIfNeeded() throws SQLException {
       if (tenantAppliedForCurrentTx) {
         return;
@@ -107,10 +218,25 @@ public final class TenantAwareDataSource extends AbstractDataSource {
       if (tenantId == null) {
         return;
       }
-      try (PreparedStatement ps = delegate.prepareStatement(SET_TENANT_SQL)) {
+      TenantDataSourceRouter.Target target = router.route(tenantId);
+      DataSource expected = dataSourceOf(target) != null ? dataSourceOf(target) : shared;
+      if (expected != source) {
+        // The connection was borrowed for another tenant's location; never run this tenant on it.
+        throw new SQLException("Connection was borrowed for a different tenant location than tenant " + tenantId);
+      }
+      String schema = target == null ? null : target.schema();
+      String sql = schema == null ? SET_TENANT_SQL : SET_TENANT_AND_SCHEMA_SQL;
+
+      long start = System.nanoTime();
+      try (PreparedStatement ps = delegate.prepareStatement(sql)) {
         ps.setString(1, tenantId.toString());
+        if (schema != null) {
+          // public stays on the path for extension objects (pg_trgm); the tenant schema shadows its tables
+          ps.setString(2, schema + ", public");
+        }
         ps.execute();
       }
+      observer.tenantApplied(tenantId, System.nanoTime() - start);
       tenantAppliedForCurrentTx = true;
     }
   }
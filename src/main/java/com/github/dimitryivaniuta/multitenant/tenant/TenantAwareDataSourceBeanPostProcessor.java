@@ -2,10 +2,13 @@ package com.github.dimitryivaniuta.multitenant.tenant;
 
 import javax.sql.DataSource;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * Wraps every {@link DataSource} bean with {@link TenantAwareDataSource}.
@@ -17,15 +20,33 @@ import org.springframework.stereotype.Component;
  *
  * <p>This eliminates the class of “missing tenant filter” mistakes because the database itself
  * enforces isolation via RLS and the tenant id is injected for every transaction.
+ *
+ * <p>All {@link TenantDataSourceObserver} beans (metrics, read-your-writes tracking) and
+ * {@link TenantDataSourceRouter} beans (dedicated tenants, shards; first match wins) are resolved lazily, on
+ * the first connection borrow, so this post-processor does not force their early initialization.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@ImportRuntimeHints(TenantRuntimeHints.class)
 public class TenantAwareDataSourceBeanPostProcessor implements BeanPostProcessor {
 
+  private final ObjectProvider<TenantDataSourceObserver> observers;
+  private final ObjectProvider<TenantDataSourceRouter> routers;
+
+  public TenantAwareDataSourceBeanPostProcessor(
+      ObjectProvider<TenantDataSourceObserver> observers,
+      ObjectProvider<TenantDataSourceRouter> routers
+  ) {
+    this.observers = observers;
+    this.routers = routers;
+  }
+
   @Override
   public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
     if (bean instanceof DataSource ds && !(ds instanceof TenantAwareDataSource)) {
-      return new TenantAwareDataSource(ds);
+      return new TenantAwareDataSource(ds,
+          SingletonSupplier.of(() -> TenantDataSourceObserver.composite(observers.orderedStream().toList())),
+          SingletonSupplier.of(() -> TenantDataSourceRouter.firstMatch(routers.orderedStream().toList())));
     }
     return bean;
   }
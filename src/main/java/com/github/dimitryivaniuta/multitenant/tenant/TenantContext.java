@@ -1,42 +1,143 @@
 package com.github.dimitryivaniuta.multitenant.tenant;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Thread-local holder for the current tenant.
+ * Holder for the current tenant.
  *
  * <p>Populated for each incoming HTTP request (from the JWT claim {@code tenantId}) and cleared
  * at the end of the request.
+ *
+ * <p>Two backing stores are supported:
+ * <ul>
+ *   <li><b>thread-local</b> (default): a plain {@link ThreadLocal}.</li>
+ *   <li><b>scoped-value</b>: a {@code java.lang.ScopedValue} binding, enabled together with virtual-thread
+ *   request execution (see {@code config.VirtualThreadConfig}). The binding is visible only inside
+ *   {@link #runWithTenant(UUID, ScopedAction)} and cannot leak past it. On JDK 21 this needs
+ *   {@code --enable-preview} at runtime.</li>
+ * </ul>
+ *
+ * <p>The static API is the same in both modes. {@link #setTenantId(UUID)} / {@link #clear()} remain
+ * available for code that runs outside a request scope (background jobs, tests).
  */
 public final class TenantContext {
 
-  private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+  private static volatile TenantHolder holder = new ThreadLocalTenantHolder();
+
+  /** Kept apart from {@link #holder}: an {@code instanceof} would load the preview-dependent holder class. */
+  private static volatile boolean scopedValues;
 
   private TenantContext() {
   }
 
+  /**
+   * Switches the backing store to {@code ScopedValue}.
+   *
+   * <p>Must be called once at startup, before any tenant context is bound.
+   */
+  public static void useScopedValues() {
+    holder = new ScopedValueTenantHolder();
+    scopedValues = true;
+  }
+
+  /** Returns {@code true} if the current tenant is stored in a {@code ScopedValue}. */
+  public static boolean isScopedValueMode() {
+    return scopedValues;
+  }
+
   /** Sets the current tenant id for the running thread. */
   public static void setTenantId(UUID tenantId) {
-    CURRENT.set(tenantId);
+    holder.set(tenantId);
   }
 
   /** Clears the current tenant id for the running thread. */
   public static void clear() {
-    CURRENT.remove();
+    holder.clear();
   }
 
   /** Returns the current tenant id, if present. */
   public static Optional<UUID> getTenantId() {
-    return Optional.ofNullable(CURRENT.get());
+    return Optional.ofNullable(holder.get());
   }
 
   /** Returns the current tenant id or throws if missing. */
   public static UUID requireTenantId() {
-    UUID tenantId = CURRENT.get();
+    UUID tenantId = holder.get();
     if (tenantId == null) {
       throw new MissingTenantException("Missing tenant context");
     }
     return tenantId;
   }
+
+  /**
+   * Runs {@code action} with {@code tenantId} as the current tenant and restores the previous value
+   * afterwards (including on exceptions).
+   */
+  public static <X extends Exception> void runWithTenant(UUID tenantId, ScopedAction<X> action) throws X {
+    holder.runWith(Objects.requireNonNull(tenantId, "tenantId"), action);
+  }
+
+  /**
+   * Action executed with a bound tenant.
+   *
+   * @param <X> checked exception type thrown by the action
+   */
+  @FunctionalInterface
+  public interface ScopedAction<X extends Exception> {
+    void run() throws X;
+  }
+
+  /**
+   * Backing store strategy.
+   */
+  interface TenantHolder {
+
+    UUID get();
+
+    void set(UUID tenantId);
+
+    void clear();
+
+    <X extends Exception> void runWith(UUID tenantId, ScopedAction<X> action) throws X;
+  }
+
+  /**
+   * {@link ThreadLocal}-backed store.
+   */
+  static final class ThreadLocalTenantHolder implements TenantHolder {
+
+    private final ThreadLocal<UUID> current = new ThreadLocal<>();
+
+    @Override
+    public UUID get() {
+      return current.get();
+    }
+
+    @Override
+    public void set(UUID tenantId) {
+      current.set(tenantId);
+    }
+
+    @Override
+    public void clear() {
+      current.remove();
+    }
+
+    @Override
+    public <X extends Exception> void runWith(UUID tenantId, ScopedAction<X> action) throws X {
+      UUID previous = current.get();
+      current.set(tenantId);
+      try {
+        action.run();
+      } finally {
+        if (previous == null) {
+          current.remove();
+        } else {
+          current.set(previous);
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,45 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries {@link TenantContext} and the MDC (correlation id, tenant id) from the submitting thread to
+ * the worker thread.
+ *
+ * <p>Both are captured when the task is submitted and restored on the worker only for the duration of
+ * the task; the worker's previous state is put back afterwards so pooled threads never keep a tenant.
+ * Without this, work handed to an executor runs without {@code app.tenant_id} and RLS hides every row.
+ */
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable task) {
+    UUID tenantId = TenantContext.getTenantId().orElse(null);
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    return () -> {
+      Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+      setMdc(mdc);
+      try {
+        if (tenantId != null) {
+          TenantContext.runWithTenant(tenantId, task::run);
+        } else {
+          task.run();
+        }
+      } finally {
+        setMdc(previousMdc);
+      }
+    };
+  }
+
+  private static void setMdc(Map<String, String> contextMap) {
+    if (contextMap == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(contextMap);
+    }
+  }
+}
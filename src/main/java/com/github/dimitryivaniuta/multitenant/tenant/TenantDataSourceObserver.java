@@ -0,0 +1,78 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Callbacks from {@link TenantAwareDataSource} for instrumentation.
+ *
+ * <p>All callbacks run on the JDBC caller's thread, inside the hot path; implementations must be cheap
+ * and must not throw. A {@code null} tenant id means no tenant was bound.
+ */
+public interface TenantDataSourceObserver {
+
+  /** Observer that ignores every event. */
+  TenantDataSourceObserver NOOP = new TenantDataSourceObserver() {
+  };
+
+  /** {@code set_config('app.tenant_id', ...)} was executed and took {@code nanos}. */
+  default void tenantApplied(UUID tenantId, long nanos) {
+  }
+
+  /** A JDBC transaction began ({@code setAutoCommit(false)}). */
+  default void transactionStarted(UUID tenantId) {
+  }
+
+  /**
+   * A JDBC transaction ended with commit or rollback after {@code nanos}.
+   *
+   * @param readOnly whether the connection was marked read-only when the transaction began
+   */
+  default void transactionCompleted(UUID tenantId, boolean committed, boolean readOnly, long nanos) {
+  }
+
+  /** A connection was borrowed; every borrow is followed by exactly one {@link #connectionReleased}. */
+  default void connectionBorrowed(UUID tenantId) {
+  }
+
+  /** A borrowed connection was closed (returned to the pool) after being held for {@code nanos}. */
+  default void connectionReleased(UUID tenantId, long nanos) {
+  }
+
+  /** Returns an observer that forwards every event to {@code observers}, in order. */
+  static TenantDataSourceObserver composite(List<TenantDataSourceObserver> observers) {
+    if (observers.isEmpty()) {
+      return NOOP;
+    }
+    if (observers.size() == 1) {
+      return observers.get(0);
+    }
+    List<TenantDataSourceObserver> all = List.copyOf(observers);
+    return new TenantDataSourceObserver() {
+      @Override
+      public void tenantApplied(UUID tenantId, long nanos) {
+        all.forEach(o -> o.tenantApplied(tenantId, nanos));
+      }
+
+      @Override
+      public void transactionStarted(UUID tenantId) {
+        all.forEach(o -> o.transactionStarted(tenantId));
+      }
+
+      @Override
+      public void transactionCompleted(UUID tenantId, boolean committed, boolean readOnly, long nanos) {
+        all.forEach(o -> o.transactionCompleted(tenantId, committed, readOnly, nanos));
+      }
+
+      @Override
+      public void connectionBorrowed(UUID tenantId) {
+        all.forEach(o -> o.connectionBorrowed(tenantId));
+      }
+
+      @Override
+      public void connectionReleased(UUID tenantId, long nanos) {
+        all.forEach(o -> o.connectionReleased(tenantId, nanos));
+      }
+    };
+  }
+}
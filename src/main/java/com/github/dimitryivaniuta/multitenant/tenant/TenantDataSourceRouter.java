@@ -0,0 +1,55 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+/**
+ * Decides where a tenant's data lives, for {@link TenantAwareDataSource}.
+ *
+ * <p>Tenants without a {@link Target} use the shared tables (protected by RLS). A dedicated tenant can get
+ * its own schema (applied as the transaction's {@code search_path}), its own database pool, or both.
+ * Implementations are called on every connection borrow and transaction begin and must be cheap.
+ */
+public interface TenantDataSourceRouter {
+
+  /** Router that keeps every tenant on the shared tables. */
+  TenantDataSourceRouter SHARED = tenantId -> null;
+
+  /**
+   * Returns the dedicated target of {@code tenantId}, or {@code null} for the shared tables.
+   *
+   * @param tenantId the current tenant, never {@code null}
+   */
+  Target route(UUID tenantId);
+
+  /** Returns a router that asks {@code routers} in order and uses the first non-{@code null} target. */
+  static TenantDataSourceRouter firstMatch(List<TenantDataSourceRouter> routers) {
+    if (routers.isEmpty()) {
+      return SHARED;
+    }
+    if (routers.size() == 1) {
+      return routers.get(0);
+    }
+    List<TenantDataSourceRouter> all = List.copyOf(routers);
+    return tenantId -> {
+      for (TenantDataSourceRouter router : all) {
+        Target target = router.route(tenantId);
+        if (target != null) {
+          return target;
+        }
+      }
+      return null;
+    };
+  }
+
+  /**
+   * A dedicated location.
+   *
+   * @param dataSource pool to borrow from, or {@code null} for the shared pool
+   * @param schema unquoted schema name put before {@code public} on {@code search_path}, or {@code null} to keep
+   *     the default
+   */
+  record Target(DataSource dataSource, String schema) {
+  }
+}
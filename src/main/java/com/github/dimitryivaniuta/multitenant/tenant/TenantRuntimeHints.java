@@ -0,0 +1,20 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.sql.Connection;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * AOT hints for the tenant-aware JDBC layer.
+ *
+ * <p>{@link TenantAwareDataSource} hands out JDK dynamic proxies of {@link Connection}, created outside any
+ * Spring proxy factory, so AOT processing cannot discover them. On the JVM this only documents the
+ * contract; a native image needs the proxy class registered at build time.
+ */
+class TenantRuntimeHints implements RuntimeHintsRegistrar {
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    hints.proxies().registerJdkProxy(Connection.class);
+  }
+}
@@ -0,0 +1,26 @@
+-- Tenant-to-shard placements shared by every node (sharding.ShardPlacements). Only the primary shard's copy
+-- is used; the other shards get empty tables because every shard runs the same migrations.
+--
+-- A tenant without a row is placed by app.sharding.overrides or the hash ring. Every write takes the next
+-- shard_placement_version value under an advisory lock, so max(version) only grows in commit order and a
+-- node can tell from it alone whether it has to reload. Nodes record the version they have applied in
+-- shard_placement_nodes; a move waits on that before it deletes the source rows.
+-- Not tenant data, so no RLS; the key is named tenant rather than tenant_id because every tenant_id table
+-- must have RLS (RlsEnforcementIT).
+
+CREATE SEQUENCE shard_placement_version;
+
+CREATE TABLE shard_placements (
+  tenant  UUID PRIMARY KEY,
+  shard   TEXT NOT NULL,
+  moving  BOOLEAN NOT NULL,
+  version BIGINT NOT NULL
+);
+
+CREATE INDEX ix_shard_placements_version ON shard_placements (version);
+
+CREATE TABLE shard_placement_nodes (
+  node_id         TEXT PRIMARY KEY,
+  applied_version BIGINT NOT NULL,
+  heartbeat_at    TIMESTAMPTZ NOT NULL
+);
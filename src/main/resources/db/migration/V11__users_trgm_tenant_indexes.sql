@@ -0,0 +1,15 @@
+-- Tenant-leading trigram indexes for user search (UserRepository.search).
+--
+-- The V5 indexes start with the trigram column, so within a partition the GIN scan still collects matching
+-- rows of every tenant that hashes there before the tenant predicate drops them. btree_gin lets tenant_id
+-- lead a GIN index: its entries intersect with the trigram entries inside the index, and a search only
+-- reads its own tenant's postings. The same indexes serve ILIKE '%term%' and the word-similarity operator
+-- (<%) the search ranks by.
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX ix_users_tenant_email_trgm ON users USING gin (tenant_id, email gin_trgm_ops);
+CREATE INDEX ix_users_tenant_full_name_trgm ON users USING gin (tenant_id, full_name gin_trgm_ops);
+
+DROP INDEX ix_users_email_trgm;
+DROP INDEX ix_users_full_name_trgm;
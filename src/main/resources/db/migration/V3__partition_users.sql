@@ -0,0 +1,80 @@
+-- Hash-partition users by tenant_id.
+--
+-- The partition count comes from the Flyway placeholder users_partitions
+-- (spring.flyway.placeholders.users_partitions). It is fixed once this migration has run; changing it
+-- later requires a new migration that re-partitions the table.
+--
+-- Notes:
+--  * A primary key on a partitioned table must contain the partition key, so it becomes (tenant_id, id).
+--    Ids are random UUIDs; lookups by id are still served by this key (RLS supplies tenant_id).
+--  * ux_users_tenant_email keeps its (tenant_id, email) semantics: it contains the partition key, so it
+--    can stay a single unique index on the parent.
+--  * RLS policies on the parent only apply to queries through the parent. Every partition therefore gets
+--    its own RLS (+ FORCE) and the same users_tenant_isolation policy.
+--  * Queries carry tenant_id = current_setting(...) through the RLS policy, so the executor prunes to a
+--    single partition at startup (initial pruning of stable expressions).
+--  * Rows are copied in this migration's transaction; for very large tables run it in a maintenance window.
+
+ALTER TABLE users RENAME TO users_unpartitioned;
+ALTER INDEX ux_users_tenant_email RENAME TO ux_users_unpartitioned_tenant_email;
+ALTER INDEX ix_users_tenant_id RENAME TO ix_users_unpartitioned_tenant_id;
+
+-- The owner must see all rows to copy them.
+ALTER TABLE users_unpartitioned NO FORCE ROW LEVEL SECURITY;
+ALTER TABLE users_unpartitioned DISABLE ROW LEVEL SECURITY;
+
+CREATE TABLE users (
+  id         UUID NOT NULL,
+  tenant_id  UUID NOT NULL,
+  email      VARCHAR(320) NOT NULL,
+  full_name  VARCHAR(200) NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+CREATE UNIQUE INDEX ux_users_tenant_email ON users (tenant_id, email);
+CREATE INDEX ix_users_tenant_id ON users (tenant_id);
+
+DO $$
+DECLARE
+  partitions CONSTANT int := ${users_partitions};
+BEGIN
+  IF partitions < 1 THEN
+    RAISE EXCEPTION 'users_partitions must be >= 1, got %', partitions;
+  END IF;
+
+  FOR i IN 0 .. partitions - 1 LOOP
+    EXECUTE format(
+      'CREATE TABLE users_p%s PARTITION OF users FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+      i, partitions, i);
+  END LOOP;
+END $$;
+
+INSERT INTO users (id, tenant_id, email, full_name, created_at)
+SELECT id, tenant_id, email, full_name, created_at FROM users_unpartitioned;
+
+DROP TABLE users_unpartitioned;
+
+ALTER TABLE users ENABLE ROW LEVEL SECURITY;
+ALTER TABLE users FORCE ROW LEVEL SECURITY;
+
+CREATE POLICY users_tenant_isolation ON users
+  USING (tenant_id = NULLIF(current_setting('app.tenant_id', true), '')::uuid)
+  WITH CHECK (tenant_id = NULLIF(current_setting('app.tenant_id', true), '')::uuid);
+
+DO $$
+DECLARE
+  part regclass;
+BEGIN
+  FOR part IN SELECT inhrelid::regclass FROM pg_inherits WHERE inhparent = 'users'::regclass LOOP
+    EXECUTE format('ALTER TABLE %s ENABLE ROW LEVEL SECURITY', part);
+    EXECUTE format('ALTER TABLE %s FORCE ROW LEVEL SECURITY', part);
+    EXECUTE format(
+      'CREATE POLICY users_tenant_isolation ON %s '
+      || 'USING (tenant_id = NULLIF(current_setting(''app.tenant_id'', true), '''')::uuid) '
+      || 'WITH CHECK (tenant_id = NULLIF(current_setting(''app.tenant_id'', true), '''')::uuid)',
+      part);
+  END LOOP;
+END $$;
+
+ANALYZE users;
@@ -0,0 +1,35 @@
+-- Tenant isolation policies via a STABLE helper function.
+--
+-- app_current_tenant() wraps the per-transaction setting so every policy uses the same expression.
+-- It is a single-statement SQL function marked STABLE, so the planner inlines it and evaluates it once
+-- per scan (index condition / partition pruning) instead of re-parsing the cast per row.
+--
+-- The application also adds an explicit tenant_id = ? predicate (Hibernate @TenantId); these policies
+-- remain the backstop for anything that bypasses Hibernate.
+
+CREATE OR REPLACE FUNCTION app_current_tenant() RETURNS uuid
+  LANGUAGE sql
+  STABLE
+  PARALLEL SAFE
+AS $$
+  SELECT NULLIF(current_setting('app.tenant_id', true), '')::uuid
+$$;
+
+-- Parent and every partition carry their own policy (see V3__partition_users.sql).
+DO $$
+DECLARE
+  rel regclass;
+BEGIN
+  FOR rel IN
+    SELECT 'users'::regclass
+    UNION ALL
+    SELECT inhrelid::regclass FROM pg_inherits WHERE inhparent = 'users'::regclass
+  LOOP
+    EXECUTE format('DROP POLICY IF EXISTS users_tenant_isolation ON %s', rel);
+    EXECUTE format(
+      'CREATE POLICY users_tenant_isolation ON %s '
+      || 'USING (tenant_id = app_current_tenant()) '
+      || 'WITH CHECK (tenant_id = app_current_tenant())',
+      rel);
+  END LOOP;
+END $$;
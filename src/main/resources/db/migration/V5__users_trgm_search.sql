@@ -0,0 +1,10 @@
+-- Trigram indexes for user search (GET /api/users/search).
+--
+-- gin_trgm_ops serves ILIKE '%term%' on email and full_name. The indexes are created on the partitioned
+-- parent, so every tenant partition gets its own; with partition pruning a tenant's search only touches
+-- the index of its partition, and RLS / the tenant predicate filter the remaining rows.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX ix_users_email_trgm ON users USING gin (email gin_trgm_ops);
+CREATE INDEX ix_users_full_name_trgm ON users USING gin (full_name gin_trgm_ops);
@@ -0,0 +1,60 @@
+-- Per-tenant user counts, maintained in the same transaction as every insert/delete on users.
+--
+-- Each tenant has up to 16 stripe rows; a writer updates the stripe picked by its backend pid, so
+-- concurrent transactions (different connections) rarely touch the same row. The count is the sum of
+-- the stripes, which is at most 16 rows per tenant to read.
+--
+-- Statement-level triggers with transition tables keep bulk statements to one upsert per stripe
+-- instead of one per row.
+
+CREATE TABLE tenant_user_stats (
+  tenant_id  UUID NOT NULL,
+  stripe     SMALLINT NOT NULL,
+  user_count BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (tenant_id, stripe)
+);
+
+-- Backfill. The owner has to see all tenants' rows for this.
+ALTER TABLE users NO FORCE ROW LEVEL SECURITY;
+ALTER TABLE users DISABLE ROW LEVEL SECURITY;
+
+INSERT INTO tenant_user_stats (tenant_id, stripe, user_count)
+SELECT tenant_id, 0, count(*) FROM users GROUP BY tenant_id;
+
+ALTER TABLE users ENABLE ROW LEVEL SECURITY;
+ALTER TABLE users FORCE ROW LEVEL SECURITY;
+
+ALTER TABLE tenant_user_stats ENABLE ROW LEVEL SECURITY;
+ALTER TABLE tenant_user_stats FORCE ROW LEVEL SECURITY;
+
+CREATE POLICY tenant_user_stats_isolation ON tenant_user_stats
+  USING (tenant_id = app_current_tenant())
+  WITH CHECK (tenant_id = app_current_tenant());
+
+CREATE FUNCTION tenant_user_stats_apply() RETURNS trigger
+  LANGUAGE plpgsql
+AS $$
+DECLARE
+  stripe_no CONSTANT smallint := pg_backend_pid() % 16;
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO tenant_user_stats AS s (tenant_id, stripe, user_count)
+    SELECT tenant_id, stripe_no, count(*) FROM new_rows GROUP BY tenant_id
+    ON CONFLICT (tenant_id, stripe) DO UPDATE SET user_count = s.user_count + EXCLUDED.user_count;
+  ELSE
+    INSERT INTO tenant_user_stats AS s (tenant_id, stripe, user_count)
+    SELECT tenant_id, stripe_no, -count(*) FROM old_rows GROUP BY tenant_id
+    ON CONFLICT (tenant_id, stripe) DO UPDATE SET user_count = s.user_count + EXCLUDED.user_count;
+  END IF;
+  RETURN NULL;
+END $$;
+
+CREATE TRIGGER users_stats_insert
+  AFTER INSERT ON users
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tenant_user_stats_apply();
+
+CREATE TRIGGER users_stats_delete
+  AFTER DELETE ON users
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tenant_user_stats_apply();
@@ -0,0 +1,39 @@
+-- Versions for conditional GETs.
+--
+-- users.version is the JPA optimistic-lock version; together with the id it is the strong ETag of a
+-- single user. tenant_user_stats.generation is bumped once per writing statement (insert, update or
+-- delete) per stripe, so the sum over a tenant's stripes increases with every committed change and is
+-- the tenant's collection ETag. Both are metadata-only column additions (constant defaults).
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tenant_user_stats ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION tenant_user_stats_apply() RETURNS trigger
+  LANGUAGE plpgsql
+AS $$
+DECLARE
+  stripe_no CONSTANT smallint := pg_backend_pid() % 16;
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO tenant_user_stats AS s (tenant_id, stripe, user_count, generation)
+    SELECT tenant_id, stripe_no, count(*), 1 FROM new_rows GROUP BY tenant_id
+    ON CONFLICT (tenant_id, stripe) DO UPDATE
+      SET user_count = s.user_count + EXCLUDED.user_count, generation = s.generation + 1;
+  ELSIF TG_OP = 'UPDATE' THEN
+    INSERT INTO tenant_user_stats AS s (tenant_id, stripe, user_count, generation)
+    SELECT DISTINCT tenant_id, stripe_no, 0, 1 FROM new_rows
+    ON CONFLICT (tenant_id, stripe) DO UPDATE SET generation = s.generation + 1;
+  ELSE
+    INSERT INTO tenant_user_stats AS s (tenant_id, stripe, user_count, generation)
+    SELECT tenant_id, stripe_no, -count(*), 1 FROM old_rows GROUP BY tenant_id
+    ON CONFLICT (tenant_id, stripe) DO UPDATE
+      SET user_count = s.user_count + EXCLUDED.user_count, generation = s.generation + 1;
+  END IF;
+  RETURN NULL;
+END $$;
+
+CREATE TRIGGER users_stats_update
+  AFTER UPDATE ON users
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tenant_user_stats_apply();
@@ -0,0 +1,25 @@
+-- Audit trail of mutating API calls, written asynchronously in batches by audit.AuditLog.
+--
+-- id is a UUIDv7 generated by the application (time-ordered, no sequence), so a tenant's rows can be
+-- copied to another shard as-is without colliding with ids the target hands out later.
+-- Rows are append-only and read per tenant, newest first.
+
+CREATE TABLE audit_log (
+  id             UUID PRIMARY KEY,
+  tenant_id      UUID NOT NULL,
+  occurred_at    TIMESTAMPTZ NOT NULL,
+  actor          TEXT,
+  operation      TEXT NOT NULL,
+  entity_type    TEXT NOT NULL,
+  entity_id      UUID,
+  correlation_id TEXT
+);
+
+CREATE INDEX ix_audit_log_tenant_occurred ON audit_log (tenant_id, occurred_at DESC);
+
+ALTER TABLE audit_log ENABLE ROW LEVEL SECURITY;
+ALTER TABLE audit_log FORCE ROW LEVEL SECURITY;
+
+CREATE POLICY audit_log_tenant_isolation ON audit_log
+  USING (tenant_id = app_current_tenant())
+  WITH CHECK (tenant_id = app_current_tenant());
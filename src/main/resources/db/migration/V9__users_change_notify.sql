@@ -0,0 +1,31 @@
+-- Change feed: every committed insert/delete on users is announced on the user_changes channel.
+--
+-- Payload: '<tenant_id> <created|deleted> <user_id>'. NOTIFY is transactional, so listeners only see
+-- changes that committed. Statement-level triggers with transition tables cover bulk statements too.
+-- Sessions that set app.change_feed = 'off' (tenant shard moves, which copy and delete rows that did not
+-- really change) emit nothing.
+
+CREATE FUNCTION users_change_notify() RETURNS trigger
+  LANGUAGE plpgsql
+AS $$
+BEGIN
+  IF current_setting('app.change_feed', true) = 'off' THEN
+    RETURN NULL;
+  END IF;
+  IF TG_OP = 'INSERT' THEN
+    PERFORM pg_notify('user_changes', tenant_id || ' created ' || id) FROM new_rows;
+  ELSE
+    PERFORM pg_notify('user_changes', tenant_id || ' deleted ' || id) FROM old_rows;
+  END IF;
+  RETURN NULL;
+END $$;
+
+CREATE TRIGGER users_change_notify_insert
+  AFTER INSERT ON users
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION users_change_notify();
+
+CREATE TRIGGER users_change_notify_delete
+  AFTER DELETE ON users
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION users_change_notify();
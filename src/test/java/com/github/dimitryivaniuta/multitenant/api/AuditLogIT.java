@@ -0,0 +1,119 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Audit trail: committed creates and deletes show up in {@code audit_log}, visible only to their tenant.
+ */
+public class AuditLogIT extends IntegrationTestBase {
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void createsAndDeletes_areAudited_perTenant() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+
+    UserResponse first = postUser(tokenA, new CreateUserRequest("audit1@example.com", "A1"));
+    UserResponse second = postUser(tokenA, new CreateUserRequest("audit2@example.com", "A2"));
+    UserResponse third = postUser(tokenA, new CreateUserRequest("audit3@example.com", "A3"));
+
+    HttpHeaders headers = authHeaders(tokenA);
+    headers.set("X-Correlation-Id", "audit-delete-1");
+    ResponseEntity<Void> deleted = rest.exchange(
+        "/api/users/" + first.id(), HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+    assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    ResponseEntity<BulkDeleteResponse> bulk = rest.exchange(
+        "/api/users/bulk-delete",
+        HttpMethod.POST,
+        new HttpEntity<>(new BulkDeleteRequest(List.of(second.id(), third.id(), UUID.randomUUID())), headers),
+        BulkDeleteResponse.class
+    );
+    assertThat(bulk.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        assertThat(auditRows(tenantA)).hasSize(6));
+
+    List<Map<String, Object>> rows = auditRows(tenantA);
+    assertThat(rows).allSatisfy(row -> {
+      assertThat(row.get("tenant_id")).isEqualTo(tenantA);
+      assertThat(row.get("actor")).isEqualTo("test-user");
+      assertThat(row.get("entity_type")).isEqualTo("user");
+    });
+    assertThat(rows).filteredOn(row -> "user.create".equals(row.get("operation")))
+        .extracting(row -> row.get("entity_id"))
+        .containsExactlyInAnyOrder(first.id(), second.id(), third.id());
+    assertThat(rows).filteredOn(row -> "user.delete".equals(row.get("operation")))
+        .extracting(row -> row.get("entity_id"))
+        .containsExactlyInAnyOrder(first.id(), second.id(), third.id());
+    assertThat(rows).filteredOn(row -> first.id().equals(row.get("entity_id"))
+            && "user.delete".equals(row.get("operation")))
+        .extracting(row -> row.get("correlation_id"))
+        .containsExactly("audit-delete-1");
+
+    assertThat(auditRows(tenantB)).isEmpty();
+  }
+
+  @Test
+  void failedDelete_isNotAudited() {
+    UUID tenantId = UUID.randomUUID();
+    String token = tokenFor(tenantId);
+    UserResponse created = postUser(token, new CreateUserRequest("audit-missing@example.com", "M"));
+
+    ResponseEntity<String> res = rest.exchange(
+        "/api/users/" + UUID.randomUUID(), HttpMethod.DELETE, new HttpEntity<>(authHeaders(token)), String.class);
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        assertThat(auditRows(tenantId)).hasSize(1));
+    assertThat(auditRows(tenantId).getFirst())
+        .containsEntry("operation", "user.create")
+        .containsEntry("entity_id", created.id());
+  }
+
+  private List<Map<String, Object>> auditRows(UUID tenantId) {
+    TenantContext.setTenantId(tenantId);
+    try {
+      return new TransactionTemplate(txManager).execute(s -> jdbc.queryForList(
+          "select tenant_id, actor, operation, entity_type, entity_id, correlation_id from audit_log"));
+    } finally {
+      TenantContext.clear();
+    }
+  }
+}
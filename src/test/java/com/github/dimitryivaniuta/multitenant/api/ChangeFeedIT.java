@@ -0,0 +1,82 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/users/changes}: a tenant's stream carries its own creates and deletes, nothing of other tenants.
+ */
+public class ChangeFeedIT extends IntegrationTestBase {
+
+  @LocalServerPort
+  int port;
+
+  @Test
+  void streamsOwnTenantChangesOnly() throws Exception {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
+
+    BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/changes"))
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenA)
+        .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+        .build();
+    CompletableFuture<HttpResponse<Stream<String>>> stream =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+    HttpResponse<Stream<String>> response = stream.get(10, TimeUnit.SECONDS);
+    assertThat(response.statusCode()).isEqualTo(200);
+    Thread reader = Thread.ofVirtual().start(() -> response.body().forEach(lines::add));
+    try {
+      assertThat(lines.poll(10, TimeUnit.SECONDS)).isEqualTo(":subscribed");
+
+      UserResponse other = postUser(tokenB, new CreateUserRequest("feed-b@example.com", "B"));
+      UserResponse mine = postUser(tokenA, new CreateUserRequest("feed-a@example.com", "A"));
+      ResponseEntity<Void> deleted = rest.exchange(
+          "/api/users/" + mine.id(), HttpMethod.DELETE, new HttpEntity<>(authHeaders(tokenA)), Void.class);
+      assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+      List<String> events = new ArrayList<>();
+      while (events.size() < 4) {
+        String line = lines.poll(10, TimeUnit.SECONDS);
+        assertThat(line).as("next event line").isNotNull();
+        assertThat(line).doesNotContain(other.id().toString());
+        if (line.startsWith("event:") || line.startsWith("data:")) {
+          events.add(line);
+        }
+      }
+      assertThat(events.get(0)).isEqualTo("event:user.created");
+      assertThat(events.get(1)).contains(mine.id().toString()).contains(tenantA.toString());
+      assertThat(events.get(2)).isEqualTo("event:user.deleted");
+      assertThat(events.get(3)).contains(mine.id().toString());
+    } finally {
+      reader.interrupt();
+      response.body().close();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserStatsResponse;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code Idempotency-Key} on {@code POST /api/users}: replays, concurrent duplicates, key reuse and invalid keys.
+ */
+public class IdempotencyIT extends IntegrationTestBase {
+
+  @Test
+  void repeatedKeyReplaysFirstResponse_andCreatesOnce() {
+    String token = tokenFor(UUID.randomUUID());
+    CreateUserRequest req = new CreateUserRequest("idem@example.com", "Idem");
+
+    ResponseEntity<UserResponse> first = post(token, "key-1", req);
+    ResponseEntity<UserResponse> retry = post(token, "key-1", req);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody()).isEqualTo(first.getBody());
+    assertThat(first.getHeaders().getFirst("Idempotent-Replayed")).isNull();
+    assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+    assertThat(userCount(token)).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+    String token = tokenFor(UUID.randomUUID());
+    CreateUserRequest req = new CreateUserRequest("burst@example.com", "Burst");
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<ResponseEntity<UserResponse>>> calls = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        calls.add(CompletableFuture.supplyAsync(() -> post(token, "burst-key", req), pool));
+      }
+      List<ResponseEntity<UserResponse>> responses = calls.stream().map(CompletableFuture::join).toList();
+
+      assertThat(responses).extracting(ResponseEntity::getStatusCode).containsOnly(HttpStatus.CREATED);
+      assertThat(responses).extracting(r -> r.getBody().id()).containsOnly(responses.get(0).getBody().id());
+    } finally {
+      pool.shutdown();
+    }
+    assertThat(userCount(token)).isEqualTo(1);
+  }
+
+  @Test
+  void keyIsScopedPerTenant_andRejectsDifferentPayload() {
+    String tokenA = tokenFor(UUID.randomUUID());
+    String tokenB = tokenFor(UUID.randomUUID());
+
+    ResponseEntity<UserResponse> a = post(tokenA, "shared-key", new CreateUserRequest("a@example.com", "A"));
+    ResponseEntity<UserResponse> b = post(tokenB, "shared-key", new CreateUserRequest("a@example.com", "A"));
+    assertThat(b.getBody().id()).isNotEqualTo(a.getBody().id());
+
+    ResponseEntity<String> reused = rest.exchange("/api/users", HttpMethod.POST,
+        new HttpEntity<>(new CreateUserRequest("other@example.com", "Other"), headers(tokenA, "shared-key")),
+        String.class);
+    assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+  }
+
+  @Test
+  void oversizedKeyIsRejected() {
+    ResponseEntity<String> res = rest.exchange("/api/users", HttpMethod.POST,
+        new HttpEntity<>(new CreateUserRequest("long@example.com", "Long"),
+            headers(tokenFor(UUID.randomUUID()), "k".repeat(256))),
+        String.class);
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(res.getBody()).contains("https://errors.example.com/invalid-idempotency-key");
+  }
+
+  private ResponseEntity<UserResponse> post(String token, String key, CreateUserRequest req) {
+    return rest.exchange("/api/users", HttpMethod.POST, new HttpEntity<>(req, headers(token, key)), UserResponse.class);
+  }
+
+  private long userCount(String token) {
+    return rest.exchange("/api/users/stats", HttpMethod.GET, new HttpEntity<>(headers(token, null)),
+        UserStatsResponse.class).getBody().userCount();
+  }
+
+  private static HttpHeaders headers(String token, String idempotencyKey) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    if (idempotencyKey != null) {
+      headers.set("Idempotency-Key", idempotencyKey);
+    }
+    return headers;
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.protobuf.UserProtobufHttpMessageConverter;
+import com.github.dimitryivaniuta.multitenant.api.protobuf.UserProtos;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Content negotiation of the users API: protobuf on request, JSON by default.
+ */
+public class ProtobufNegotiationIT extends IntegrationTestBase {
+
+  private static final MediaType PROTOBUF = UserProtobufHttpMessageConverter.MEDIA_TYPE;
+
+  @Test
+  void createAndReadAsProtobuf_jsonStaysDefault() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    String token = tokenFor(tenantId);
+
+    HttpHeaders post = headers(token, PROTOBUF);
+    post.setContentType(PROTOBUF);
+    byte[] body = UserProtos.CreateUserRequest.newBuilder()
+        .setEmail("pb@example.com")
+        .setFullName("Proto Buf")
+        .build()
+        .toByteArray();
+    ResponseEntity<byte[]> created = rest.exchange(
+        "/api/users", HttpMethod.POST, new HttpEntity<>(body, post), byte[].class);
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(created.getHeaders().getContentType()).isEqualTo(PROTOBUF);
+    UserResponse user = UserProtobufHttpMessageConverter.fromUser(UserProtos.User.parseFrom(created.getBody()));
+    assertThat(user.email()).isEqualTo("pb@example.com");
+    assertThat(user.tenantId()).isEqualTo(tenantId);
+
+    ResponseEntity<byte[]> asProtobuf = rest.exchange(
+        "/api/users/" + user.id(), HttpMethod.GET, new HttpEntity<>(headers(token, PROTOBUF)), byte[].class);
+    assertThat(asProtobuf.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(asProtobuf.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+    assertThat(UserProtobufHttpMessageConverter.fromUser(UserProtos.User.parseFrom(asProtobuf.getBody())))
+        .isEqualTo(user);
+
+    ResponseEntity<byte[]> list = rest.exchange(
+        "/api/users", HttpMethod.GET, new HttpEntity<>(headers(token, PROTOBUF)), byte[].class);
+    assertThat(UserProtos.UserList.parseFrom(list.getBody()).getUsersList())
+        .map(UserProtobufHttpMessageConverter::fromUser)
+        .containsExactly(user);
+
+    ResponseEntity<UserResponse> byDefault = rest.exchange(
+        "/api/users/" + user.id(), HttpMethod.GET, new HttpEntity<>(headers(token, MediaType.ALL)), UserResponse.class);
+    assertThat(byDefault.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    assertThat(byDefault.getBody()).isEqualTo(user);
+  }
+
+  @Test
+  void invalidProtobufCreate_isValidatedLikeJson() {
+    String token = tokenFor(UUID.randomUUID());
+    HttpHeaders post = headers(token, PROTOBUF);
+    post.setContentType(PROTOBUF);
+    byte[] body = UserProtos.CreateUserRequest.newBuilder().setEmail("not-an-email").build().toByteArray();
+
+    ResponseEntity<String> res = rest.exchange("/api/users", HttpMethod.POST, new HttpEntity<>(body, post), String.class);
+
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(res.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+  }
+
+  private static HttpHeaders headers(String jwt, MediaType accept) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(jwt);
+    headers.setAccept(List.of(accept));
+    return headers;
+  }
+}
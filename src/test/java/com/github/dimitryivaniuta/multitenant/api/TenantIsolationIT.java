@@ -1,13 +1,14 @@
 package com.github.dimitryivaniuta.multitenant.api;
 
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.BulkDeleteResponse;
 import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
 import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
 import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
-import com.github.dimitryivaniuta.multitenant.util.JwtTestTokenFactory;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.http.HttpEntity;
@@ -24,14 +25,6 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class TenantIsolationIT extends IntegrationTestBase {
 
-  private static final String KID = "k1";
-  private static final String PRIVATE_KEY = "keys/jwks-k1-private.pem.example";
-  private static final String ISSUER = "https://auth.local";
-  private static final String AUD = "api";
-
-  @Autowired
-  TestRestTemplate rest;
-
   @Autowired
   RedisConnectionFactory redis;
 
@@ -40,8 +33,8 @@ public class TenantIsolationIT extends IntegrationTestBase {
     UUID tenantA = UUID.randomUUID();
     UUID tenantB = UUID.randomUUID();
 
-    String tokenA = JwtTestTokenFactory.createToken(KID, PRIVATE_KEY, ISSUER, AUD, tenantA);
-    String tokenB = JwtTestTokenFactory.createToken(KID, PRIVATE_KEY, ISSUER, AUD, tenantB);
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
 
     // Create user as tenant A
     UserResponse created = postUser(tokenA, new CreateUserRequest("a@example.com", "Alice"));
@@ -69,17 +62,92 @@ public class TenantIsolationIT extends IntegrationTestBase {
     }
   }
 
-  private UserResponse postUser(String token, CreateUserRequest req) {
-    HttpHeaders headers = authHeaders(token);
+  @Test
+  void emailLookup_isTenantScoped_cached_andEvictedOnDelete() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
+
+    UserResponse created = postUser(tokenA, new CreateUserRequest("lookup@example.com", "Lookup"));
+
+    ResponseEntity<UserResponse> found = getByEmail(tokenA, "lookup@example.com");
+    assertThat(found.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(found.getBody()).isNotNull();
+    assertThat(found.getBody().id()).isEqualTo(created.id());
+
+    assertThat(getByEmail(tokenB, "lookup@example.com").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+    byte[] emailKey = ("tenant:" + tenantA + ":email:lookup@example.com").getBytes();
+    try (var conn = redis.getConnection()) {
+      assertThat(conn.keyCommands().exists(emailKey)).isTrue();
+    }
+
+    ResponseEntity<Void> deleted = rest.exchange(
+        "/api/users/" + created.id(),
+        HttpMethod.DELETE,
+        new HttpEntity<>(authHeaders(tokenA)),
+        Void.class
+    );
+    assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+    try (var conn = redis.getConnection()) {
+      assertThat(conn.keyCommands().exists(emailKey)).isFalse();
+    }
+    assertThat(getByEmail(tokenA, "lookup@example.com").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void bulkDelete_removesOnlyOwnTenantsUsers_andEvictsTheirKeys() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
+
+    UserResponse a1 = postUser(tokenA, new CreateUserRequest("bulk1@example.com", "Bulk 1"));
+    UserResponse a2 = postUser(tokenA, new CreateUserRequest("bulk2@example.com", "Bulk 2"));
+    UserResponse a3 = postUser(tokenA, new CreateUserRequest("bulk3@example.com", "Bulk 3"));
+    UserResponse b1 = postUser(tokenB, new CreateUserRequest("bulk1@example.com", "Bulk 1"));
+
+    getUser(tokenA, a1.id(), HttpStatus.OK);
+    getByEmail(tokenA, "bulk2@example.com");
+
+    HttpHeaders headers = authHeaders(tokenA);
     headers.setContentType(MediaType.APPLICATION_JSON);
-    ResponseEntity<UserResponse> res = rest.exchange(
-        "/api/users",
+    ResponseEntity<BulkDeleteResponse> res = rest.exchange(
+        "/api/users/bulk-delete",
         HttpMethod.POST,
-        new HttpEntity<>(req, headers),
-        UserResponse.class
+        new HttpEntity<>(new BulkDeleteRequest(List.of(a1.id(), a2.id(), b1.id(), UUID.randomUUID())), headers),
+        BulkDeleteResponse.class
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(res.getBody().deleted()).containsExactlyInAnyOrder(a1.id(), a2.id());
+
+    try (var conn = redis.getConnection()) {
+      assertThat(conn.keyCommands().exists(("tenant:" + tenantA + ":user:" + a1.id()).getBytes())).isFalse();
+      assertThat(conn.keyCommands().exists(("tenant:" + tenantA + ":email:bulk2@example.com").getBytes())).isFalse();
+    }
+    getUser(tokenA, a1.id(), HttpStatus.NOT_FOUND);
+    getUser(tokenA, a3.id(), HttpStatus.OK);
+    getUser(tokenB, b1.id(), HttpStatus.OK);
+
+    ResponseEntity<Void> again = rest.exchange(
+        "/api/users/" + a1.id(),
+        HttpMethod.DELETE,
+        new HttpEntity<>(authHeaders(tokenA)),
+        Void.class
+    );
+    assertThat(again.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  private ResponseEntity<UserResponse> getByEmail(String token, String email) {
+    return rest.exchange(
+        "/api/users?email={email}",
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(token)),
+        UserResponse.class,
+        email
     );
-    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-    return res.getBody();
   }
 
   private ResponseEntity<UserResponse> getUser(String token, UUID id, HttpStatus expected) {
@@ -113,10 +181,4 @@ public class TenantIsolationIT extends IntegrationTestBase {
         new ParameterizedTypeReference<>() {}
     );
   }
-
-  private static HttpHeaders authHeaders(String jwt) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.setBearerAuth(jwt);
-    return headers;
-  }
 }
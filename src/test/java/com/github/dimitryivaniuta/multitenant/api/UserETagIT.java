@@ -0,0 +1,100 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs: strong ETags on users and the per-tenant list, 304 on a matching {@code If-None-Match}.
+ */
+public class UserETagIT extends IntegrationTestBase {
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void userETag_answersMatchingIfNoneMatchWith304() {
+    String token = tokenFor(UUID.randomUUID());
+    UserResponse created = postUser(token, new CreateUserRequest("etag@example.com", "ETag"));
+    assertThat(created.version()).isZero();
+
+    ResponseEntity<String> first = get(token, "/api/users/" + created.id(), null);
+    String etag = first.getHeaders().getETag();
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(etag).isEqualTo("\"" + created.id() + ".0\"");
+    assertThat(first.getHeaders().getCacheControl()).contains("no-cache").contains("private");
+
+    ResponseEntity<String> again = get(token, "/api/users/" + created.id(), etag);
+    assertThat(again.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(again.getBody()).isNull();
+
+    ResponseEntity<String> byEmail = get(token, "/api/users?email=etag@example.com", etag);
+    assertThat(byEmail.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    ResponseEntity<String> stale = get(token, "/api/users/" + created.id(), "\"" + created.id() + ".7\"");
+    assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void listETag_changesWithEveryWrite_andIsPerTenant() {
+    UUID tenantId = UUID.randomUUID();
+    String token = tokenFor(tenantId);
+    postUser(token, new CreateUserRequest("l1@example.com", "L1"));
+
+    String etag = get(token, "/api/users", null).getHeaders().getETag();
+    assertThat(etag).startsWith("\"" + tenantId + ".");
+    assertThat(get(token, "/api/users", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    // a tenant at the same generation still gets a different tag
+    String otherToken = tokenFor(UUID.randomUUID());
+    postUser(otherToken, new CreateUserRequest("l1@example.com", "L1"));
+    assertThat(get(otherToken, "/api/users", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    postUser(token, new CreateUserRequest("l2@example.com", "L2"));
+    ResponseEntity<String> afterInsert = get(token, "/api/users", etag);
+    assertThat(afterInsert.getStatusCode()).isEqualTo(HttpStatus.OK);
+    String insertTag = afterInsert.getHeaders().getETag();
+    assertThat(insertTag).isNotEqualTo(etag);
+
+    TenantContext.setTenantId(tenantId);
+    new TransactionTemplate(txManager).executeWithoutResult(s ->
+        jdbc.update("update users set full_name = 'Renamed', version = version + 1 where email = 'l1@example.com'"));
+    TenantContext.clear();
+
+    ResponseEntity<String> afterUpdate = get(token, "/api/users", insertTag);
+    assertThat(afterUpdate.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(afterUpdate.getBody()).contains("Renamed");
+  }
+
+  private ResponseEntity<String> get(String token, String path, String ifNoneMatch) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    if (ifNoneMatch != null) {
+      headers.setIfNoneMatch(ifNoneMatch);
+    }
+    return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+  }
+}
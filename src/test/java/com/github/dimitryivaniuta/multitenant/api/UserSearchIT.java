@@ -0,0 +1,129 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserSearchResponse;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User search: substring and fuzzy matching, ranking, keyset pagination, tenant isolation and trigram indexes.
+ */
+public class UserSearchIT extends IntegrationTestBase {
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Test
+  void searchPagesThroughMatches_ofOwnTenantOnly() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
+
+    for (int i = 0; i < 5; i++) {
+      postUser(tokenA, new CreateUserRequest("searcher" + i + "@example.com", "Searcher " + i));
+    }
+    postUser(tokenA, new CreateUserRequest("other@example.com", "Somebody Else"));
+    postUser(tokenA, new CreateUserRequest("x@example.com", "Mary Searcher"));
+    postUser(tokenB, new CreateUserRequest("searcher@b.example.com", "Searcher B"));
+
+    List<UserResponse> all = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      UserSearchResponse page = search(tokenA, "SEARCHER", cursor, 2);
+      assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+      all.addAll(page.items());
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(all).extracting(UserResponse::email).containsExactly(
+        "searcher0@example.com", "searcher1@example.com", "searcher2@example.com",
+        "searcher3@example.com", "searcher4@example.com", "x@example.com");
+    assertThat(all).extracting(UserResponse::tenantId).containsOnly(tenantA);
+  }
+
+  @Test
+  void typosMatchFuzzily_bestMatchFirst() {
+    String token = tokenFor(UUID.randomUUID());
+    postUser(token, new CreateUserRequest("bea@example.com", "Bea Searcher"));
+    postUser(token, new CreateUserRequest("ann@example.com", "Ann Searchr"));
+    postUser(token, new CreateUserRequest("cid@example.com", "Cid Other"));
+
+    // "searchr" is not a substring of "Searcher"; word similarity 0.75 clears the 0.6 threshold.
+    UserSearchResponse first = search(token, "searchr", null, 1);
+    assertThat(first.items()).extracting(UserResponse::email).containsExactly("ann@example.com");
+    UserSearchResponse second = search(token, "searchr", first.nextCursor(), 1);
+    assertThat(second.items()).extracting(UserResponse::email).containsExactly("bea@example.com");
+    assertThat(second.nextCursor()).isNull();
+  }
+
+  @Test
+  void shortTermIsRejected() {
+    String token = tokenFor(UUID.randomUUID());
+    ResponseEntity<String> res = rest.exchange(
+        "/api/users/search?q=ab",
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(token)),
+        String.class
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void invalidCursorIsRejected() {
+    String token = tokenFor(UUID.randomUUID());
+    ResponseEntity<String> res = rest.exchange(
+        "/api/users/search?q=searcher&cursor={cursor}",
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(token)),
+        String.class,
+        "not-a-cursor"
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(res.getBody()).contains("https://errors.example.com/invalid-cursor");
+  }
+
+  @Test
+  void tenantLeadingTrigramIndexesCoverEveryPartition() {
+    Integer partitions = jdbc.queryForObject(
+        "select count(*) from pg_inherits where inhparent = 'users'::regclass", Integer.class);
+    for (String index : List.of("ix_users_tenant_email_trgm", "ix_users_tenant_full_name_trgm")) {
+      Integer attached = jdbc.queryForObject("""
+          select count(*) from pg_inherits i
+            join pg_index x on x.indexrelid = i.inhrelid
+            join pg_opclass lead on lead.oid = x.indclass[0]
+            join pg_opclass trgm on trgm.oid = x.indclass[1]
+           where i.inhparent = ?::regclass and lead.opcname = 'uuid_ops' and trgm.opcname = 'gin_trgm_ops'
+          """, Integer.class, index);
+      assertThat(attached).as(index).isEqualTo(partitions);
+    }
+  }
+
+  private UserSearchResponse search(String token, String q, String cursor, int limit) {
+    String url = "/api/users/search?q={q}&limit={limit}" + (cursor == null ? "" : "&cursor={cursor}");
+    ResponseEntity<UserSearchResponse> res = rest.exchange(
+        url,
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(token)),
+        UserSearchResponse.class,
+        q, limit, cursor
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return res.getBody();
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.dimitryivaniuta.multitenant.api;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserStatsResponse;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-tenant user counters: kept in sync by create/delete, bulk statements and concurrent writers.
+ */
+public class UserStatsIT extends IntegrationTestBase {
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void statsFollowCreateAndDelete_perTenant() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    String tokenA = tokenFor(tenantA);
+    String tokenB = tokenFor(tenantB);
+
+    UserResponse first = postUser(tokenA, new CreateUserRequest("s1@example.com", "S1"));
+    postUser(tokenA, new CreateUserRequest("s2@example.com", "S2"));
+    postUser(tokenA, new CreateUserRequest("s3@example.com", "S3"));
+    postUser(tokenB, new CreateUserRequest("s1@example.com", "S1"));
+
+    ResponseEntity<Void> deleted = rest.exchange(
+        "/api/users/" + first.id(), HttpMethod.DELETE, new HttpEntity<>(authHeaders(tokenA)), Void.class);
+    assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+    assertThat(stats(tokenA)).isEqualTo(new UserStatsResponse(tenantA, 2));
+    assertThat(stats(tokenB)).isEqualTo(new UserStatsResponse(tenantB, 1));
+  }
+
+  @Test
+  void statsFollowBulkStatements_andConcurrentWriters() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+
+    TenantContext.setTenantId(tenantId);
+    tx.executeWithoutResult(s -> {
+      jdbc.update("""
+          insert into users (id, tenant_id, email, full_name)
+          select gen_random_uuid(), ?, 'bulk' || n || '@example.com', 'Bulk ' || n
+            from generate_series(1, 100) n
+          """, tenantId);
+      jdbc.update("delete from users where email like 'bulk%' and full_name in "
+          + "(select 'Bulk ' || n from generate_series(1, 40) n)");
+    });
+    TenantContext.clear();
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      int worker = t;
+      pool.submit(() -> {
+        TenantContext.setTenantId(tenantId);
+        try {
+          for (int i = 0; i < 25; i++) {
+            int n = i;
+            tx.executeWithoutResult(s -> jdbc.update(
+                "insert into users (id, tenant_id, email, full_name) values (?, ?, ?, 'Concurrent')",
+                UUID.randomUUID(), tenantId, "c" + worker + "-" + n + "@example.com"));
+          }
+        } finally {
+          TenantContext.clear();
+        }
+      });
+    }
+    pool.shutdown();
+    assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+    String token = tokenFor(tenantId);
+    assertThat(stats(token).userCount()).isEqualTo(60 + 8 * 25);
+  }
+
+  private UserStatsResponse stats(String token) {
+    ResponseEntity<UserStatsResponse> res = rest.exchange(
+        "/api/users/stats", HttpMethod.GET, new HttpEntity<>(authHeaders(token)), UserStatsResponse.class);
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return res.getBody();
+  }
+}
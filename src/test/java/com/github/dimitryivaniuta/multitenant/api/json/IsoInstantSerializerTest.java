@@ -0,0 +1,70 @@
+package com.github.dimitryivaniuta.multitenant.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link IsoInstantSerializer} must produce exactly what {@link DateTimeFormatter#ISO_INSTANT} does.
+ */
+public class IsoInstantSerializerTest {
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .registerModule(new SimpleModule().addSerializer(Instant.class, new IsoInstantSerializer()))
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Test
+  void matchesIsoInstant_forEdgeCases() throws Exception {
+    Instant[] cases = {
+        Instant.EPOCH,
+        Instant.EPOCH.minusNanos(1),
+        Instant.parse("2000-02-29T23:59:59Z"),
+        Instant.parse("1900-03-01T00:00:00.100Z"),
+        Instant.parse("2024-05-01T12:30:00.123456Z"),
+        Instant.parse("2024-12-31T23:59:59.999999999Z"),
+        Instant.parse("0000-01-01T00:00:00Z"),
+        Instant.parse("9999-12-31T23:59:59.000001Z"),
+        Instant.parse("+10000-01-01T00:00:00Z"),
+        Instant.parse("-0001-12-31T23:59:59Z"),
+    };
+    for (Instant instant : cases) {
+      assertThat(mapper.writeValueAsString(instant)).as(instant.toString()).isEqualTo(expected(instant));
+    }
+  }
+
+  @Test
+  void matchesIsoInstant_forRandomInstants() throws Exception {
+    SplittableRandom random = new SplittableRandom(42);
+    long min = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+    long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+    for (int i = 0; i < 100_000; i++) {
+      int nano = switch (i % 4) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000) * 1_000;
+        default -> random.nextInt(1_000_000_000);
+      };
+      Instant instant = Instant.ofEpochSecond(random.nextLong(min, max + 1), nano);
+      assertThat(mapper.writeValueAsString(instant)).isEqualTo(expected(instant));
+    }
+  }
+
+  @Test
+  void delegatesWhenDatesAreWrittenAsTimestamps() throws Exception {
+    Instant instant = Instant.parse("2024-05-01T12:30:00.5Z");
+    String json = mapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(instant);
+    assertThat(json).isEqualTo("1714566600.500000000");
+  }
+
+  private static String expected(Instant instant) {
+    return "\"" + DateTimeFormatter.ISO_INSTANT.format(instant) + "\"";
+  }
+}
@@ -0,0 +1,94 @@
+package com.github.dimitryivaniuta.multitenant.audit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link AuditRingBuffer}.
+ */
+public class AuditRingBufferTest {
+
+  @Test
+  void roundsCapacityUp_andRejectsWhenFull() {
+    AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(5);
+    assertThat(buffer.capacity()).isEqualTo(8);
+
+    for (int i = 0; i < 8; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(8)).isFalse();
+    assertThat(buffer.size()).isEqualTo(8);
+
+    List<Integer> out = new ArrayList<>();
+    assertThat(buffer.drainTo(out, 3)).isEqualTo(3);
+    assertThat(out).containsExactly(0, 1, 2);
+    assertThat(buffer.offer(8)).isTrue();
+
+    out.clear();
+    assertThat(buffer.drainTo(out, 100)).isEqualTo(6);
+    assertThat(out).containsExactly(3, 4, 5, 6, 7, 8);
+    assertThat(buffer.size()).isZero();
+    assertThat(buffer.drainTo(out, 100)).isZero();
+  }
+
+  @Test
+  void rejectsTinyCapacity() {
+    assertThatThrownBy(() -> new AuditRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void concurrentProducers_loseNothing_andKeepPerProducerOrder() throws Exception {
+    int producers = 8;
+    int perProducer = 50_000;
+    AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(1024);
+    ExecutorService pool = Executors.newFixedThreadPool(producers);
+    CountDownLatch start = new CountDownLatch(1);
+
+    for (int p = 0; p < producers; p++) {
+      long producer = p;
+      pool.submit(() -> {
+        start.await();
+        for (long i = 0; i < perProducer; i++) {
+          long[] element = {producer, i};
+          while (!buffer.offer(element)) {
+            Thread.onSpinWait();
+          }
+        }
+        return null;
+      });
+    }
+    start.countDown();
+
+    long[] lastSeen = new long[producers];
+    Arrays.fill(lastSeen, -1);
+    Set<Long> seen = new HashSet<>();
+    List<long[]> batch = new ArrayList<>();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+      buffer.drainTo(batch, 256);
+      for (long[] element : batch) {
+        int producer = (int) element[0];
+        assertThat(element[1]).isGreaterThan(lastSeen[producer]);
+        lastSeen[producer] = element[1];
+        seen.add(element[0] * perProducer + element[1]);
+      }
+      batch.clear();
+    }
+    pool.shutdown();
+    assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(seen).hasSize(producers * perProducer);
+    assertThat(buffer.size()).isZero();
+  }
+}
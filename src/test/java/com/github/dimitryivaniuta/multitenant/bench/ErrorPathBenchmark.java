@@ -0,0 +1,123 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import com.github.dimitryivaniuta.multitenant.api.UserController;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.error.ApiExceptionHandler;
+import com.github.dimitryivaniuta.multitenant.service.UserNotFoundException;
+import com.github.dimitryivaniuta.multitenant.service.UserService;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Error-path cost compared with the success path.
+ *
+ * <p>Runs {@link UserController} and {@link ApiExceptionHandler} in a standalone {@link MockMvc} with an
+ * in-memory {@link UserService}, so only the web layer is measured: a found user (200), an unknown id (404,
+ * stackless {@link UserNotFoundException}) and an invalid create (400, Spring's
+ * {@code MethodArgumentNotValidException}). A second section isolates the exception itself: throwing the
+ * stackless exception vs. a conventional one from a Spring-sized call stack.
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*ErrorPathBenchmark'}; {@code -Dbench.iterations} (default
+ * 50k) per path.
+ */
+@Tag("benchmark")
+public class ErrorPathBenchmark {
+
+  private static final int ITERATIONS = Integer.getInteger("bench.iterations", 50_000);
+  /** Roughly the depth at which a controller runs below Tomcat, the filter chain and Spring MVC. */
+  private static final int STACK_DEPTH = 120;
+
+  private static final UUID KNOWN = UUID.randomUUID();
+
+  @Test
+  void errorPathVsSuccessPath() throws Exception {
+    UserResponse user = new UserResponse(KNOWN, UUID.randomUUID(), "known@example.com", "Known", Instant.now(), 0);
+    UserService service = new UserService(null, null, null, null) {
+      @Override
+      public UserResponse get(UUID id) {
+        if (id.equals(KNOWN)) {
+          return user;
+        }
+        throw new UserNotFoundException("User not found");
+      }
+    };
+    MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(service, null))
+        .setControllerAdvice(new ApiExceptionHandler())
+        .build();
+
+    RequestBuilder found = get("/api/users/" + KNOWN);
+    RequestBuilder notFound = get("/api/users/" + UUID.randomUUID());
+    RequestBuilder invalid = post("/api/users")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"not-an-email\",\"fullName\":\"\"}");
+
+    for (int round = 0; round < 2; round++) {
+      run(mvc, "200 found", found, 200);
+      run(mvc, "404 unknown id", notFound, 404);
+      run(mvc, "400 validation", invalid, 400);
+    }
+
+    for (int round = 0; round < 2; round++) {
+      throwAndCatch("stackless", () -> new UserNotFoundException("User not found"));
+      throwAndCatch("stack trace", () -> new IllegalStateException("User not found"));
+    }
+  }
+
+  private static void run(MockMvc mvc, String label, RequestBuilder request, int expectedStatus) throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      mvc.perform(request);
+    }
+    long[] nanos = new long[ITERATIONS];
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      long t0 = System.nanoTime();
+      int status = mvc.perform(request).andReturn().getResponse().getStatus();
+      nanos[i] = System.nanoTime() - t0;
+      assertThat(status).isEqualTo(expectedStatus);
+    }
+    report("[error-path] " + label, nanos, System.nanoTime() - start);
+  }
+
+  private static void throwAndCatch(String label, Supplier<RuntimeException> factory) {
+    long[] nanos = new long[ITERATIONS];
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      long t0 = System.nanoTime();
+      try {
+        throwAt(STACK_DEPTH, factory);
+      } catch (RuntimeException e) {
+        nanos[i] = System.nanoTime() - t0;
+      }
+    }
+    report("[exception] " + label, nanos, System.nanoTime() - start);
+  }
+
+  private static void throwAt(int depth, Supplier<RuntimeException> factory) {
+    if (depth == 0) {
+      throw factory.get();
+    }
+    throwAt(depth - 1, factory);
+  }
+
+  private static void report(String label, long[] nanos, long elapsed) {
+    Arrays.sort(nanos);
+    System.out.printf("%-30s %,10.0f ops/s  p50=%.1fus p99=%.1fus%n",
+        label, nanos.length / (elapsed / 1e9), pct(nanos, 0.50), pct(nanos, 0.99));
+  }
+
+  private static double pct(long[] sorted, double p) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000.0;
+  }
+}
@@ -0,0 +1,118 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.json.IsoInstantSerializer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serialization of a 1k-element {@code List<UserResponse>}: default Jackson vs. the {@code config.JsonConfig}
+ * setup (Blackbird + {@link IsoInstantSerializer}).
+ *
+ * <p>Each mapper writes the list {@code -Dbench.iterations} times (default 20k, after as many warm-up
+ * rounds) into a discarding stream, as the HTTP message converter does into the response body. The report
+ * prints per-list latency percentiles and throughput. Run with
+ * {@code ./gradlew benchmark --tests '*JsonSerializationBenchmark'}.
+ */
+@Tag("benchmark")
+public class JsonSerializationBenchmark {
+
+  private static final int SIZE = Integer.getInteger("bench.size", 1_000);
+  private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20_000);
+
+  @Test
+  void userListDefaultVsTuned() throws IOException {
+    List<UserResponse> users = users(SIZE);
+
+    ObjectMapper defaults = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    ObjectMapper tuned = defaults.copy()
+        .registerModule(new BlackbirdModule())
+        .registerModule(new SimpleModule("api-json").addSerializer(Instant.class, new IsoInstantSerializer()));
+
+    TypeReference<List<UserResponse>> type = new TypeReference<>() {
+    };
+    ObjectWriter defaultWriter = defaults.writerFor(type);
+    ObjectWriter tunedWriter = tuned.writerFor(type);
+    assertThat(tunedWriter.writeValueAsString(users)).isEqualTo(defaultWriter.writeValueAsString(users));
+
+    // alternate the runs so that neither side profits from a later JIT state
+    for (int round = 0; round < 2; round++) {
+      run("default", defaultWriter, users);
+      run("tuned", tunedWriter, users);
+    }
+  }
+
+  private static void run(String label, ObjectWriter writer, List<UserResponse> users) throws IOException {
+    CountingStream out = new CountingStream();
+    for (int i = 0; i < ITERATIONS; i++) {
+      writer.writeValue(out, users);
+    }
+    out.bytes = 0;
+
+    long[] nanos = new long[ITERATIONS];
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      long t = System.nanoTime();
+      writer.writeValue(out, users);
+      nanos[i] = System.nanoTime() - t;
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    Arrays.sort(nanos);
+    System.out.printf("[json] %-8s %,d users/list: p50=%.1fus p99=%.1fus  %,.0f lists/s  %.1f MB/s%n",
+        label, users.size(), pct(nanos, 0.50), pct(nanos, 0.99), ITERATIONS / seconds,
+        out.bytes / seconds / (1024 * 1024));
+  }
+
+  private static List<UserResponse> users(int n) {
+    UUID tenantId = UUID.randomUUID();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<UserResponse> users = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      // microsecond precision, like timestamptz values read from Postgres
+      Instant createdAt = Instant.ofEpochSecond(1_700_000_000L + random.nextLong(100_000_000L),
+          random.nextInt(1_000_000) * 1_000L);
+      users.add(new UserResponse(UUID.randomUUID(), tenantId, "user" + i + "@example.com", "User " + i,
+          createdAt, random.nextLong(5)));
+    }
+    return users;
+  }
+
+  private static double pct(long[] sorted, double p) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000.0;
+  }
+
+  /** Discards everything, counting bytes; {@code close()} is a no-op, so Jackson may close it after each list. */
+  private static final class CountingStream extends OutputStream {
+
+    long bytes;
+
+    @Override
+    public void write(int b) {
+      bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      bytes += len;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link ThreadModeLoadBenchmark} with Tomcat on its default platform-thread pool.
+ */
+@TestPropertySource(properties = {
+    "spring.threads.virtual.enabled=false",
+    "server.tomcat.threads.max=200",
+    "server.tomcat.max-connections=10000",
+    "server.tomcat.accept-count=2000",
+    "app.bulkhead.enabled=false"
+})
+public class PlatformThreadLoadBenchmark extends ThreadModeLoadBenchmark {
+
+  @Override
+  String mode() {
+    return "platform";
+  }
+}
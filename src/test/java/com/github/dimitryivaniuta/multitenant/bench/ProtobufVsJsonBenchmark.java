@@ -0,0 +1,184 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.github.dimitryivaniuta.multitenant.api.UserController;
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserSearchResponse;
+import com.github.dimitryivaniuta.multitenant.api.json.IsoInstantSerializer;
+import com.github.dimitryivaniuta.multitenant.api.protobuf.UserProtobufHttpMessageConverter;
+import com.github.dimitryivaniuta.multitenant.api.protobuf.UserProtos;
+import com.github.dimitryivaniuta.multitenant.service.UserService;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * JSON vs. {@code application/x-protobuf} for the users API: payload size and server CPU per request.
+ *
+ * <p>Runs {@link UserController} in a standalone {@link MockMvc} with an in-memory {@link UserService} and
+ * the application's converters in the application's order (tuned Jackson first, protobuf appended), so only
+ * the web layer is measured: a single user, a {@code -Dbench.size}-user list (default 100), a 20-user search
+ * page and a create (request decoding, validation and response encoding). MockMvc runs the request on the
+ * calling thread, so that thread's CPU time is the server CPU of the request.
+ *
+ * <p>Run with {@code ./gradlew benchmark --tests '*ProtobufVsJsonBenchmark'}; {@code -Dbench.iterations}
+ * (default 20k) requests per case, after as many warm-up requests.
+ */
+@Tag("benchmark")
+public class ProtobufVsJsonBenchmark {
+
+  private static final int SIZE = Integer.getInteger("bench.size", 100);
+  private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20_000);
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final MediaType PROTOBUF = UserProtobufHttpMessageConverter.MEDIA_TYPE;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void jsonVsProtobuf() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    List<UserResponse> users = users(tenantId, SIZE);
+    UserSearchResponse page = new UserSearchResponse(users.subList(0, Math.min(20, SIZE)), "bmV4dEBleGFtcGxlLmNvbQ");
+    UserService service = new UserService(null, null, null, null) {
+      @Override
+      public UserResponse get(UUID id) {
+        return users.getFirst();
+      }
+
+      @Override
+      public List<UserResponse> list() {
+        return users;
+      }
+
+      @Override
+      public long listGeneration() {
+        return 42;
+      }
+
+      @Override
+      public UserSearchResponse search(String term, String cursor, int limit) {
+        return page;
+      }
+
+      @Override
+      public UserResponse create(CreateUserRequest req) {
+        return new UserResponse(UUID.randomUUID(), tenantId, req.email(), req.fullName(), Instant.now(), 0);
+      }
+    };
+
+    ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .registerModule(new BlackbirdModule())
+        .registerModule(new SimpleModule("api-json").addSerializer(Instant.class, new IsoInstantSerializer()))
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(service, null))
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(mapper), new UserProtobufHttpMessageConverter())
+        .build();
+    TenantContext.setTenantId(tenantId);
+
+    CreateUserRequest create = new CreateUserRequest("new.user@example.com", "New User");
+    byte[] createJson = mapper.writeValueAsBytes(create);
+    byte[] createProtobuf = UserProtos.CreateUserRequest.newBuilder()
+        .setEmail(create.email())
+        .setFullName(create.fullName())
+        .build()
+        .toByteArray();
+
+    String userUrl = "/api/users/" + users.getFirst().id();
+    String searchUrl = "/api/users/search?q=example";
+    for (int round = 0; round < 2; round++) {
+      compare(mvc, "user",
+          get(userUrl).accept(MediaType.APPLICATION_JSON), get(userUrl).accept(PROTOBUF), 0, 0);
+      compare(mvc, "list x" + SIZE,
+          get("/api/users").accept(MediaType.APPLICATION_JSON), get("/api/users").accept(PROTOBUF), 0, 0);
+      compare(mvc, "search x" + page.items().size(),
+          get(searchUrl).accept(MediaType.APPLICATION_JSON), get(searchUrl).accept(PROTOBUF), 0, 0);
+      compare(mvc, "create",
+          post("/api/users").contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+              .content(createJson),
+          post("/api/users").contentType(PROTOBUF).accept(PROTOBUF).content(createProtobuf),
+          createJson.length, createProtobuf.length);
+    }
+  }
+
+  private static void compare(MockMvc mvc, String label, RequestBuilder json, RequestBuilder protobuf,
+      int jsonRequestBytes, int protobufRequestBytes) throws Exception {
+    Result j = run(mvc, json);
+    Result p = run(mvc, protobuf);
+    report(label, "json", j, jsonRequestBytes);
+    report(label, "protobuf", p, protobufRequestBytes);
+    System.out.printf("[protobuf] %-12s protobuf/json: size %.0f%%, cpu %.0f%%%n",
+        label, 100.0 * p.responseBytes / j.responseBytes, 100.0 * p.cpuNanosPerRequest / j.cpuNanosPerRequest);
+    assertThat(p.responseBytes).isLessThan(j.responseBytes);
+  }
+
+  private record Result(int responseBytes, double cpuNanosPerRequest, long[] sortedNanos, double seconds) {
+  }
+
+  private static Result run(MockMvc mvc, RequestBuilder request) throws Exception {
+    int bytes = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      bytes = mvc.perform(request).andReturn().getResponse().getContentAsByteArray().length;
+    }
+    long[] nanos = new long[ITERATIONS];
+    long cpuStart = THREADS.getCurrentThreadCpuTime();
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      long t0 = System.nanoTime();
+      int status = mvc.perform(request).andReturn().getResponse().getStatus();
+      nanos[i] = System.nanoTime() - t0;
+      assertThat(status).isBetween(200, 201);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    double cpu = (THREADS.getCurrentThreadCpuTime() - cpuStart) / (double) ITERATIONS;
+    Arrays.sort(nanos);
+    return new Result(bytes, cpu, nanos, seconds);
+  }
+
+  private static void report(String label, String format, Result r, int requestBytes) {
+    System.out.printf("[protobuf] %-12s %-8s %,7d B%s  cpu=%.1fus/req  p50=%.1fus p99=%.1fus  %,.0f req/s%n",
+        label, format, r.responseBytes, requestBytes > 0 ? " (request " + requestBytes + " B)" : "",
+        r.cpuNanosPerRequest / 1_000, pct(r.sortedNanos, 0.50), pct(r.sortedNanos, 0.99),
+        r.sortedNanos.length / r.seconds);
+  }
+
+  private static double pct(long[] sorted, double p) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000.0;
+  }
+
+  private static List<UserResponse> users(UUID tenantId, int n) {
+    List<UserResponse> users = new ArrayList<>(n);
+    Instant base = Instant.parse("2024-05-01T12:30:00.123456Z");
+    for (int i = 0; i < n; i++) {
+      users.add(new UserResponse(UUID.randomUUID(), tenantId, "user" + i + "@example.com", "User Number " + i,
+          base.plusMillis(i * 1_337L), i % 5));
+    }
+    return users;
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load benchmark for the request execution model.
+ *
+ * <p>Drives {@code CONCURRENCY} simultaneous clients against the users API (90% cached
+ * {@code GET /api/users/{id}}, 10% {@code GET /api/users}) and prints throughput and latency
+ * percentiles. Subclasses pin the mode via {@code spring.threads.virtual.enabled}; run both with
+ * {@code ./gradlew benchmark} and compare the two report lines.
+ *
+ * <p>The bulkhead is disabled so the comparison measures thread scheduling, not admission control.
+ */
+@Tag("benchmark")
+abstract class ThreadModeLoadBenchmark extends IntegrationTestBase {
+
+  private static final int CONCURRENCY = 2_000;
+  private static final int REQUESTS_PER_CLIENT = 25;
+  private static final int SEED_USERS = 50;
+
+  @LocalServerPort
+  int port;
+
+  /** Label used in the report line. */
+  abstract String mode();
+
+  @Test
+  void highConcurrencyMixedReads() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    String token = tokenFor(tenantId);
+    HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < SEED_USERS; i++) {
+      HttpResponse<String> res = client.send(
+          request(token, "/api/users")
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString(
+                  "{\"email\":\"bench" + i + "@example.com\",\"fullName\":\"Bench " + i + "\"}"))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(res.statusCode()).isEqualTo(201);
+      ids.add(res.body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1"));
+    }
+
+    // Warm-up: fill the cache and JIT the hot path.
+    run(client, token, ids, 200, 10);
+
+    long[] latencies = new long[CONCURRENCY * REQUESTS_PER_CLIENT];
+    long start = System.nanoTime();
+    int errors = run(client, token, ids, CONCURRENCY, REQUESTS_PER_CLIENT, latencies);
+    long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+    double seconds = elapsed / 1e9;
+    System.out.printf(
+        "[thread-mode=%s] clients=%d requests=%d errors=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms p99.9=%.1fms%n",
+        mode(), CONCURRENCY, latencies.length, errors, latencies.length / seconds,
+        percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999));
+
+    assertThat(errors).isLessThan(latencies.length / 100);
+  }
+
+  private int run(HttpClient client, String token, List<String> ids, int clients, int perClient) throws Exception {
+    return run(client, token, ids, clients, perClient, new long[clients * perClient]);
+  }
+
+  private int run(HttpClient client, String token, List<String> ids, int clients, int perClient, long[] latencies)
+      throws Exception {
+    AtomicInteger errors = new AtomicInteger();
+    AtomicInteger slot = new AtomicInteger();
+    try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new ArrayList<>(clients);
+      for (int c = 0; c < clients; c++) {
+        futures.add(pool.submit(() -> {
+          for (int i = 0; i < perClient; i++) {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            String path = rnd.nextInt(10) == 0 ? "/api/users" : "/api/users/" + ids.get(rnd.nextInt(ids.size()));
+            long t0 = System.nanoTime();
+            try {
+              HttpResponse<Void> res = client.send(request(token, path).GET().build(),
+                  HttpResponse.BodyHandlers.discarding());
+              if (res.statusCode() != 200) {
+                errors.incrementAndGet();
+              }
+            } catch (Exception e) {
+              errors.incrementAndGet();
+            }
+            latencies[slot.getAndIncrement()] = System.nanoTime() - t0;
+          }
+          return null;
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    }
+    return errors.get();
+  }
+
+  private HttpRequest.Builder request(String token, String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .timeout(Duration.ofSeconds(60))
+        .header("Authorization", "Bearer " + token);
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+    return sorted[Math.max(0, idx)] / 1e6;
+  }
+}
@@ -0,0 +1,188 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap vs. hash-partitioned {@code users} under RLS.
+ *
+ * <p>Loads the same synthetic data set ({@code -Dbench.rows}, default 10M, spread over
+ * {@code -Dbench.tenants} tenants) into a plain table and into a table partitioned like
+ * {@code V3__partition_users.sql}, both with the application's RLS policy. Tenant-scoped queries then
+ * run as a non-superuser role (superusers bypass RLS) and the report prints per-query latency
+ * percentiles for both layouts. Run with {@code ./gradlew benchmark --tests '*UsersPartitioningBenchmark'}.
+ */
+@Tag("benchmark")
+@Testcontainers
+public class UsersPartitioningBenchmark {
+
+  private static final long ROWS = Long.getLong("bench.rows", 10_000_000L);
+  private static final int TENANTS = Integer.getInteger("bench.tenants", 1_000);
+  private static final int PARTITIONS = Integer.getInteger("bench.partitions", 16);
+  private static final int ITERATIONS = Integer.getInteger("bench.iterations", 2_000);
+
+  private static final String APP_ROLE = "bench_app";
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+      .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_wal_size=4GB");
+
+  @Test
+  void tenantQueriesHeapVsPartitioned() throws SQLException {
+    try (Connection admin = connect(POSTGRES.getUsername(), POSTGRES.getPassword())) {
+      createSchema(admin);
+      load(admin, "users_heap");
+      load(admin, "users_part");
+      try (Statement st = admin.createStatement()) {
+        st.execute("vacuum analyze users_heap");
+        st.execute("vacuum analyze users_part");
+      }
+    }
+
+    try (Connection app = connect(APP_ROLE, APP_ROLE)) {
+      for (String table : new String[] {"users_heap", "users_part"}) {
+        run(app, table, "email lookup", "select id from " + table + " where email = ?", true);
+        run(app, table, "lookup by id", "select email from " + table + " where id = ?", false);
+        run(app, table, "list page", "select id, email from " + table + " order by created_at limit 50", null);
+        run(app, table, "count", "select count(*) from " + table, null);
+      }
+    }
+  }
+
+  private static void createSchema(Connection admin) throws SQLException {
+    String policy = "USING (tenant_id = NULLIF(current_setting('app.tenant_id', true), '')::uuid)";
+    try (Statement st = admin.createStatement()) {
+      st.execute("create role " + APP_ROLE + " login password '" + APP_ROLE + "'");
+      st.execute("""
+          create table users_heap (
+            id uuid primary key, tenant_id uuid not null, email varchar(320) not null,
+            full_name varchar(200) not null, created_at timestamptz not null default now())
+          """);
+      st.execute("create unique index on users_heap (tenant_id, email)");
+      st.execute("create index on users_heap (tenant_id)");
+
+      st.execute("""
+          create table users_part (
+            id uuid not null, tenant_id uuid not null, email varchar(320) not null,
+            full_name varchar(200) not null, created_at timestamptz not null default now(),
+            primary key (tenant_id, id)) partition by hash (tenant_id)
+          """);
+      st.execute("create unique index on users_part (tenant_id, email)");
+      st.execute("create index on users_part (tenant_id)");
+      for (int i = 0; i < PARTITIONS; i++) {
+        st.execute("create table users_part_p%d partition of users_part for values with (modulus %d, remainder %d)"
+            .formatted(i, PARTITIONS, i));
+      }
+
+      for (String table : new String[] {"users_heap", "users_part"}) {
+        st.execute("alter table " + table + " enable row level security");
+        st.execute("alter table " + table + " force row level security");
+        st.execute("create policy tenant_isolation on " + table + " " + policy);
+        st.execute("grant select on " + table + " to " + APP_ROLE);
+      }
+    }
+  }
+
+  private static void load(Connection admin, String table) throws SQLException {
+    long start = System.nanoTime();
+    try (PreparedStatement ps = admin.prepareStatement("""
+        insert into %s (id, tenant_id, email, full_name, created_at)
+        select md5('u' || n)::uuid,
+               md5('t' || (n %% ?))::uuid,
+               'user' || n || '@example.com',
+               'User ' || n,
+               now() - (n || ' seconds')::interval
+          from generate_series(1, ?) n
+        """.formatted(table))) {
+      ps.setInt(1, TENANTS);
+      ps.setLong(2, ROWS);
+      ps.executeUpdate();
+    }
+    System.out.printf("[partitioning] loaded %,d rows into %s in %,d ms%n",
+        ROWS, table, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Runs {@code sql} {@link #ITERATIONS} times, each in its own transaction for a random tenant.
+   *
+   * @param byEmail {@code true} binds a user email of that tenant, {@code false} a user id,
+   *                {@code null} binds nothing
+   */
+  private static void run(Connection app, String table, String label, String sql, Boolean byEmail)
+      throws SQLException {
+    app.setAutoCommit(false);
+    long[] nanos = new long[ITERATIONS];
+    try (PreparedStatement setTenant = app.prepareStatement("select set_config('app.tenant_id', ?, true)");
+         PreparedStatement query = app.prepareStatement(sql)) {
+      for (int i = 0; i < ITERATIONS; i++) {
+        // user n belongs to tenant n % TENANTS; pick a user, then scope to its tenant
+        long n = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        long start = System.nanoTime();
+        setTenant.setString(1, uuidOf("t" + (n % TENANTS)));
+        setTenant.execute();
+        if (byEmail != null) {
+          if (byEmail) {
+            query.setString(1, "user" + n + "@example.com");
+          } else {
+            query.setObject(1, UUID.fromString(uuidOf("u" + n)));
+          }
+        }
+        int rows = 0;
+        try (ResultSet rs = query.executeQuery()) {
+          while (rs.next()) {
+            rows++;
+          }
+        }
+        app.commit();
+        nanos[i] = System.nanoTime() - start;
+        assertThat(rows).isPositive();
+      }
+    }
+    Arrays.sort(nanos);
+    System.out.printf("[partitioning] %-10s %-13s p50=%.3fms p95=%.3fms p99=%.3fms%n",
+        table, label, pct(nanos, 0.50), pct(nanos, 0.95), pct(nanos, 0.99));
+  }
+
+  /** Same as Postgres {@code md5(text)::uuid}. */
+  private static String uuidOf(String s) {
+    try {
+      byte[] d = MessageDigest.getInstance("MD5")
+          .digest(s.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(36);
+      for (int i = 0; i < d.length; i++) {
+        if (i == 4 || i == 6 || i == 8 || i == 10) {
+          hex.append('-');
+        }
+        hex.append(String.format("%02x", d[i]));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static double pct(long[] sorted, double p) {
+    return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000_000.0;
+  }
+
+  private static Connection connect(String user, String password) throws SQLException {
+    return DriverManager.getConnection(POSTGRES.getJdbcUrl(), user, password);
+  }
+}
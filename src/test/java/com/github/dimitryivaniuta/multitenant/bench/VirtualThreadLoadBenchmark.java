@@ -0,0 +1,30 @@
+package com.github.dimitryivaniuta.multitenant.bench;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ThreadModeLoadBenchmark} with virtual-thread request handling and the {@code ScopedValue}
+ * tenant context.
+ */
+@TestPropertySource(properties = {
+    "spring.threads.virtual.enabled=true",
+    "server.tomcat.max-connections=10000",
+    "server.tomcat.accept-count=2000",
+    "app.bulkhead.enabled=false"
+})
+public class VirtualThreadLoadBenchmark extends ThreadModeLoadBenchmark {
+
+  @Override
+  String mode() {
+    return "virtual";
+  }
+
+  @Test
+  void tenantContextIsScopedValueBacked() {
+    assertThat(TenantContext.isScopedValueMode()).isTrue();
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.dimitryivaniuta.multitenant.bench.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of API operations, parsed from {@code op:weight,...} (e.g. {@code get:70,list:10,create:5}).
+ * Operations not listed get weight 0.
+ */
+final class OperationMix {
+
+  /** One API call type; the report has one line per operation. */
+  enum Operation {
+    GET, EMAIL, LIST, SEARCH, STATS, CREATE
+  }
+
+  private final Operation[] ops;
+  private final int[] cumulative;
+  private final int total;
+
+  private OperationMix(Map<Operation, Integer> weights) {
+    ops = weights.keySet().toArray(Operation[]::new);
+    cumulative = new int[ops.length];
+    int sum = 0;
+    for (int i = 0; i < ops.length; i++) {
+      sum += weights.get(ops[i]);
+      cumulative[i] = sum;
+    }
+    if (sum <= 0) {
+      throw new IllegalArgumentException("Operation mix has no positive weight");
+    }
+    total = sum;
+  }
+
+  static OperationMix parse(String spec) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : spec.split(",")) {
+      String[] kv = part.trim().split(":");
+      if (kv.length != 2) {
+        throw new IllegalArgumentException("Expected op:weight, got '" + part + "'");
+      }
+      int weight = Integer.parseInt(kv[1].trim());
+      if (weight > 0) {
+        weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), weight);
+      }
+    }
+    return new OperationMix(weights);
+  }
+
+  Operation next(RandomGenerator random) {
+    int r = random.nextInt(total);
+    for (int i = 0; i < cumulative.length; i++) {
+      if (r < cumulative[i]) {
+        return ops[i];
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    int previous = 0;
+    for (int i = 0; i < ops.length; i++) {
+      sb.append(i == 0 ? "" : ",").append(ops[i].name().toLowerCase()).append(':').append(cumulative[i] - previous);
+      previous = cumulative[i];
+    }
+    return sb.toString();
+  }
+}
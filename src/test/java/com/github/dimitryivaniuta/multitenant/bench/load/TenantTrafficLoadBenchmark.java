@@ -0,0 +1,300 @@
+package com.github.dimitryivaniuta.multitenant.bench.load;
+
+import com.github.dimitryivaniuta.multitenant.bench.load.OperationMix.Operation;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.TestJwt;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.KafkaContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Production-shaped load: many tenants, Zipf-skewed tenant popularity, a configurable read-heavy mix.
+ *
+ * <p>Runs the application against Testcontainers Postgres, Redis and Kafka, seeds {@code bench.tenants}
+ * tenants with {@code bench.users-per-tenant} users each and mints one RS256 token per tenant with
+ * {@link TestJwt}. The driver is open-loop: requests are issued at {@code bench.rate} per second
+ * whether or not earlier ones have finished, and latency is measured from the intended send time, so a
+ * stalled server shows up in the percentiles instead of silently lowering the offered load.
+ *
+ * <p>That only holds while fewer than {@code bench.max-in-flight} requests are outstanding: a send dropped
+ * at the cap has no latency sample, so the percentiles would understate the stall. The measured run
+ * therefore fails if anything was dropped; raise the cap or lower the rate.
+ *
+ * <p>Knobs (all {@code -D}): {@code bench.tenants} (1000), {@code bench.users-per-tenant} (20),
+ * {@code bench.zipf} (1.1), {@code bench.rate} (1000), {@code bench.duration} (60s), {@code bench.warmup}
+ * (15s), {@code bench.max-in-flight} (5000) and {@code bench.mix}
+ * ({@code get:70,email:8,list:8,search:5,stats:4,create:5}). Run with
+ * {@code ./gradlew benchmark --tests '*TenantTrafficLoadBenchmark' -Dbench.rate=3000}.
+ *
+ * <p>The report has one line per operation: throughput, p50/p99/p99.9, errors and bulkhead/shard
+ * rejections (429/503, counted separately from errors).
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TenantTrafficLoadBenchmark {
+
+  private static final int TENANTS = Integer.getInteger("bench.tenants", 1_000);
+  private static final int USERS_PER_TENANT = Integer.getInteger("bench.users-per-tenant", 20);
+  private static final double ZIPF = Double.parseDouble(System.getProperty("bench.zipf", "1.1"));
+  private static final int RATE = Integer.getInteger("bench.rate", 1_000);
+  private static final Duration DURATION = Duration.parse("PT" + System.getProperty("bench.duration", "60s"));
+  private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("bench.warmup", "15s"));
+  private static final int MAX_IN_FLIGHT = Integer.getInteger("bench.max-in-flight", 5_000);
+  private static final OperationMix MIX =
+      OperationMix.parse(System.getProperty("bench.mix", "get:70,email:8,list:8,search:5,stats:4,create:5"));
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+      .withDatabaseName("tenantdb")
+      .withUsername("tenant")
+      .withPassword("tenant")
+      .withCommand("postgres", "-c", "max_connections=300", "-c", "shared_buffers=256MB");
+
+  @Container
+  static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+      .withExposedPorts(6379);
+
+  @Container
+  static final KafkaContainer KAFKA = new KafkaContainer("apache/kafka:3.8.0");
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+
+    registry.add("spring.data.redis.host", REDIS::getHost);
+    registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+
+    registry.add("spring.kafka.bootstrap-servers", KAFKA::getBootstrapServers);
+
+    TestJwt.register(registry);
+  }
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @Test
+  void skewedMultiTenantTraffic() throws Exception {
+    Tenant[] tenants = seed();
+    ZipfSampler zipf = new ZipfSampler(TENANTS, ZIPF);
+    System.out.printf("[load] tenants=%d users/tenant=%d zipf=%.2f (top 1%% of tenants get %.0f%% of requests) mix=%s%n",
+        TENANTS, USERS_PER_TENANT, ZIPF, 100 * zipf.share(Math.max(1, TENANTS / 100)), MIX);
+
+    HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    drive(client, tenants, zipf, WARMUP);
+    Map<Operation, Recorder> results = drive(client, tenants, zipf, DURATION);
+
+    report(results);
+    long calls = results.values().stream().mapToLong(r -> r.count.get()).sum();
+    long errors = results.values().stream().mapToLong(r -> r.errors.get()).sum();
+    long dropped = results.values().stream().mapToLong(r -> r.dropped.get()).sum();
+    assertThat(dropped)
+        .as("sends dropped at bench.max-in-flight=%d have no latency sample; raise it or lower bench.rate",
+            MAX_IN_FLIGHT)
+        .isZero();
+    assertThat(errors).isLessThan(Math.max(1, calls / 100));
+  }
+
+  /** Inserts the users of every tenant (one statement per tenant) and mints the tenants' tokens. */
+  private Tenant[] seed() {
+    long start = System.nanoTime();
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    Tenant[] tenants = new Tenant[TENANTS];
+    for (int t = 0; t < TENANTS; t++) {
+      UUID tenantId = UUID.randomUUID();
+      TenantContext.setTenantId(tenantId);
+      try {
+        List<UUID> ids = tx.execute(s -> {
+          jdbc.update("""
+              insert into users (id, tenant_id, email, full_name)
+              select gen_random_uuid(), ?, 'user' || n || '@example.com', 'User ' || n
+                from generate_series(0, ? - 1) n
+              """, tenantId, USERS_PER_TENANT);
+          return jdbc.queryForList("select id from users", UUID.class);
+        });
+        tenants[t] = new Tenant(TestJwt.tokenFor(tenantId), ids.toArray(UUID[]::new));
+      } finally {
+        TenantContext.clear();
+      }
+    }
+    System.out.printf("[load] seeded %,d tenants in %,d ms%n", TENANTS, (System.nanoTime() - start) / 1_000_000);
+    return tenants;
+  }
+
+  /** Issues requests at {@link #RATE} for {@code duration} and waits for all of them to complete. */
+  private Map<Operation, Recorder> drive(HttpClient client, Tenant[] tenants, ZipfSampler zipf, Duration duration) {
+    int expected = (int) Math.min(Integer.MAX_VALUE - 8, (long) RATE * duration.toSeconds() + RATE);
+    Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    for (Operation op : Operation.values()) {
+      recorders.put(op, new Recorder(expected));
+    }
+    Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    SplittableRandom random = new SplittableRandom();
+    AtomicLong created = new AtomicLong();
+
+    long interval = 1_000_000_000L / RATE;
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long intended = start; intended < end; intended += interval) {
+        long wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        Operation op = MIX.next(random);
+        Tenant tenant = tenants[zipf.sample(random)];
+        Recorder recorder = recorders.get(op);
+        if (!inFlight.tryAcquire()) {
+          recorder.dropped.incrementAndGet();
+          continue;
+        }
+        HttpRequest request = request(op, tenant, random.split(), created);
+        long sentAt = intended;
+        pool.submit(() -> {
+          try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            recorder.record(System.nanoTime() - sentAt, status);
+          } catch (Exception e) {
+            recorder.record(System.nanoTime() - sentAt, -1);
+          } finally {
+            inFlight.release();
+          }
+        });
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    recorders.values().forEach(r -> r.elapsedNanos = elapsed);
+    return recorders;
+  }
+
+  private HttpRequest request(Operation op, Tenant tenant, SplittableRandom random, AtomicLong created) {
+    HttpRequest.Builder b = switch (op) {
+      case GET -> get("/api/users/" + tenant.userIds[random.nextInt(tenant.userIds.length)]);
+      case EMAIL -> get("/api/users?email=user" + random.nextInt(USERS_PER_TENANT) + "@example.com");
+      case LIST -> get("/api/users");
+      case SEARCH -> get("/api/users/search?q=user" + random.nextInt(10) + "&limit=20");
+      case STATS -> get("/api/users/stats");
+      case CREATE -> HttpRequest.newBuilder(uri("/api/users"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(
+              "{\"email\":\"load" + created.incrementAndGet() + "@example.com\",\"fullName\":\"Load\"}"));
+    };
+    return b.timeout(Duration.ofSeconds(30)).header("Authorization", "Bearer " + tenant.token).build();
+  }
+
+  private HttpRequest.Builder get(String path) {
+    return HttpRequest.newBuilder(uri(path)).GET();
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private static void report(Map<Operation, Recorder> results) {
+    System.out.printf("[load] %-7s %9s %9s %9s %9s %9s %8s %8s %8s%n",
+        "op", "calls", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "429/503", "dropped");
+    long calls = 0;
+    long elapsed = 1;
+    for (Map.Entry<Operation, Recorder> e : results.entrySet()) {
+      Recorder r = e.getValue();
+      if (r.count.get() == 0 && r.dropped.get() == 0) {
+        continue;
+      }
+      long[] sorted = r.sorted();
+      calls += sorted.length;
+      elapsed = r.elapsedNanos;
+      System.out.printf("[load] %-7s %,9d %,9.0f %9.1f %9.1f %9.1f %,8d %,8d %,8d%n",
+          e.getKey().name().toLowerCase(), sorted.length, sorted.length / (r.elapsedNanos / 1e9),
+          percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+          r.errors.get(), r.rejected.get(), r.dropped.get());
+    }
+    System.out.printf("[load] total   %,9d %,9.0f req/s (target %,d/s)%n", calls, calls / (elapsed / 1e9), RATE);
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+    return sorted[Math.max(0, idx)] / 1e6;
+  }
+
+  private record Tenant(String token, UUID[] userIds) {
+  }
+
+  /** Latencies and outcomes of one operation. */
+  private static final class Recorder {
+
+    private final long[] latencies;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private long elapsedNanos;
+
+    Recorder(int capacity) {
+      latencies = new long[capacity];
+    }
+
+    void record(long nanos, int status) {
+      int i = count.getAndIncrement();
+      if (i < latencies.length) {
+        latencies[i] = nanos;
+      }
+      if (status == 429 || status == 503) {
+        rejected.incrementAndGet();
+      } else if (status < 200 || status >= 300) {
+        errors.incrementAndGet();
+      }
+    }
+
+    long[] sorted() {
+      long[] copy = Arrays.copyOf(latencies, Math.min(count.get(), latencies.length));
+      Arrays.sort(copy);
+      return copy;
+    }
+  }
+}
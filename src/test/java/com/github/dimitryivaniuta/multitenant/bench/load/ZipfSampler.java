@@ -0,0 +1,41 @@
+package com.github.dimitryivaniuta.multitenant.bench.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples ranks {@code 0..n-1} with Zipf probabilities: rank {@code k} is drawn with probability proportional
+ * to {@code 1 / (k + 1)^s}.
+ *
+ * <p>With {@code s} around 1 a handful of tenants get most of the traffic and the long tail gets a request
+ * now and then, which is what multi-tenant production traffic usually looks like. {@code s = 0} is uniform.
+ */
+final class ZipfSampler {
+
+  private final double[] cdf;
+
+  ZipfSampler(int n, double s) {
+    if (n < 1 || s < 0) {
+      throw new IllegalArgumentException("n must be >= 1 and s >= 0");
+    }
+    cdf = new double[n];
+    double sum = 0;
+    for (int k = 0; k < n; k++) {
+      sum += 1 / Math.pow(k + 1, s);
+      cdf[k] = sum;
+    }
+    for (int k = 0; k < n; k++) {
+      cdf[k] /= sum;
+    }
+  }
+
+  int sample(RandomGenerator random) {
+    int i = Arrays.binarySearch(cdf, random.nextDouble());
+    return Math.min(i >= 0 ? i : -i - 1, cdf.length - 1);
+  }
+
+  /** Share of all draws that go to the {@code top} most frequent ranks. */
+  double share(int top) {
+    return cdf[Math.min(top, cdf.length) - 1];
+  }
+}
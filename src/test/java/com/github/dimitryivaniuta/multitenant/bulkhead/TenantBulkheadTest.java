@@ -0,0 +1,90 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that {@link TenantBulkhead} drops idle tenants' limiters and gauges, and rejects limits that could
+ * take the whole connection pool.
+ */
+public class TenantBulkheadTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TenantMetricTags tags =
+      new TenantMetricTags(new TenantMetricsProperties(2, Duration.ofMinutes(1), 100), registry);
+  private final AtomicLong nanos = new AtomicLong();
+  private final BulkheadProperties props = new BulkheadProperties(true, BulkheadProperties.Mode.FIXED, 2, 1, 4,
+      Duration.ZERO, Duration.ofSeconds(1), 0.5d, Duration.ofMinutes(10));
+
+  @Test
+  void idleTenantsAreDropped_withTheirGauges() {
+    TenantBulkhead bulkhead = new TenantBulkhead(props, registry, tags, nanos::get);
+    UUID tenant = UUID.randomUUID();
+    tags.tag(tenant);
+
+    bulkhead.acquire(tenant).release();
+    bulkhead.acquire(UUID.randomUUID()).release();
+    assertThat(bulkhead.trackedTenants()).isEqualTo(2);
+    assertThat(inFlightGauge(tenant)).isNotNull();
+
+    nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+    assertThat(bulkhead.trackedTenants()).isZero();
+    assertThat(inFlightGauge(tenant)).isNull();
+
+    // A returning tenant gets a fresh limiter, and its gauge reports that one.
+    TenantBulkhead.Permit permit = bulkhead.acquire(tenant);
+    assertThat(inFlightGauge(tenant).value()).isEqualTo(1.0);
+    permit.release();
+    assertThat(inFlightGauge(tenant).value()).isZero();
+  }
+
+  @Test
+  void maxLimitMustLeaveConnectionsForOtherTenants() {
+    assertThatCode(() -> TenantBulkhead.checkPoolSize(props, Map.of("primary", 5))).doesNotThrowAnyException();
+    assertThatThrownBy(() -> TenantBulkhead.checkPoolSize(props, Map.of("primary", 4)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("app.bulkhead.max-limit");
+  }
+
+  @Test
+  void everyPoolATenantCanBeRoutedTo_isChecked() {
+    Map<String, Integer> pools = TenantBulkhead.tenantPools(new Binder(new MapConfigurationPropertySource(Map.ofEntries(
+        Map.entry("spring.datasource.hikari.maximum-pool-size", "20"),
+        Map.entry("app.datasource.read-replicas.enabled", "true"),
+        Map.entry("app.datasource.read-replicas.replicas[0].url", "jdbc:postgresql://replica/db"),
+        Map.entry("app.sharding.enabled", "true"),
+        Map.entry("app.sharding.shards[0].name", "s1"),
+        Map.entry("app.sharding.shards[0].url", "jdbc:postgresql://s1/db"),
+        Map.entry("app.sharding.shards[0].maximum-pool-size", "8"),
+        Map.entry("app.tenancy.dedicated[0].tenant-id", UUID.randomUUID().toString()),
+        Map.entry("app.tenancy.dedicated[0].mode", "database"),
+        Map.entry("app.tenancy.dedicated[0].url", "jdbc:postgresql://big/db"),
+        Map.entry("app.tenancy.dedicated[0].maximum-pool-size", "4")))));
+
+    assertThat(pools).containsExactly(
+        Map.entry("spring.datasource.hikari", 20),
+        Map.entry("app.datasource.read-replicas.replicas[0]", 20),
+        Map.entry("app.sharding.shards[0]", 8),
+        Map.entry("app.tenancy.dedicated[0]", 4));
+    assertThatThrownBy(() -> TenantBulkhead.checkPoolSize(props, pools))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("app.tenancy.dedicated[0] (4)");
+  }
+
+  private Gauge inFlightGauge(UUID tenant) {
+    return registry.find("tenant.bulkhead.inflight").tag(TenantMetricTags.TAG, tenant.toString()).gauge();
+  }
+}
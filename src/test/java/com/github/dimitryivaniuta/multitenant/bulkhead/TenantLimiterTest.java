@@ -0,0 +1,57 @@
+package com.github.dimitryivaniuta.multitenant.bulkhead;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies bounded waiting and the AIMD limit adjustments of {@link TenantLimiter}.
+ */
+public class TenantLimiterTest {
+
+  private static BulkheadProperties props(BulkheadProperties.Mode mode) {
+    return new BulkheadProperties(true, mode, 2, 1, 4, Duration.ofMillis(10), Duration.ofMillis(50), 0.5d,
+        null);
+  }
+
+  @Test
+  void rejectsWhenLimitReachedAfterBoundedWait() throws Exception {
+    TenantLimiter limiter = new TenantLimiter(props(BulkheadProperties.Mode.FIXED));
+
+    assertThat(limiter.tryAcquire(0L)).isTrue();
+    assertThat(limiter.tryAcquire(0L)).isTrue();
+
+    long start = System.nanoTime();
+    assertThat(limiter.tryAcquire(Duration.ofMillis(20).toNanos())).isFalse();
+    assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(1).toNanos());
+
+    limiter.release(0L);
+    assertThat(limiter.tryAcquire(0L)).isTrue();
+    assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  void adaptiveLimitShrinksOnSlowCallsAndRecoversOnFastOnes() throws Exception {
+    TenantLimiter limiter = new TenantLimiter(props(BulkheadProperties.Mode.ADAPTIVE));
+    long slow = Duration.ofMillis(500).toNanos();
+
+    assertThat(limiter.tryAcquire(0L)).isTrue();
+    limiter.release(slow);
+    assertThat(limiter.limit()).isEqualTo(1);
+
+    assertThat(limiter.tryAcquire(0L)).isTrue();
+    limiter.release(0L);
+    assertThat(limiter.limit()).isEqualTo(2);
+
+    // Growth is gated on utilisation: keep two calls in flight so the limit climbs back to the max.
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire(0L)).isTrue();
+      assertThat(limiter.tryAcquire(0L)).isTrue();
+      limiter.release(0L);
+      limiter.release(0L);
+    }
+    assertThat(limiter.limit()).isEqualTo(4);
+    assertThat(limiter.inFlight()).isZero();
+  }
+}
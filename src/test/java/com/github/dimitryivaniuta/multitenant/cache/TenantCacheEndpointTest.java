@@ -0,0 +1,116 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.Cursor.CursorId;
+import org.springframework.data.redis.core.ScanCursor;
+import org.springframework.data.redis.core.ScanIteration;
+import org.springframework.data.redis.core.ScanOptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TenantCacheEndpoint} against an in-memory stand-in for the Redis connection that
+ * answers {@code SCAN} and {@code MEMORY USAGE}.
+ */
+public class TenantCacheEndpointTest {
+
+  private static final long BYTES_PER_KEY = 100L;
+
+  private final List<byte[]> keys = new ArrayList<>();
+  private final AtomicReference<String> scannedPattern = new AtomicReference<>();
+  private final TenantCacheEndpoint endpoint = new TenantCacheEndpoint(connectionFactory());
+
+  @Test
+  void countsKeysPerTenant_largestFirst_andExtrapolatesMemoryFromSamples() {
+    UUID small = UUID.randomUUID();
+    UUID large = UUID.randomUUID();
+    addKeys(small, 3);
+    addKeys(large, TenantCacheEndpoint.MEMORY_SAMPLES + 10);
+    keys.add("tenant:".getBytes(StandardCharsets.UTF_8));
+
+    Map<String, Object> result = endpoint.tenants();
+
+    assertThat(scannedPattern.get()).isEqualTo("tenant:*");
+    assertThat(result).containsEntry("scannedKeys", (long) keys.size()).containsEntry("truncated", false);
+    assertThat(tenants(result)).containsExactly(
+        Map.of("tenantId", large.toString(), "keys", TenantCacheEndpoint.MEMORY_SAMPLES + 10L,
+            "approxMemoryBytes", (TenantCacheEndpoint.MEMORY_SAMPLES + 10L) * BYTES_PER_KEY),
+        Map.of("tenantId", small.toString(), "keys", 3L, "approxMemoryBytes", 3L * BYTES_PER_KEY));
+  }
+
+  @Test
+  void singleTenantScansOnlyItsPrefix() {
+    UUID tenant = UUID.randomUUID();
+    addKeys(tenant, 2);
+
+    Map<String, Object> result = endpoint.tenant(tenant.toString());
+
+    assertThat(scannedPattern.get()).isEqualTo("tenant:" + tenant + ":*");
+    assertThat(tenants(result)).singleElement().satisfies(t -> assertThat(t).containsEntry("keys", 2L));
+  }
+
+  @Test
+  void stopsAfterTheScanBudget() {
+    addKeys(UUID.randomUUID(), TenantCacheEndpoint.MAX_SCANNED_KEYS + 1);
+
+    Map<String, Object> result = endpoint.tenants();
+
+    assertThat(result)
+        .containsEntry("scannedKeys", (long) TenantCacheEndpoint.MAX_SCANNED_KEYS)
+        .containsEntry("truncated", true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> tenants(Map<String, Object> result) {
+    return (List<Map<String, Object>>) result.get("tenants");
+  }
+
+  private void addKeys(UUID tenant, int count) {
+    for (int i = 0; i < count; i++) {
+      keys.add(("tenant:" + tenant + ":user:" + i).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /** Serves SCAN in pages of {@code count} over {@link #keys} (pattern only recorded) and fixed MEMORY USAGE. */
+  private RedisConnectionFactory connectionFactory() {
+    RedisKeyCommands keyCommands = proxy(RedisKeyCommands.class, (name, args) -> {
+      ScanOptions options = (ScanOptions) args[0];
+      scannedPattern.set(options.getPattern());
+      return new ScanCursor<byte[]>(options) {
+        @Override
+        protected ScanIteration<byte[]> doScan(CursorId cursorId, ScanOptions scanOptions) {
+          int from = Integer.parseInt(cursorId.getCursorId());
+          int to = Math.min(keys.size(), from + scanOptions.getCount().intValue());
+          CursorId next = to == keys.size() ? CursorId.initial() : CursorId.of(to);
+          return new ScanIteration<>(next, keys.subList(from, to));
+        }
+      }.open();
+    });
+    RedisConnection connection = proxy(RedisConnection.class, (name, args) -> switch (name) {
+      case "keyCommands" -> keyCommands;
+      case "execute" -> BYTES_PER_KEY;
+      case "close" -> null;
+      default -> throw new UnsupportedOperationException(name);
+    });
+    return proxy(RedisConnectionFactory.class, (name, args) -> connection);
+  }
+
+  private interface Call {
+    Object invoke(String method, Object[] args);
+  }
+
+  private static <T> T proxy(Class<T> type, Call call) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (p, method, args) -> call.invoke(method.getName(), args)));
+  }
+}
@@ -0,0 +1,48 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TenantMeteredCacheManager}: decoration, memoization and the bound Redis cache meters.
+ *
+ * <p>Nothing here talks to Redis; the connection factory is never started.
+ */
+public class TenantMeteredCacheManagerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TenantMeteredCacheManager manager = new TenantMeteredCacheManager(redisCacheManager(), registry,
+      new TenantMetricTags(new TenantMetricsProperties(1, Duration.ofMinutes(1), 100), registry));
+
+  @Test
+  void decoratesEachCacheOnce_andBindsRedisCacheMeters() {
+    Cache users = manager.getCache("users");
+
+    assertThat(users).isInstanceOf(TenantMeteredCache.class);
+    assertThat(users.getName()).isEqualTo("users");
+    assertThat(manager.getCache("users")).isSameAs(users);
+    assertThat(manager.getCacheNames()).contains("users");
+
+    assertThat(registry.find("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter()).isNotNull();
+    assertThat(registry.find("cache.puts").tag("cache", "users").functionCounter()).isNotNull();
+    assertThat(registry.find("cache.load").tag("cache", "users").timer()).isNotNull();
+  }
+
+  private static RedisCacheManager redisCacheManager() {
+    RedisCacheManager redis = RedisCacheManager
+        .builder(RedisCacheWriter.nonLockingRedisCacheWriter(new LettuceConnectionFactory()))
+        .enableStatistics()
+        .build();
+    redis.afterPropertiesSet();
+    return redis;
+  }
+}
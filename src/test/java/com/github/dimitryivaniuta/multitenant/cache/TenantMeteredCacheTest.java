@@ -0,0 +1,101 @@
+package com.github.dimitryivaniuta.multitenant.cache;
+
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricTags;
+import com.github.dimitryivaniuta.multitenant.observability.TenantMetricsProperties;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link TenantMeteredCache}: hit/miss counts per tenant tag and load timing.
+ */
+public class TenantMeteredCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TenantMetricTags tags =
+      new TenantMetricTags(new TenantMetricsProperties(1, Duration.ofMinutes(1), 100), registry);
+  private final TenantMeteredCache cache = new TenantMeteredCache(new ConcurrentMapCache("users"), registry, tags);
+
+  @AfterEach
+  void clear() {
+    TenantMeteredCache.clearPendingLoad();
+    TenantContext.clear();
+  }
+
+  @Test
+  void countsHitsAndMisses_perTenantTag() {
+    UUID top = UUID.randomUUID();
+    tags.tag(top); // takes the only top-K slot
+    UUID other = UUID.randomUUID();
+
+    TenantContext.setTenantId(top);
+    assertThat(cache.get("k")).isNull();
+    cache.put("k", "v");
+    assertThat(cache.get("k").get()).isEqualTo("v");
+    assertThat(cache.get("k", String.class)).isEqualTo("v");
+
+    TenantContext.setTenantId(other);
+    assertThat(cache.get("missing")).isNull();
+
+    assertThat(gets(top.toString(), "miss")).isEqualTo(1.0);
+    assertThat(gets(top.toString(), "hit")).isEqualTo(2.0);
+    assertThat(gets(TenantMetricTags.OTHER, "miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  void timesTheLoadBetweenMissAndPut_onlyForTheMissedKey() {
+    cache.get("a");
+    cache.put("b", "unrelated");
+    assertThat(loads()).isZero();
+
+    cache.put("a", "loaded");
+    assertThat(loads()).isEqualTo(1);
+
+    cache.put("a", "again");
+    assertThat(loads()).isEqualTo(1);
+  }
+
+  @Test
+  void clearedMiss_doesNotTimeALaterPut() {
+    cache.get("a");
+    // what TenantCacheLoadAspect does when the @Cacheable method throws
+    TenantMeteredCache.clearPendingLoad();
+
+    cache.put("a", "from @CachePut");
+    assertThat(loads()).isZero();
+  }
+
+  @Test
+  void valueLoaderGets_countAndTimeLoads_evenWhenTheLoaderThrows() {
+    assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+    assertThat(cache.get("k", () -> "ignored")).isEqualTo("v");
+    assertThatThrownBy(() -> cache.get("boom", () -> {
+      throw new IllegalStateException("load failed");
+    })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+    assertThat(gets(TenantMetricTags.OTHER, "miss")).isEqualTo(2.0);
+    assertThat(gets(TenantMetricTags.OTHER, "hit")).isEqualTo(1.0);
+    assertThat(loads()).isEqualTo(2);
+  }
+
+  private double gets(String tenant, String result) {
+    return registry.get("tenant.cache.gets")
+        .tag("cache", "users")
+        .tag("result", result)
+        .tag(TenantMetricTags.TAG, tenant)
+        .counter()
+        .count();
+  }
+
+  private long loads() {
+    return registry.get("cache.load").tag("cache", "users").timer().count();
+  }
+}
@@ -0,0 +1,110 @@
+package com.github.dimitryivaniuta.multitenant.changefeed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ChangeFeedHub} subscriber limits, slow-subscriber handling and {@link UserChangeEvent}
+ * parsing.
+ */
+public class ChangeFeedHubTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final ChangeFeedHub hub = new ChangeFeedHub(
+      new ChangeFeedProperties(true, 3, 2, 2, null, Duration.ofMinutes(1), Duration.ofMinutes(5), null),
+      new ObjectMapper(), registry);
+
+  @AfterEach
+  void stop() {
+    hub.stop();
+  }
+
+  @Test
+  void refusesSubscribersBeyondTheTenantAndNodeLimits() {
+    hub.start();
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+
+    hub.subscribe(tenantA);
+    hub.subscribe(tenantA);
+    assertThatThrownBy(() -> hub.subscribe(tenantA)).isInstanceOf(ChangeFeedFullException.class);
+
+    hub.subscribe(tenantB);
+    assertThatThrownBy(() -> hub.subscribe(UUID.randomUUID())).isInstanceOf(ChangeFeedFullException.class);
+
+    assertThat(hub.subscriberCount()).isEqualTo(3);
+    assertThat(registry.get("changefeed.subscriptions.rejected").counter().count()).isEqualTo(2);
+    assertThat(registry.get("changefeed.subscribers").gauge().value()).isEqualTo(3);
+  }
+
+  @Test
+  void stopClosesStreams_andRefusesNewOnes() {
+    hub.start();
+    hub.subscribe(UUID.randomUUID());
+
+    hub.stop();
+
+    assertThat(hub.subscriberCount()).isZero();
+    assertThatThrownBy(() -> hub.subscribe(UUID.randomUUID())).isInstanceOf(ChangeFeedFullException.class);
+  }
+
+  @Test
+  void subscriberThatFallsBehindIsDropped_withoutBlockingThePublisher() throws Exception {
+    // One writer thread, held busy: nothing is drained until the latch opens.
+    ExecutorService writers = Executors.newSingleThreadExecutor();
+    CountDownLatch busy = new CountDownLatch(1);
+    writers.execute(() -> {
+      try {
+        busy.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    ChangeFeedHub slowHub = new ChangeFeedHub(
+        new ChangeFeedProperties(true, 10, 10, 1, 2, Duration.ofMinutes(1), Duration.ofMinutes(5), null),
+        new ObjectMapper(), registry, writers);
+    slowHub.start();
+    try {
+      UUID busyTenant = UUID.randomUUID();
+      UUID quietTenant = UUID.randomUUID();
+      slowHub.subscribe(busyTenant);
+      slowHub.subscribe(quietTenant);
+
+      for (int i = 0; i < 3; i++) {
+        slowHub.publish(new UserChangeEvent(busyTenant, "created", UUID.randomUUID()));
+      }
+      slowHub.publish(new UserChangeEvent(quietTenant, "created", UUID.randomUUID()));
+
+      assertThat(slowHub.subscriberCount()).isEqualTo(1);
+      assertThat(registry.get("changefeed.subscribers.dropped").counter().count()).isEqualTo(1);
+    } finally {
+      busy.countDown();
+      slowHub.stop();
+      writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void parsesTriggerPayloads() {
+    UUID tenant = UUID.randomUUID();
+    UUID user = UUID.randomUUID();
+
+    UserChangeEvent event = UserChangeEvent.parse(tenant + " deleted " + user);
+
+    assertThat(event).isEqualTo(new UserChangeEvent(tenant, "deleted", user));
+    assertThat(event.eventName()).isEqualTo("user.deleted");
+    assertThatThrownBy(() -> UserChangeEvent.parse("garbage")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
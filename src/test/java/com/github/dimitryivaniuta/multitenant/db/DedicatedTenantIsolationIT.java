@@ -0,0 +1,117 @@
+package com.github.dimitryivaniuta.multitenant.db;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hybrid isolation: one tenant in a dedicated schema, one in a dedicated database, the rest shared.
+ *
+ * <p>The same API calls land in each tenant's own location, and Flyway has migrated every location.
+ */
+public class DedicatedTenantIsolationIT extends IntegrationTestBase {
+
+  private static final UUID SCHEMA_TENANT = UUID.fromString("0b8f2a36-6c61-4b43-9d2a-1f4f9a3b6a10");
+  private static final UUID DATABASE_TENANT = UUID.fromString("5d7c5c1e-8b9e-4c25-a0f3-2f7f1f0e9c21");
+  private static final String SCHEMA = "tenant_acme";
+
+  @Container
+  static final PostgreSQLContainer<?> DEDICATED_DB = new PostgreSQLContainer<>("postgres:16-alpine")
+      .withDatabaseName("tenant_globex")
+      .withUsername("tenant")
+      .withPassword("tenant");
+
+  @DynamicPropertySource
+  static void dedicated(DynamicPropertyRegistry registry) {
+    registry.add("app.tenancy.dedicated[0].tenant-id", SCHEMA_TENANT::toString);
+    registry.add("app.tenancy.dedicated[0].mode", () -> "schema");
+    registry.add("app.tenancy.dedicated[0].schema", () -> SCHEMA);
+    registry.add("app.tenancy.dedicated[1].tenant-id", DATABASE_TENANT::toString);
+    registry.add("app.tenancy.dedicated[1].mode", () -> "database");
+    registry.add("app.tenancy.dedicated[1].url", DEDICATED_DB::getJdbcUrl);
+  }
+
+  @Value("${spring.datasource.url}")
+  String sharedUrl;
+
+  @Test
+  void eachTenantIsServedFromItsOwnLocation() throws SQLException {
+    UUID sharedTenant = UUID.randomUUID();
+
+    UserResponse inSchema = postUser(tokenFor(SCHEMA_TENANT), new CreateUserRequest("acme@example.com", "Dedicated"));
+    UserResponse inDatabase =
+        postUser(tokenFor(DATABASE_TENANT), new CreateUserRequest("globex@example.com", "Dedicated"));
+    postUser(tokenFor(sharedTenant), new CreateUserRequest("shared@example.com", "Dedicated"));
+
+    assertThat(getUser(SCHEMA_TENANT, inSchema.id()).email()).isEqualTo("acme@example.com");
+    assertThat(getUser(DATABASE_TENANT, inDatabase.id()).email()).isEqualTo("globex@example.com");
+
+    String dedicatedUrl = DEDICATED_DB.getJdbcUrl();
+
+    assertThat(countUsers(sharedUrl, SCHEMA + ".users", SCHEMA_TENANT)).isEqualTo(1);
+    assertThat(countUsers(sharedUrl, "public.users", SCHEMA_TENANT)).isZero();
+
+    assertThat(countUsers(dedicatedUrl, "public.users", DATABASE_TENANT)).isEqualTo(1);
+    assertThat(countUsers(sharedUrl, "public.users", DATABASE_TENANT)).isZero();
+
+    assertThat(countUsers(sharedUrl, "public.users", sharedTenant)).isEqualTo(1);
+
+    // stats triggers and counters exist and work in every location
+    assertThat(countFromStats(sharedUrl, SCHEMA + ".tenant_user_stats", SCHEMA_TENANT)).isEqualTo(1);
+    assertThat(countFromStats(dedicatedUrl, "public.tenant_user_stats", DATABASE_TENANT)).isEqualTo(1);
+  }
+
+  private static long countUsers(String url, String table, UUID tenantId) throws SQLException {
+    return scalar(url, "select count(*) from " + table, tenantId);
+  }
+
+  private static long countFromStats(String url, String table, UUID tenantId) throws SQLException {
+    return scalar(url, "select coalesce(sum(user_count), 0) from " + table, tenantId);
+  }
+
+  /** Runs {@code sql} as the owner in a transaction scoped to {@code tenantId} (FORCE RLS applies). */
+  private static long scalar(String url, String sql, UUID tenantId) throws SQLException {
+    try (Connection c = DriverManager.getConnection(url, "tenant", "tenant")) {
+      c.setAutoCommit(false);
+      try (PreparedStatement ps = c.prepareStatement("select set_config('app.tenant_id', ?, true)")) {
+        ps.setString(1, tenantId.toString());
+        ps.execute();
+      }
+      try (PreparedStatement ps = c.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+        rs.next();
+        return rs.getLong(1);
+      } finally {
+        c.rollback();
+      }
+    }
+  }
+
+  private UserResponse getUser(UUID tenantId, UUID id) {
+    ResponseEntity<UserResponse> res = rest.exchange(
+        "/api/users/" + id,
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(tokenFor(tenantId))),
+        UserResponse.class
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return res.getBody();
+  }
+}
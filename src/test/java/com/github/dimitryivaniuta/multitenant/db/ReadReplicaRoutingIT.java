@@ -0,0 +1,180 @@
+package com.github.dimitryivaniuta.multitenant.db;
+
+import com.github.dimitryivaniuta.multitenant.routing.ReadYourWritesTracker;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Proves read-replica routing against a real PostgreSQL primary/standby pair (streaming replication).
+ *
+ * <ul>
+ *   <li>Read-only transactions run on the standby and still see only the current tenant (RLS).</li>
+ *   <li>Read-write transactions run on the primary.</li>
+ *   <li>Right after a tenant writes, its reads stick to the primary (read-your-writes).</li>
+ * </ul>
+ */
+@Testcontainers
+@EmbeddedKafka(partitions = 1, topics = {"user-events"})
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.datasource.read-replicas.enabled=true",
+        "app.datasource.read-replicas.sticky-window=2s",
+        "app.datasource.read-replicas.max-lag=30s"
+    }
+)
+public class ReadReplicaRoutingIT {
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  /**
+   * Runs once on the primary's first start. {@code tenant} is a plain login role that owns the database,
+   * not the image's superuser, so RLS applies to it; {@code repl} may stream WAL from any host.
+   */
+  private static final String PRIMARY_INIT = """
+      #!/bin/bash
+      set -e
+      psql -v ON_ERROR_STOP=1 -U postgres -d tenantdb <<'SQL'
+      CREATE ROLE tenant LOGIN PASSWORD 'tenant';
+      ALTER DATABASE tenantdb OWNER TO tenant;
+      CREATE ROLE repl REPLICATION LOGIN PASSWORD 'repl';
+      SQL
+      echo "host replication repl all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+      """;
+
+  /**
+   * Clones the primary with {@code pg_basebackup}; {@code -R} writes {@code standby.signal} and
+   * {@code primary_conninfo}, so the server starts as a streaming hot standby. Retries until the primary
+   * (which restarts once after its init scripts) accepts replication connections.
+   */
+  private static final String STANDBY_START = """
+      set -e
+      until gosu postgres env PGPASSWORD=repl pg_basebackup -h pg-primary -U repl -D "$PGDATA" -X stream -R -w; do
+        rm -rf "$PGDATA"/*
+        sleep 1
+      done
+      chmod 700 "$PGDATA"
+      exec gosu postgres postgres -c hot_standby=on
+      """;
+
+  @Container
+  static final GenericContainer<?> PRIMARY = new GenericContainer<>("postgres:16")
+      .withNetwork(NETWORK)
+      .withNetworkAliases("pg-primary")
+      .withEnv("POSTGRES_PASSWORD", "postgres")
+      .withEnv("POSTGRES_DB", "tenantdb")
+      .withCopyToContainer(Transferable.of(PRIMARY_INIT, 0755), "/docker-entrypoint-initdb.d/10-replication.sh")
+      .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4")
+      .withExposedPorts(5432)
+      // Logged once by the temporary init server and once by the real one.
+      .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2)
+          .withStartupTimeout(Duration.ofMinutes(2)));
+
+  @Container
+  static final GenericContainer<?> STANDBY = new GenericContainer<>("postgres:16")
+      .withNetwork(NETWORK)
+      .dependsOn(PRIMARY)
+      .withCommand("bash", "-c", STANDBY_START)
+      .withExposedPorts(5432)
+      .waitingFor(Wait.forLogMessage(".*started streaming WAL.*", 1)
+          .withStartupTimeout(Duration.ofMinutes(2)));
+
+  @Container
+  static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+      .withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void props(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> jdbcUrl(PRIMARY));
+    registry.add("spring.datasource.username", () -> "tenant");
+    registry.add("spring.datasource.password", () -> "tenant");
+    registry.add("app.datasource.read-replicas.replicas[0].name", () -> "standby");
+    registry.add("app.datasource.read-replicas.replicas[0].url", () -> jdbcUrl(STANDBY));
+
+    registry.add("spring.data.redis.host", REDIS::getHost);
+    registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+
+    registry.add("app.security.jwt.jwks.keys[0].kid", () -> "k1");
+    registry.add("app.security.jwt.jwks.keys[0].publicKeyLocation", () -> "classpath:keys/jwks-k1-public.pem.example");
+  }
+
+  private static String jdbcUrl(GenericContainer<?> c) {
+    return "jdbc:postgresql://" + c.getHost() + ":" + c.getMappedPort(5432) + "/tenantdb";
+  }
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @Autowired
+  ReadYourWritesTracker tracker;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void readOnlyTransactionsUseStandby_writesAndRecentWritersUsePrimary() {
+    UUID tenantA = UUID.randomUUID();
+    UUID tenantB = UUID.randomUUID();
+    TransactionTemplate rw = new TransactionTemplate(txManager);
+    TransactionTemplate ro = new TransactionTemplate(txManager);
+    ro.setReadOnly(true);
+
+    TenantContext.setTenantId(tenantA);
+    rw.executeWithoutResult(s -> jdbc.update(
+        "insert into users (id, tenant_id, email, full_name) values (?, ?, ?, ?)",
+        UUID.randomUUID(), tenantA, "replica@example.com", "Replica"));
+    assertThat(inRecovery(rw)).isFalse();
+
+    // Read-your-writes: tenant A just wrote, so its read-only transaction stays on the primary.
+    assertThat(tracker.recentlyWrote(tenantA)).isTrue();
+    assertThat(inRecovery(ro)).isFalse();
+
+    // After the sticky window tenant A reads from the standby and sees its replicated row (RLS applied).
+    await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+      assertThat(tracker.recentlyWrote(tenantA)).isFalse();
+      assertThat(inRecovery(ro)).isTrue();
+      assertThat(userCount(ro)).isEqualTo(1);
+    });
+
+    // Tenant B on the standby sees nothing: set_config is applied to replica connections too.
+    TenantContext.setTenantId(tenantB);
+    assertThat(inRecovery(ro)).isTrue();
+    assertThat(userCount(ro)).isZero();
+  }
+
+  private boolean inRecovery(TransactionTemplate tx) {
+    Boolean result = tx.execute(s -> jdbc.queryForObject("select pg_is_in_recovery()", Boolean.class));
+    return Boolean.TRUE.equals(result);
+  }
+
+  private int userCount(TransactionTemplate tx) {
+    Integer result = tx.execute(s -> jdbc.queryForObject("select count(*) from users", Integer.class));
+    return result == null ? 0 : result;
+  }
+}
@@ -0,0 +1,142 @@
+package com.github.dimitryivaniuta.multitenant.db;
+
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import com.github.dimitryivaniuta.multitenant.sharding.ShardRouter;
+import com.github.dimitryivaniuta.multitenant.sharding.ShardingProperties;
+import com.github.dimitryivaniuta.multitenant.sharding.TenantShardMover;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Sharding across two Postgres instances: the application database (shard {@code primary}) and a second
+ * container (shard {@code shard-2}).
+ */
+public class ShardingIT extends IntegrationTestBase {
+
+  private static final String SHARD_2 = "shard-2";
+
+  @Container
+  static final PostgreSQLContainer<?> SHARD_2_DB = new PostgreSQLContainer<>("postgres:16-alpine")
+      .withDatabaseName("tenantdb")
+      .withUsername("tenant")
+      .withPassword("tenant");
+
+  @DynamicPropertySource
+  static void sharding(DynamicPropertyRegistry registry) {
+    registry.add("app.sharding.enabled", () -> "true");
+    registry.add("app.sharding.shards[0].name", () -> SHARD_2);
+    registry.add("app.sharding.shards[0].url", SHARD_2_DB::getJdbcUrl);
+  }
+
+  @Autowired
+  ShardRouter router;
+
+  @Autowired
+  TenantShardMover mover;
+
+  @Value("${spring.datasource.url}")
+  String primaryUrl;
+
+  @Test
+  void tenantsAreServedFromTheirShard_andCanBeMoved() throws Exception {
+    UUID onPrimary = tenantOn(ShardingProperties.PRIMARY);
+    UUID onShard2 = tenantOn(SHARD_2);
+
+    UserResponse a = postUser(tokenFor(onPrimary), new CreateUserRequest("p@example.com", "Sharded"));
+    UserResponse b = postUser(tokenFor(onShard2), new CreateUserRequest("s@example.com", "Sharded"));
+
+    assertThat(count(primaryUrl, "users", onPrimary)).isEqualTo(1);
+    assertThat(count(SHARD_2_DB.getJdbcUrl(), "users", onPrimary)).isZero();
+    assertThat(count(SHARD_2_DB.getJdbcUrl(), "users", onShard2)).isEqualTo(1);
+    assertThat(count(primaryUrl, "users", onShard2)).isZero();
+
+    postUser(tokenFor(onShard2), new CreateUserRequest("s2@example.com", "Sharded"));
+    // audit rows are written asynchronously; let them land so the move has a fixed row count
+    await().atMost(Duration.ofSeconds(10))
+        .until(() -> count(SHARD_2_DB.getJdbcUrl(), "audit_log", onShard2) == 2);
+    TenantShardMover.MoveResult result = mover.move(onShard2, ShardingProperties.PRIMARY);
+
+    assertThat(result.from()).isEqualTo(SHARD_2);
+    assertThat(result.rows()).isEqualTo(4);
+    assertThat(result.sourceCleaned()).isTrue();
+    assertThat(router.shardOf(onShard2)).isEqualTo(ShardingProperties.PRIMARY);
+    assertThat(router.isPinned(onShard2)).isTrue();
+    // the placement is shared through the primary database, not held by this node
+    assertThat(scalar(primaryUrl, "select count(*) from shard_placements where shard = 'primary' and not moving"
+        + " and tenant = current_setting('app.tenant_id')::uuid", onShard2)).isEqualTo(1);
+
+    assertThat(count(primaryUrl, "users", onShard2)).isEqualTo(2);
+    assertThat(count(SHARD_2_DB.getJdbcUrl(), "users", onShard2)).isZero();
+    assertThat(count(primaryUrl, "audit_log", onShard2)).isEqualTo(2);
+    assertThat(count(SHARD_2_DB.getJdbcUrl(), "audit_log", onShard2)).isZero();
+    // stats follow the rows via the users triggers on both sides
+    assertThat(sumStats(primaryUrl, onShard2)).isEqualTo(2);
+    assertThat(sumStats(SHARD_2_DB.getJdbcUrl(), onShard2)).isZero();
+
+    // the API keeps working after the move, now from the primary shard
+    assertThat(getUserStatus(onShard2, b.id())).isEqualTo(HttpStatus.OK);
+    assertThat(getUserStatus(onPrimary, a.id())).isEqualTo(HttpStatus.OK);
+  }
+
+  private UUID tenantOn(String shard) {
+    return Stream.generate(UUID::randomUUID)
+        .filter(t -> router.shardOf(t).equals(shard))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static long count(String url, String table, UUID tenantId) throws SQLException {
+    return scalar(url, "select count(*) from " + table, tenantId);
+  }
+
+  private static long sumStats(String url, UUID tenantId) throws SQLException {
+    return scalar(url, "select coalesce(sum(user_count), 0) from tenant_user_stats", tenantId);
+  }
+
+  /** Runs {@code sql} as the owner in a transaction scoped to {@code tenantId} (FORCE RLS applies). */
+  private static long scalar(String url, String sql, UUID tenantId) throws SQLException {
+    try (Connection c = DriverManager.getConnection(url, "tenant", "tenant")) {
+      c.setAutoCommit(false);
+      try (PreparedStatement ps = c.prepareStatement("select set_config('app.tenant_id', ?, true)")) {
+        ps.setString(1, tenantId.toString());
+        ps.execute();
+      }
+      try (PreparedStatement ps = c.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+        rs.next();
+        return rs.getLong(1);
+      } finally {
+        c.rollback();
+      }
+    }
+  }
+
+  private HttpStatus getUserStatus(UUID tenantId, UUID id) {
+    return HttpStatus.valueOf(rest.exchange(
+        "/api/users/" + id,
+        HttpMethod.GET,
+        new HttpEntity<>(authHeaders(tokenFor(tenantId))),
+        String.class
+    ).getStatusCode().value());
+  }
+}
@@ -0,0 +1,123 @@
+package com.github.dimitryivaniuta.multitenant.db;
+
+import com.github.dimitryivaniuta.multitenant.domain.UserEntity;
+import com.github.dimitryivaniuta.multitenant.repo.UserRepository;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the explicit tenant predicate that complements RLS.
+ *
+ * <ul>
+ *   <li>Hibernate adds {@code tenant_id = ?} to repository queries ({@code @TenantId}).</li>
+ *   <li>That SQL is answered through {@code ix_users_tenant_id} (EXPLAIN).</li>
+ *   <li>Every users policy uses the STABLE {@code app_current_tenant()} helper.</li>
+ * </ul>
+ */
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.github.dimitryivaniuta.multitenant.db.TenantPredicateIT$CapturingInspector")
+public class TenantPredicateIT extends IntegrationTestBase {
+
+  @Autowired
+  UserRepository users;
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @Value("${spring.flyway.placeholders.users_partitions}")
+  int partitions;
+
+  @BeforeEach
+  void resetCapture() {
+    CapturingInspector.SQL.clear();
+  }
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void repositoryQueriesCarryTenantPredicate_andUseTenantIndex() {
+    UUID tenantId = UUID.randomUUID();
+    TenantContext.setTenantId(tenantId);
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+
+    UUID id = UUID.randomUUID();
+    tx.executeWithoutResult(s -> users.save(UserEntity.builder()
+        .id(id).tenantId(tenantId).email("idx@example.com").fullName("Idx").createdAt(Instant.now())
+        .build()));
+
+    CapturingInspector.SQL.clear();
+    // separate transactions: a findById after findAll would be served from the persistence context
+    tx.executeWithoutResult(s -> assertThat(users.findAll()).extracting(UserEntity::getId).containsExactly(id));
+    tx.executeWithoutResult(s -> assertThat(users.findById(id)).isPresent());
+
+    List<String> selects = CapturingInspector.SQL.stream().filter(sql -> sql.startsWith("select")).toList();
+    assertThat(selects).hasSize(2).allMatch(sql -> sql.matches("(?s).*\\btenant_id\\s*=\\s*\\?.*"));
+
+    String listSql = selects.get(0);
+    List<String> tenantIndexes = jdbc.queryForList(
+        "select inhrelid::regclass::text from pg_inherits where inhparent = 'ix_users_tenant_id'::regclass",
+        String.class);
+
+    List<String> plan = tx.execute(s -> {
+      // The test tables are tiny; take sequential scans off the table so the plan shows
+      // whether the predicate can drive the tenant index at all.
+      jdbc.execute("set local enable_seqscan = off");
+      return jdbc.queryForList("explain " + listSql, String.class, tenantId);
+    });
+
+    String text = String.join("\n", plan);
+    assertThat(text).contains("Index Cond: (tenant_id = ");
+    assertThat(tenantIndexes).as("plan:%n%s", text).anyMatch(text::contains);
+  }
+
+  @Test
+  void everyUsersPolicy_usesStableHelper() {
+    String volatility = jdbc.queryForObject(
+        "select provolatile::text from pg_proc where proname = 'app_current_tenant'", String.class);
+    assertThat(volatility).isEqualTo("s");
+
+    Integer policies = jdbc.queryForObject("""
+        select count(*) from pg_policies
+         where policyname = 'users_tenant_isolation'
+           and qual like '%app_current_tenant()%'
+           and with_check like '%app_current_tenant()%'
+        """, Integer.class);
+    assertThat(policies).isEqualTo(partitions + 1);
+  }
+
+  /** Records the SQL Hibernate sends. */
+  public static class CapturingInspector implements StatementInspector {
+
+    static final Queue<String> SQL = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      SQL.add(sql);
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.github.dimitryivaniuta.multitenant.db;
+
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Verifies the hash-partitioned {@code users} layout from {@code V3__partition_users.sql}.
+ *
+ * <ul>
+ *   <li>{@code users} is hash-partitioned by {@code tenant_id} into the configured number of partitions.</li>
+ *   <li>Every partition enforces RLS on its own, so direct partition access cannot bypass isolation.</li>
+ *   <li>Tenant-scoped queries are pruned to a single partition.</li>
+ *   <li>{@code (tenant_id, email)} stays unique per tenant.</li>
+ * </ul>
+ */
+public class UsersPartitioningIT extends IntegrationTestBase {
+
+  private static final Pattern PARTITION_SCAN = Pattern.compile("on (users_p\\d+)");
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  PlatformTransactionManager txManager;
+
+  @Value("${spring.flyway.placeholders.users_partitions}")
+  int partitions;
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  @Test
+  void usersIsHashPartitionedByTenant_andQueriesArePrunedToOnePartition() {
+    String strategy = jdbc.queryForObject(
+        "select partstrat::text from pg_partitioned_table where partrelid = 'users'::regclass", String.class);
+    assertThat(strategy).isEqualTo("h");
+
+    Integer count = jdbc.queryForObject(
+        "select count(*) from pg_inherits where inhparent = 'users'::regclass", Integer.class);
+    assertThat(count).isEqualTo(partitions);
+
+    Integer unprotected = jdbc.queryForObject("""
+        select count(*) from pg_inherits i
+          join pg_class c on c.oid = i.inhrelid
+         where i.inhparent = 'users'::regclass
+           and (not c.relrowsecurity or not c.relforcerowsecurity
+                or not exists (select 1 from pg_policy p where p.polrelid = c.oid))
+        """, Integer.class);
+    assertThat(unprotected).isZero();
+
+    UUID tenantId = UUID.randomUUID();
+    TenantContext.setTenantId(tenantId);
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+
+    List<String> plan = tx.execute(s -> {
+      jdbc.update("insert into users (id, tenant_id, email, full_name) values (?, ?, ?, ?)",
+          UUID.randomUUID(), tenantId, "p@example.com", "P");
+      return jdbc.queryForList("explain select * from users where email = 'p@example.com'", String.class);
+    });
+
+    long scannedPartitions = plan.stream()
+        .map(PARTITION_SCAN::matcher)
+        .filter(Matcher::find)
+        .map(m -> m.group(1))
+        .distinct()
+        .count();
+    assertThat(scannedPartitions)
+        .as("plan should touch exactly one partition:%n%s", String.join("\n", plan))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void emailStaysUniquePerTenant() {
+    UUID tenantId = UUID.randomUUID();
+    TenantContext.setTenantId(tenantId);
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    String insert = "insert into users (id, tenant_id, email, full_name) values (?, ?, 'dup@example.com', 'D')";
+
+    tx.executeWithoutResult(s -> jdbc.update(insert, UUID.randomUUID(), tenantId));
+
+    Throwable duplicate = catchThrowable(
+        () -> tx.executeWithoutResult(s -> jdbc.update(insert, UUID.randomUUID(), tenantId)));
+    assertThat(duplicate).hasMessageContaining("ux_users_tenant_email");
+  }
+}
@@ -4,9 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
 import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
 import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
-import com.github.dimitryivaniuta.multitenant.util.JwtTestTokenFactory;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.apache.kafka.clients.consumer.Consumer;
@@ -17,7 +18,6 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -31,18 +31,10 @@ import org.springframework.kafka.test.utils.KafkaTestUtils;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Verifies Kafka user events carry the tenant id as both payload and header.
+ * Verifies Kafka user events carry the tenant id as both payload and header, and are only published on commit.
  */
 public class UserCreatedEventKafkaIT extends IntegrationTestBase {
 
-  private static final String KID = "k1";
-  private static final String PRIVATE_KEY = "keys/jwks-k1-private.pem.example";
-  private static final String ISSUER = "https://auth.local";
-  private static final String AUD = "api";
-
-  @Autowired
-  TestRestTemplate rest;
-
   @Autowired
   EmbeddedKafkaBroker embeddedKafka;
 
@@ -59,32 +51,86 @@ public class UserCreatedEventKafkaIT extends IntegrationTestBase {
   }
 
   @Test
-  void userCreatedEvent_containsTenantHeader() throws Exception {
+  void userCreatedEvent_containsTenantAndTraceHeaders() throws Exception {
     UUID tenantId = UUID.randomUUID();
-    String token = JwtTestTokenFactory.createToken(KID, PRIVATE_KEY, ISSUER, AUD, tenantId);
+    String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+    HttpHeaders trace = new HttpHeaders();
+    trace.set("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01");
 
     // Create a user, which publishes Kafka event.
-    UserResponse created = postUser(token, new CreateUserRequest("k@example.com", "Kafka"));
+    UserResponse created = postUser(tokenFor(tenantId), new CreateUserRequest("k@example.com", "Kafka"), trace);
     assertThat(created.tenantId()).isEqualTo(tenantId);
 
     consumer = createConsumer();
     embeddedKafka.consumeFromAnEmbeddedTopic(consumer, UserEventsProducer.TOPIC);
 
-    ConsumerRecord<String, byte[]> record = KafkaTestUtils.getSingleRecord(consumer, UserEventsProducer.TOPIC);
+    List<ConsumerRecord<String, byte[]>> records = recordsOf(tenantId, created.id());
+    assertThat(records).hasSize(1);
+    ConsumerRecord<String, byte[]> record = records.get(0);
 
     // Header
     var header = record.headers().lastHeader("tenantId");
     assertThat(header).isNotNull();
     assertThat(new String(header.value(), StandardCharsets.UTF_8)).isEqualTo(tenantId.toString());
 
+    // Without X-Correlation-Id the correlation id is the incoming trace id; the span id is our own.
+    var correlation = record.headers().lastHeader(UserEventsProducer.CORRELATION_HEADER);
+    assertThat(new String(correlation.value(), StandardCharsets.UTF_8)).isEqualTo("4bf92f35-77b3-4da6-a3ce-929d0e0e4736");
+    var traceparent = record.headers().lastHeader("traceparent");
+    assertThat(new String(traceparent.value(), StandardCharsets.UTF_8))
+        .matches("00-" + traceId + "-[0-9a-f]{16}-01")
+        .doesNotContain("00f067aa0ba902b7");
+
     // Payload
     UserCreatedEvent event = objectMapper.readValue(record.value(), UserCreatedEvent.class);
     assertThat(event.tenantId()).isEqualTo(tenantId);
     assertThat(event.userId()).isEqualTo(created.id());
   }
 
+  @Test
+  void rolledBackCreate_publishesNoEvent() {
+    UUID tenantId = UUID.randomUUID();
+    String token = tokenFor(tenantId);
+    HttpHeaders headers = authHeaders(token);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    UserResponse first = postUser(token, new CreateUserRequest("dup@example.com", "First"));
+    ResponseEntity<String> duplicate = rest.exchange("/api/users", HttpMethod.POST,
+        new HttpEntity<>(new CreateUserRequest("dup@example.com", "Second"), headers), String.class);
+    assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    // Sent after the duplicate on the same partition: once it arrives, a phantom event would have too.
+    UserResponse last = postUser(token, new CreateUserRequest("last@example.com", "Last"));
+
+    consumer = createConsumer();
+    embeddedKafka.consumeFromAnEmbeddedTopic(consumer, UserEventsProducer.TOPIC);
+
+    assertThat(recordsOf(tenantId, last.id())).extracting(ConsumerRecord::key)
+        .containsExactly(first.id().toString(), last.id().toString());
+  }
+
+  /**
+   * Polls until the record of {@code lastUserId} arrives; returns every record of {@code tenantId} seen until
+   * then. Other tests publish to the same topic, so records are told apart by their tenant header.
+   */
+  private List<ConsumerRecord<String, byte[]>> recordsOf(UUID tenantId, UUID lastUserId) {
+    List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (System.nanoTime() < deadline) {
+      for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+        var tenant = record.headers().lastHeader(UserEventsProducer.TENANT_HEADER);
+        if (tenant != null && new String(tenant.value(), StandardCharsets.UTF_8).equals(tenantId.toString())) {
+          records.add(record);
+          if (record.key().equals(lastUserId.toString())) {
+            return records;
+          }
+        }
+      }
+    }
+    throw new AssertionError("No record for user " + lastUserId + "; seen " + records.size() + " of the tenant");
+  }
+
   private Consumer<String, byte[]> createConsumer() {
-    Map<String, Object> props = KafkaTestUtils.consumerProps("it-group", "true", embeddedKafka);
+    Map<String, Object> props = KafkaTestUtils.consumerProps("it-group-" + UUID.randomUUID(), "true", embeddedKafka);
     props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
     DefaultKafkaConsumerFactory<String, byte[]> cf = new DefaultKafkaConsumerFactory<>(
         props,
@@ -93,19 +139,4 @@ public class UserCreatedEventKafkaIT extends IntegrationTestBase {
     );
     return cf.createConsumer();
   }
-
-  private UserResponse postUser(String token, CreateUserRequest req) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.setBearerAuth(token);
-    headers.setContentType(MediaType.APPLICATION_JSON);
-
-    ResponseEntity<UserResponse> res = rest.exchange(
-        "/api/users",
-        HttpMethod.POST,
-        new HttpEntity<>(req, headers),
-        UserResponse.class
-    );
-    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-    return res.getBody();
-  }
 }
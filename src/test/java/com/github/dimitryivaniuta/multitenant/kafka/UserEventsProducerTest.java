@@ -0,0 +1,98 @@
+package com.github.dimitryivaniuta.multitenant.kafka;
+
+import com.github.dimitryivaniuta.multitenant.domain.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link UserEventsProducer}: events wait for commit, and failed and dropped sends are counted,
+ * never thrown at the caller.
+ */
+public class UserEventsProducerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MockProducer<String, Object> producer =
+      new MockProducer<>(false, new StringSerializer(), (Serializer<Object>) (topic, data) -> new byte[0]);
+  private final KafkaTemplate<String, Object> template = new KafkaTemplate<>(() -> producer);
+
+  @Test
+  void brokerError_isCounted() {
+    UserEventsProducer events = new UserEventsProducer(template, Runnable::run, registry);
+
+    events.userCreated(user());
+    assertThat(producer.history()).hasSize(1);
+    assertThat(failed("error")).isZero();
+
+    producer.errorNext(new IllegalStateException("broker down"));
+    assertThat(failed("error")).isEqualTo(1.0);
+    assertThat(failed("rejected")).isZero();
+  }
+
+  @Test
+  void fullQueue_dropsTheEvent() {
+    UserEventsProducer events = new UserEventsProducer(template, task -> {
+      throw new RejectedExecutionException("queue full");
+    }, registry);
+
+    assertThatCode(() -> events.userCreated(user())).doesNotThrowAnyException();
+    assertThat(producer.history()).isEmpty();
+    assertThat(failed("rejected")).isEqualTo(1.0);
+  }
+
+  @Test
+  void insideTransaction_sendsOnlyAfterCommit() {
+    UserEventsProducer events = new UserEventsProducer(template, Runnable::run, registry);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      events.userCreated(user());
+      assertThat(producer.history()).isEmpty();
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      assertThat(producer.history()).hasSize(1);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void rolledBackTransaction_sendsNothing() {
+    UserEventsProducer events = new UserEventsProducer(template, Runnable::run, registry);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      events.userCreated(user());
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(producer.history()).isEmpty();
+  }
+
+  private double failed(String reason) {
+    return registry.get(UserEventsProducer.FAILED_METRIC).tag("reason", reason).counter().count();
+  }
+
+  private static UserEntity user() {
+    return UserEntity.builder()
+        .id(UUID.randomUUID())
+        .tenantId(UUID.randomUUID())
+        .email("a@example.com")
+        .fullName("A User")
+        .createdAt(Instant.now())
+        .build();
+  }
+}
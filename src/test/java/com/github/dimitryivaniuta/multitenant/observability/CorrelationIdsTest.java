@@ -0,0 +1,48 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UUIDv7 correlation ids: RFC 9562 layout, current timestamp, strictly increasing.
+ */
+public class CorrelationIdsTest {
+
+  @Test
+  void idsAreVersion7_withCurrentTimestamp() {
+    long before = System.currentTimeMillis();
+    UUID id = CorrelationIds.next();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(CorrelationIds.timestampOf(id)).isBetween(before, System.currentTimeMillis() + 1);
+  }
+
+  @Test
+  void idsAreStrictlyIncreasing_acrossThreads() throws Exception {
+    List<List<UUID>> perThread = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      List<UUID> ids = new ArrayList<>();
+      perThread.add(ids);
+      threads.add(Thread.ofPlatform().start(() -> {
+        for (int i = 0; i < 50_000; i++) {
+          ids.add(CorrelationIds.next());
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (List<UUID> ids : perThread) {
+      // UUID.compareTo is signed; v7 ids stay positive in the high 64 bits until the year 6429
+      assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+    assertThat(perThread.stream().flatMap(List::stream).distinct().count()).isEqualTo(200_000);
+  }
+}
@@ -0,0 +1,190 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantAwareDataSource;
+import com.github.dimitryivaniuta.multitenant.tenant.TenantContext;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link TenantDataSourceMetrics} through {@link TenantAwareDataSource} over a stub JDBC connection,
+ * the same way Spring's transaction manager does: {@code setAutoCommit(false)}, statements, then commit or
+ * rollback and {@code close}.
+ */
+public class TenantDataSourceMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TenantMetricTags tags =
+      new TenantMetricTags(new TenantMetricsProperties(10, Duration.ofMinutes(1), 100), registry);
+  private final List<String> executed = new ArrayList<>();
+  private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+  private final Logger logger = (Logger) LoggerFactory.getLogger(TenantDataSourceMetrics.class);
+
+  @BeforeEach
+  void captureLogs() {
+    logs.start();
+    logger.addAppender(logs);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    logger.detachAppender(logs);
+    TenantContext.clear();
+    MDC.clear();
+  }
+
+  @Test
+  void committedTransaction_recordsSetConfigTransactionAndHold_perTenant() throws Exception {
+    UUID tenant = UUID.randomUUID();
+    tags.tag(tenant);
+    TenantContext.setTenantId(tenant);
+    DataSource ds = dataSource(Duration.ofHours(1));
+
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      c.commit();
+      c.setAutoCommit(true);
+    }
+
+    assertThat(executed).singleElement().satisfies(sql -> assertThat(sql).contains("set_config"));
+    assertThat(timerCount("tenant.datasource.set_config", tenant.toString())).isEqualTo(1);
+    assertThat(registry.get("tenant.datasource.transactions")
+        .tag(TenantMetricTags.TAG, tenant.toString()).tag("outcome", "committed").timer().count()).isEqualTo(1);
+    assertThat(registry.find("tenant.datasource.transactions").tag("outcome", "rolled_back").timer()).isNull();
+    assertThat(timerCount("tenant.datasource.connection.hold", tenant.toString())).isEqualTo(1);
+    assertThat(untenanted()).isZero();
+    assertThat(logs.list).isEmpty();
+  }
+
+  @Test
+  void repeatedTransactions_reuseTheirMeters() throws Exception {
+    UUID tenant = UUID.randomUUID();
+    tags.tag(tenant);
+    TenantContext.setTenantId(tenant);
+    DataSource ds = dataSource(Duration.ofHours(1));
+
+    runTransaction(ds);
+    int meters = registry.getMeters().size();
+    Timer committed = registry.get("tenant.datasource.transactions")
+        .tag(TenantMetricTags.TAG, tenant.toString()).tag("outcome", "committed").timer();
+    runTransaction(ds);
+
+    assertThat(registry.getMeters()).hasSize(meters);
+    assertThat(committed.count()).isEqualTo(2);
+  }
+
+  @Test
+  void rolledBackTransaction_isTaggedRolledBack() throws Exception {
+    UUID tenant = UUID.randomUUID();
+    tags.tag(tenant);
+    TenantContext.setTenantId(tenant);
+    DataSource ds = dataSource(Duration.ofHours(1));
+
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      c.rollback();
+      c.setAutoCommit(true);
+    }
+
+    assertThat(registry.get("tenant.datasource.transactions")
+        .tag(TenantMetricTags.TAG, tenant.toString()).tag("outcome", "rolled_back").timer().count()).isEqualTo(1);
+    assertThat(registry.find("tenant.datasource.transactions").tag("outcome", "committed").timer()).isNull();
+  }
+
+  @Test
+  void transactionWithoutTenant_isCountedAsUntenanted_andSkipsSetConfig() throws Exception {
+    DataSource ds = dataSource(Duration.ofHours(1));
+
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      c.commit();
+    }
+
+    assertThat(untenanted()).isEqualTo(1.0);
+    assertThat(executed).isEmpty();
+    assertThat(registry.find("tenant.datasource.set_config").timer()).isNull();
+    assertThat(timerCount("tenant.datasource.transactions", TenantMetricTags.OTHER)).isEqualTo(1);
+  }
+
+  @Test
+  void transactionAboveThreshold_isLoggedWithTenantAndCorrelationId() throws Exception {
+    UUID tenant = UUID.randomUUID();
+    TenantContext.setTenantId(tenant);
+    MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+    DataSource ds = dataSource(Duration.ofMillis(5));
+
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      Thread.sleep(20);
+      c.rollback();
+    }
+
+    assertThat(logs.list).singleElement().satisfies(event -> {
+      assertThat(event.getLevel()).isEqualTo(Level.WARN);
+      assertThat(event.getFormattedMessage())
+          .startsWith("Slow transaction: ")
+          .contains("outcome=rolled_back", "tenant=" + tenant, "correlationId=corr-1");
+    });
+  }
+
+  private static void runTransaction(DataSource ds) throws Exception {
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      c.commit();
+      c.setAutoCommit(true);
+    }
+  }
+
+  private long timerCount(String name, String tenantTag) {
+    return registry.get(name).tag(TenantMetricTags.TAG, tenantTag).timer().count();
+  }
+
+  private double untenanted() {
+    return registry.get("tenant.datasource.transactions.untenanted").counter().count();
+  }
+
+  private DataSource dataSource(Duration slowThreshold) {
+    TenantDataSourceMetrics metrics =
+        new TenantDataSourceMetrics(registry, tags, new DataSourceMetricsProperties(slowThreshold));
+    return new TenantAwareDataSource(stubDataSource(), () -> metrics);
+  }
+
+  /** A data source whose connections accept every call and record the SQL they prepare. */
+  private DataSource stubDataSource() {
+    return proxy(DataSource.class, (name, args) -> proxy(Connection.class, (method, a) -> switch (method) {
+      case "prepareStatement" -> {
+        executed.add((String) a[0]);
+        yield proxy(PreparedStatement.class, (m, ignored) -> "execute".equals(m) ? Boolean.FALSE : null);
+      }
+      case "getAutoCommit" -> Boolean.TRUE;
+      default -> null;
+    }));
+  }
+
+  private interface Call {
+    Object invoke(String method, Object[] args);
+  }
+
+  private static <T> T proxy(Class<T> type, Call call) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (p, method, args) -> call.invoke(method.getName(), args)));
+  }
+}
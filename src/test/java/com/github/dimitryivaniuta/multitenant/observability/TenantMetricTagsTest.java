@@ -0,0 +1,107 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the top-K cardinality guard for tenant tags.
+ */
+public class TenantMetricTagsTest {
+
+  @Test
+  void onlyTopKTenantsAreTagged_andDemotedTenantMetersAreRemoved() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TenantMetricTags tags = new TenantMetricTags(new TenantMetricsProperties(2, Duration.ofMillis(50), 100), registry);
+
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+
+    // Free slots: first two tenants are promoted immediately.
+    assertThat(tags.tag(a)).isEqualTo(a.toString());
+    assertThat(tags.tag(b)).isEqualTo(b.toString());
+    assertThat(tags.tag(c)).isEqualTo(TenantMetricTags.OTHER);
+    Counter.builder("test.requests").tag(TenantMetricTags.TAG, a.toString()).register(registry).increment();
+
+    // Next window: b and c dominate, a goes quiet.
+    for (int i = 0; i < 10; i++) {
+      tags.tag(b);
+      tags.tag(c);
+    }
+    Thread.sleep(60);
+    tags.tag(b);
+
+    assertThat(tags.tagOf(c)).isEqualTo(c.toString());
+    assertThat(tags.tagOf(b)).isEqualTo(b.toString());
+    assertThat(tags.tagOf(a)).isEqualTo(TenantMetricTags.OTHER);
+    assertThat(registry.find("test.requests").tag(TenantMetricTags.TAG, a.toString()).counter()).isNull();
+    assertThat(tags.generation()).isEqualTo(1L);
+  }
+
+  @Test
+  void meters_areReused_andFallBackToOtherOnceTheTenantIsDemoted() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TenantMetricTags tags = new TenantMetricTags(new TenantMetricsProperties(1, Duration.ofMillis(50), 100), registry);
+    AtomicInteger registrations = new AtomicInteger();
+    TenantMeters<Counter> meters = tags.meters(tag -> {
+      registrations.incrementAndGet();
+      return Counter.builder("test.requests").tag(TenantMetricTags.TAG, tag).register(registry);
+    });
+
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    tags.tag(a);
+    meters.get(a).increment();
+    meters.get(a).increment();
+    assertThat(registrations).hasValue(1);
+    assertThat(registry.get("test.requests").tag(TenantMetricTags.TAG, a.toString()).counter().count()).isEqualTo(2.0);
+
+    // b dominates the window; its next call after the window ends refreshes the top-K.
+    tags.tag(b);
+    tags.tag(b);
+    Thread.sleep(60);
+    tags.tag(b);
+
+    assertThat(meters.get(a).getId().getTag(TenantMetricTags.TAG)).isEqualTo(TenantMetricTags.OTHER);
+    assertThat(meters.get(b).getId().getTag(TenantMetricTags.TAG)).isEqualTo(b.toString());
+    assertThat(registry.find("test.requests").tag(TenantMetricTags.TAG, a.toString()).counter()).isNull();
+  }
+
+  @Test
+  void meters_demotedWhileRegistering_doesNotKeepItsSeries() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TenantMetricTags tags = new TenantMetricTags(new TenantMetricsProperties(1, Duration.ofMillis(50), 100), registry);
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    TenantMeters<Counter> meters = tags.meters(tag -> {
+      if (tag.equals(a.toString())) {
+        // The window ends after a's tag was resolved but before its counter exists, so the sweep misses it.
+        tags.tag(b);
+        tags.tag(b);
+        sleep();
+        tags.tag(b);
+      }
+      return Counter.builder("test.requests").tag(TenantMetricTags.TAG, tag).register(registry);
+    });
+    tags.tag(a);
+
+    meters.get(a).increment();
+
+    assertThat(tags.isTagged(a)).isFalse();
+    assertThat(registry.find("test.requests").tag(TenantMetricTags.TAG, a.toString()).counter()).isNull();
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(60);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
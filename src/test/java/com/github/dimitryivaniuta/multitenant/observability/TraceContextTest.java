@@ -0,0 +1,52 @@
+package com.github.dimitryivaniuta.multitenant.observability;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsing and propagation of the W3C {@code traceparent} header.
+ */
+public class TraceContextTest {
+
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+  @Test
+  void childKeepsTraceIdAndFlags_withNewSpanId() {
+    TraceContext child = TraceContext.childOf("00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+
+    assertThat(child).isNotNull();
+    assertThat(child.traceId()).isEqualTo(TRACE_ID);
+    assertThat(child.flags()).isEqualTo("01");
+    assertThat(child.spanId()).hasSize(16).isNotEqualTo("00f067aa0ba902b7");
+    assertThat(child.toHeader()).isEqualTo("00-" + TRACE_ID + "-" + child.spanId() + "-01");
+    assertThat(child.traceIdAsUuid()).isEqualTo(UUID.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"));
+  }
+
+  @Test
+  void futureVersionsWithExtraFieldsAreAccepted() {
+    assertThat(TraceContext.childOf("01-" + TRACE_ID + "-00f067aa0ba902b7-01-extra")).isNotNull();
+  }
+
+  @Test
+  void malformedHeadersAreRejected() {
+    assertThat(TraceContext.childOf(null)).isNull();
+    assertThat(TraceContext.childOf("garbage")).isNull();
+    assertThat(TraceContext.childOf("00-" + TRACE_ID.toUpperCase() + "-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.childOf("00-" + "0".repeat(32) + "-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.childOf("00-" + TRACE_ID + "-0000000000000000-01")).isNull();
+    assertThat(TraceContext.childOf("ff-" + TRACE_ID + "-00f067aa0ba902b7-01")).isNull();
+    assertThat(TraceContext.childOf("00-" + TRACE_ID + "-00f067aa0ba902b7-01-extra")).isNull();
+  }
+
+  @Test
+  void rootUsesCorrelationIdAsTraceId() {
+    UUID correlationId = CorrelationIds.next();
+    TraceContext root = TraceContext.root(correlationId);
+
+    assertThat(root.traceIdAsUuid()).isEqualTo(correlationId);
+    assertThat(root.flags()).isEqualTo("01");
+    assertThat(TraceContext.childOf(root.toHeader()).traceId()).isEqualTo(root.traceId());
+  }
+}
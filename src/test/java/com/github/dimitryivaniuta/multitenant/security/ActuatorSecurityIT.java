@@ -0,0 +1,46 @@
+package com.github.dimitryivaniuta.multitenant.security;
+
+import com.github.dimitryivaniuta.multitenant.util.IntegrationTestBase;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Actuator endpoints that expose cross-tenant data need an operator token; tenant user tokens do not work.
+ */
+public class ActuatorSecurityIT extends IntegrationTestBase {
+
+  @Test
+  void prometheus_requiresOpsRead() {
+    assertThat(get("/actuator/prometheus", new HttpHeaders()).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    assertThat(get("/actuator/prometheus", authHeaders(tokenFor(UUID.randomUUID()))).getStatusCode())
+        .isEqualTo(HttpStatus.FORBIDDEN);
+
+    ResponseEntity<String> scrape = get("/actuator/prometheus", authHeaders(opsToken("ops:read")));
+    assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(scrape.getBody()).contains("jvm_memory_used_bytes");
+  }
+
+  @Test
+  void tenantCache_requiresOpsRead() {
+    assertThat(get("/actuator/tenantcache", new HttpHeaders()).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    assertThat(get("/actuator/tenantcache", authHeaders(tokenFor(UUID.randomUUID()))).getStatusCode())
+        .isEqualTo(HttpStatus.FORBIDDEN);
+    assertThat(get("/actuator/tenantcache", authHeaders(opsToken("ops:write"))).getStatusCode())
+        .isEqualTo(HttpStatus.FORBIDDEN);
+
+    ResponseEntity<String> usage = get("/actuator/tenantcache", authHeaders(opsToken("ops:read")));
+    assertThat(usage.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(usage.getBody()).contains("\"scannedKeys\"");
+  }
+
+  private ResponseEntity<String> get(String path, HttpHeaders headers) {
+    return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.dimitryivaniuta.multitenant.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ConsistentHashRing}.
+ */
+public class ConsistentHashRingTest {
+
+  private static final int TENANTS = 20_000;
+
+  @Test
+  void spreadsTenantsEvenly_andPlacementIsStable() {
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("primary", "s2", "s3", "s4"), 128);
+    ConsistentHashRing same = new ConsistentHashRing(List.of("s4", "s3", "s2", "primary"), 128);
+
+    Map<String, Integer> counts = new HashMap<>();
+    for (UUID tenant : tenants()) {
+      String shard = ring.shardOf(tenant);
+      assertThat(same.shardOf(tenant)).isEqualTo(shard);
+      counts.merge(shard, 1, Integer::sum);
+    }
+
+    assertThat(counts).hasSize(4);
+    // 128 virtual nodes keep every shard within +-25% of the fair share
+    assertThat(counts.values()).allSatisfy(n -> assertThat(n).isBetween(TENANTS / 4 * 3 / 4, TENANTS / 4 * 5 / 4));
+  }
+
+  @Test
+  void addingAShard_movesOnlyTenantsToTheNewShard() {
+    ConsistentHashRing before = new ConsistentHashRing(List.of("primary", "s2", "s3"), 128);
+    ConsistentHashRing after = new ConsistentHashRing(List.of("primary", "s2", "s3", "s4"), 128);
+
+    int moved = 0;
+    for (UUID tenant : tenants()) {
+      String from = before.shardOf(tenant);
+      String to = after.shardOf(tenant);
+      if (!from.equals(to)) {
+        assertThat(to).isEqualTo("s4");
+        moved++;
+      }
+    }
+    // about a quarter of the tenants, never a reshuffle of everyone
+    assertThat(moved).isBetween(TENANTS / 8, TENANTS * 3 / 8);
+  }
+
+  private static List<UUID> tenants() {
+    Random random = new Random(42);
+    return Stream.generate(() -> new UUID(random.nextLong(), random.nextLong()))
+        .limit(TENANTS)
+        .toList();
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import com.github.dimitryivaniuta.multitenant.observability.MdcKeys;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that tenant and MDC context reach executor threads and do not stay behind on them.
+ */
+public class ContextPropagatingExecutorTest {
+
+  private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void cleanup() {
+    pool.shutdownNow();
+    TenantContext.clear();
+    MDC.clear();
+  }
+
+  @Test
+  void propagatesTenantAndMdc_andRestoresWorkerState() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    TenantContext.setTenantId(tenantId);
+    MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+    MDC.put(MdcKeys.TENANT_ID, tenantId.toString());
+
+    Executor executor = ContextPropagatingExecutor.wrap(pool);
+
+    String seen = CompletableFuture.supplyAsync(
+        () -> TenantContext.requireTenantId() + "|" + MDC.get(MdcKeys.CORRELATION_ID),
+        executor
+    ).get();
+    assertThat(seen).isEqualTo(tenantId + "|corr-1");
+
+    // The same pooled worker, used without the wrapper, must not see the previous task's context.
+    String leftover = CompletableFuture.supplyAsync(
+        () -> TenantContext.getTenantId().map(UUID::toString).orElse("none") + "|" + MDC.get(MdcKeys.CORRELATION_ID),
+        pool
+    ).get();
+    assertThat(leftover).isEqualTo("none|null");
+  }
+}
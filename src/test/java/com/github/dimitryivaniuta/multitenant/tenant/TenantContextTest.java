@@ -0,0 +1,56 @@
+package com.github.dimitryivaniuta.multitenant.tenant;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that scoped tenant bindings never outlive their scope, for both backing stores.
+ *
+ * <p>Also runs in {@code platformModeTest}, without {@code --enable-preview}; only the test tagged
+ * {@code preview} touches the {@code ScopedValue} holder.
+ */
+public class TenantContextTest {
+
+  @Test
+  void threadLocalHolder_restoresPreviousValue() throws Exception {
+    assertScopedBindingRestored(new TenantContext.ThreadLocalTenantHolder());
+  }
+
+  @Test
+  void platformMode_doesNotLoadTheScopedValueHolder() {
+    assertThat(TenantContext.isScopedValueMode()).isFalse();
+    TenantContext.runWithTenant(UUID.randomUUID(), () -> assertThat(TenantContext.getTenantId()).isPresent());
+    assertThat(TenantContext.getTenantId()).isEmpty();
+  }
+
+  @Test
+  @Tag("preview")
+  void scopedValueHolder_restoresPreviousValue() throws Exception {
+    assertScopedBindingRestored(new ScopedValueTenantHolder());
+  }
+
+  private static void assertScopedBindingRestored(TenantContext.TenantHolder holder) throws Exception {
+    UUID outer = UUID.randomUUID();
+    UUID inner = UUID.randomUUID();
+    AtomicReference<UUID> seen = new AtomicReference<>();
+
+    holder.set(outer);
+    holder.runWith(inner, () -> seen.set(holder.get()));
+    assertThat(seen.get()).isEqualTo(inner);
+    assertThat(holder.get()).isEqualTo(outer);
+
+    assertThatThrownBy(() -> holder.runWith(inner, () -> {
+      throw new IOException("boom");
+    })).isInstanceOf(IOException.class);
+    assertThat(holder.get()).isEqualTo(outer);
+
+    holder.clear();
+    assertThat(holder.get()).isNull();
+  }
+}
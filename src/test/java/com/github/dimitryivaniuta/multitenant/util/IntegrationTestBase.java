@@ -1,6 +1,17 @@
 package com.github.dimitryivaniuta.multitenant.util;
 
+import com.github.dimitryivaniuta.multitenant.api.dto.CreateUserRequest;
+import com.github.dimitryivaniuta.multitenant.api.dto.UserResponse;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.kafka.test.context.EmbeddedKafka;
@@ -9,8 +20,13 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Base class for integration tests using Testcontainers (PostgreSQL + Redis) and Embedded Kafka.
+ *
+ * <p>Also holds what most API tests need: test tokens signed with key {@code k1} (see {@link TestJwt}) and a
+ * user create call.
  */
 @Testcontainers
 @EmbeddedKafka(partitions = 1, topics = {"user-events"})
@@ -22,6 +38,11 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 )
 public abstract class IntegrationTestBase {
 
+  protected static final String KID = TestJwt.KID;
+  protected static final String PRIVATE_KEY = TestJwt.PRIVATE_KEY;
+  protected static final String ISSUER = TestJwt.ISSUER;
+  protected static final String AUD = TestJwt.AUD;
+
   @Container
   static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
       .withDatabaseName("tenantdb")
@@ -41,12 +62,45 @@ public abstract class IntegrationTestBase {
     registry.add("spring.data.redis.host", REDIS::getHost);
     registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
 
-    // Test JWT config
-    registry.add("app.security.jwt.issuer", () -> "https://auth.local");
-    registry.add("app.security.jwt.audience", () -> "api");
-    registry.add("app.security.jwt.jwks.keys[0].kid", () -> "k1");
-    registry.add("app.security.jwt.jwks.keys[0].publicKeyLocation", () -> "classpath:keys/jwks-k1-public.pem.example.example");
-    registry.add("app.security.jwt.jwks.keys[1].kid", () -> "k2");
-    registry.add("app.security.jwt.jwks.keys[1].publicKeyLocation", () -> "classpath:keys/jwks-k2-public.pem.example.example");
-      }
+    TestJwt.register(registry);
+  }
+
+  @Autowired
+  protected TestRestTemplate rest;
+
+  /** A user token (scopes {@code users:read users:write}) of {@code tenantId}. */
+  protected static String tokenFor(UUID tenantId) {
+    return TestJwt.tokenFor(tenantId);
+  }
+
+  /** An operator token without tenant, carrying only {@code scope}. */
+  protected static String opsToken(String scope) {
+    return TestJwt.opsToken(scope);
+  }
+
+  protected static HttpHeaders authHeaders(String jwt) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(jwt);
+    return headers;
+  }
+
+  /** Creates a user through the API and expects 201. */
+  protected UserResponse postUser(String token, CreateUserRequest req) {
+    return postUser(token, req, new HttpHeaders());
+  }
+
+  /** Creates a user through the API, also sending {@code extraHeaders} (e.g. {@code traceparent}), and expects 201. */
+  protected UserResponse postUser(String token, CreateUserRequest req, HttpHeaders extraHeaders) {
+    HttpHeaders headers = authHeaders(token);
+    headers.addAll(extraHeaders);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    ResponseEntity<UserResponse> res = rest.exchange(
+        "/api/users",
+        HttpMethod.POST,
+        new HttpEntity<>(req, headers),
+        UserResponse.class
+    );
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    return res.getBody();
+  }
 }
@@ -41,7 +41,17 @@ public final class JwtTestTokenFactory {
     return createTokenInternal(kid, privateKeyClasspath, issuer, audience, null);
   }
 
+  /** Operator token: no tenant, only the given space-separated {@code scope} (e.g. {@code ops:read}). */
+  public static String createOpsToken(String kid, String privateKeyClasspath, String issuer, String audience, String scope) {
+    return createTokenInternal(kid, privateKeyClasspath, issuer, audience, null, scope);
+  }
+
   private static String createTokenInternal(String kid, String privateKeyClasspath, String issuer, String audience, UUID tenantId) {
+    return createTokenInternal(kid, privateKeyClasspath, issuer, audience, tenantId, "users:read users:write");
+  }
+
+  private static String createTokenInternal(
+      String kid, String privateKeyClasspath, String issuer, String audience, UUID tenantId, String scope) {
     try {
       RSAPrivateKey privateKey = loadRsaPrivateKey(privateKeyClasspath);
       JWSSigner signer = new RSASSASigner(privateKey);
@@ -55,7 +65,7 @@ public final class JwtTestTokenFactory {
           .subject("test-user")
           .issueTime(Date.from(now))
           .expirationTime(Date.from(exp))
-          .claim("scope", "users:read users:write");
+          .claim("scope", scope);
 
       if (tenantId != null) {
         b.claim("tenantId", tenantId.toString());
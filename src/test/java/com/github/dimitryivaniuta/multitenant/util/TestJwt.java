@@ -0,0 +1,42 @@
+package com.github.dimitryivaniuta.multitenant.util;
+
+import java.util.UUID;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * JWT setup shared by every test that starts the application: the issuer, audience and JWKS keys it is
+ * configured with, and tokens signed with key {@code k1} that it accepts.
+ *
+ * <p>{@link IntegrationTestBase} uses it; tests with their own containers (load benchmarks) call
+ * {@link #register(DynamicPropertyRegistry)} from their {@code @DynamicPropertySource}.
+ */
+public final class TestJwt {
+
+  public static final String KID = "k1";
+  public static final String PRIVATE_KEY = "keys/jwks-k1-private.pem.example";
+  public static final String ISSUER = "https://auth.local";
+  public static final String AUD = "api";
+
+  private TestJwt() {
+  }
+
+  /** Configures the application to accept tokens of keys {@code k1} and {@code k2}. */
+  public static void register(DynamicPropertyRegistry registry) {
+    registry.add("app.security.jwt.issuer", () -> ISSUER);
+    registry.add("app.security.jwt.audience", () -> AUD);
+    registry.add("app.security.jwt.jwks.keys[0].kid", () -> KID);
+    registry.add("app.security.jwt.jwks.keys[0].publicKeyLocation", () -> "classpath:keys/jwks-k1-public.pem.example.example");
+    registry.add("app.security.jwt.jwks.keys[1].kid", () -> "k2");
+    registry.add("app.security.jwt.jwks.keys[1].publicKeyLocation", () -> "classpath:keys/jwks-k2-public.pem.example.example");
+  }
+
+  /** A user token (scopes {@code users:read users:write}) of {@code tenantId}. */
+  public static String tokenFor(UUID tenantId) {
+    return JwtTestTokenFactory.createToken(KID, PRIVATE_KEY, ISSUER, AUD, tenantId);
+  }
+
+  /** An operator token without tenant, carrying only {@code scope}. */
+  public static String opsToken(String scope) {
+    return JwtTestTokenFactory.createOpsToken(KID, PRIVATE_KEY, ISSUER, AUD, scope);
+  }
+}